@@ -0,0 +1,59 @@
+package com.resolveit.resloveitbackend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata of an uploaded file (complaint or report attachment).
+ * The owner's attachments list still holds the stored file name.
+ */
+@Entity
+@Table(name = "attachments", indexes = {
+        @Index(name = "idx_attachments_owner", columnList = "owner_type, owner_id"),
+        @Index(name = "idx_attachments_sha256", columnList = "sha256")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Attachment {
+
+    public static final String COMPLAINT = "COMPLAINT";
+    public static final String REPORT = "REPORT";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "owner_type", nullable = false, length = 16)
+    private String ownerType;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    /**
+     * Stored name under the owner's upload directory
+     */
+    @Column(name = "file_name", nullable = false)
+    private String fileName;
+
+    @Column(name = "original_name")
+    private String originalName;
+
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
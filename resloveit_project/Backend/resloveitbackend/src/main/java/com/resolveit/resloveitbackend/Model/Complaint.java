@@ -1,6 +1,8 @@
 package com.resolveit.resloveitbackend.Model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.resolveit.resloveitbackend.dto.DuplicateCandidateDTO;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -16,7 +18,12 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "complaints")
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_triage", columnList = "sla_phase, status, triage_sla_due"),
+        @Index(name = "idx_complaints_status_sla_due", columnList = "status, sla_due"),
+        @Index(name = "idx_complaints_assigned_status", columnList = "assigned_to, status"),
+        @Index(name = "idx_complaints_updated_at", columnList = "updated_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -72,8 +79,14 @@ public class Complaint {
     @Column(name = "escalation_level")
     private Integer escalationLevel = 0;
 
-    @Column(name = "escalation_history", columnDefinition = "JSON")
-    private String escalationHistory; // Store as JSON string
+    /**
+     * JSON view of complaint_escalations, oldest first (same shape as the legacy
+     * escalation_history column, which is only read by EscalationHistoryBackfill).
+     * Not persisted - filled by ComplaintService.getComplaintById for the detail view only.
+     */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String escalationHistory;
 
     // ========== NEW FIELDS FOR TWO-PHASE SLA ==========
 
@@ -136,6 +149,19 @@ public class Complaint {
     @Column(name = "closed_by")
     private String closedBy;
 
+    /**
+     * Set when an admin merged this complaint into another as a duplicate
+     */
+    @Column(name = "merged_into_id")
+    private Long mergedIntoId;
+
+    /**
+     * Probable duplicates found at submit time (not persisted)
+     */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<DuplicateCandidateDTO> possibleDuplicates;
+
     // ========== CITIZEN FEEDBACK ==========
     @Column(name = "rating")
     private Integer rating; // 1-5 stars
@@ -222,26 +248,6 @@ public class Complaint {
         return java.time.Duration.between(submittedAt, closedAt).toHours();
     }
 
-    /**
-     * Check if in triage phase and approaching deadline (9hrs remaining = 15hrs since submission)
-     */
-    public boolean isTriageCritical() {
-        return "TRIAGE".equals(slaPhase) &&
-               triageSlaDue != null &&
-               LocalDateTime.now().plusHours(9).isAfter(triageSlaDue) &&
-               status == ComplaintStatus.PENDING;
-    }
-
-    /**
-     * Check if triage SLA breached
-     */
-    public boolean isTriageOverdue() {
-        return "TRIAGE".equals(slaPhase) &&
-               triageSlaDue != null &&
-               LocalDateTime.now().isAfter(triageSlaDue) &&
-               status == ComplaintStatus.PENDING;
-    }
-
     /**
      * Get hours remaining in current SLA phase
      */
@@ -263,6 +269,9 @@ public class Complaint {
         if (this.submittedAt == null) {
             this.submittedAt = LocalDateTime.now();
         }
+        if (this.updatedAt == null) {
+            this.updatedAt = this.submittedAt;
+        }
         if (this.status == null) {
             this.status = ComplaintStatus.PENDING;
         }
@@ -281,8 +290,5 @@ public class Complaint {
         if (this.triageBreached == null) {
             this.triageBreached = false;
         }
-        if (this.triageSlaDue == null) {
-            this.triageSlaDue = this.submittedAt.plusHours(24);
-        }
     }
 }
\ No newline at end of file
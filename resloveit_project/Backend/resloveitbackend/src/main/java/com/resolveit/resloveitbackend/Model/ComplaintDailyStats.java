@@ -0,0 +1,68 @@
+package com.resolveit.resloveitbackend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Daily rollup of complaint activity per category and priority.
+ * Rows for past days are finalized; today's rows are refreshed by DailyRollupService.
+ */
+@Entity
+@Table(name = "complaint_daily_stats",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"stat_date", "category", "priority"}),
+       indexes = @Index(name = "idx_daily_stats_date", columnList = "stat_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintDailyStats {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "stat_date", nullable = false)
+    private LocalDate statDate;
+
+    @Column(nullable = false)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ComplaintPriority priority;
+
+    /**
+     * Complaints submitted on this date
+     */
+    @Column(nullable = false)
+    private long submitted;
+
+    /**
+     * Complaints closed on this date
+     */
+    @Column(nullable = false)
+    private long resolved;
+
+    /**
+     * Complaints closed on this date after their SLA due time
+     */
+    @Column(nullable = false)
+    private long breached;
+
+    /**
+     * Sum of (closedAt - submittedAt) in hours for complaints closed on this date
+     */
+    @Column(name = "resolution_hours_sum", nullable = false)
+    private long resolutionHoursSum;
+
+    /**
+     * True once the day is over and the row will no longer be recomputed
+     */
+    @Column(nullable = false)
+    private boolean finalized;
+}
@@ -0,0 +1,44 @@
+package com.resolveit.resloveitbackend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One escalation of a complaint - rows are only ever inserted
+ */
+@Entity
+@Immutable
+@Table(name = "complaint_escalations", indexes = {
+        @Index(name = "idx_escalations_escalated_at", columnList = "escalated_at"),
+        @Index(name = "idx_escalations_complaint", columnList = "complaint_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ComplaintEscalation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private Long complaintId;
+
+    /**
+     * Escalation level reached by this escalation
+     */
+    @Column(name = "escalation_level", nullable = false)
+    private Integer level;
+
+    private String reason;
+
+    @Column(name = "escalated_at", nullable = false)
+    private LocalDateTime escalatedAt;
+}
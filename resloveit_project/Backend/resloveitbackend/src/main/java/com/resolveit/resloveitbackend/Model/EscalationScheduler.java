@@ -1,36 +1,31 @@
 package com.resolveit.resloveitbackend.Model;
 
+import com.resolveit.resloveitbackend.dto.SLAMetricsDTO;
+import com.resolveit.resloveitbackend.service.NotificationOutboxService;
 import com.resolveit.resloveitbackend.service.SLAService;
+import com.resolveit.resloveitbackend.service.SchedulerLeaseService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.time.LocalDate;
+
 @Component
 @Slf4j
 @ConditionalOnProperty(value = "escalation.enabled", havingValue = "true", matchIfMissing = true)
 public class EscalationScheduler {
 
     private final SLAService slaService;
+    private final SchedulerLeaseService leaseService;
+    private final NotificationOutboxService notifications;
 
-    public EscalationScheduler(SLAService slaService) {
+    public EscalationScheduler(SLAService slaService, SchedulerLeaseService leaseService,
+                               NotificationOutboxService notifications) {
         this.slaService = slaService;
-    }
-
-    /**
-     * Run every hour to check for overdue complaints
-     * Cron: 0 0 * * * * = Every hour at minute 0
-     */
-    @Scheduled(cron = "${escalation.check.cron:0 0 * * * *}")
-    public void escalateOverdueComplaints() {
-        log.info("Starting escalation check for overdue complaints");
-        
-        try {
-            int escalated = slaService.escalateOverdueComplaints();
-            log.info("Escalation check completed - {} complaints escalated", escalated);
-        } catch (Exception e) {
-            log.error("Error during escalation check", e);
-        }
+        this.leaseService = leaseService;
+        this.notifications = notifications;
     }
 
     /**
@@ -38,16 +33,22 @@ public class EscalationScheduler {
      */
     @Scheduled(cron = "0 0 9 * * *")
     public void generateDailySLAReport() {
+        if (!leaseService.tryAcquire("daily-sla-report", Duration.ofHours(1))) {
+            return; // another node is generating today's report
+        }
         log.info("Generating daily SLA report");
         
         try {
-            SLAService.SLAMetrics metrics = slaService.getSLAMetrics();
+            SLAMetricsDTO metrics = slaService.refreshSLAMetrics();
             log.info("Daily SLA Report: Total={}, Overdue={}, Compliance={}%", 
                     metrics.getTotalComplaints(), 
                     metrics.getOverdueComplaints(),
                     metrics.getSlaComplianceRate());
             
-            // TODO: Send email report to admins
+            notifications.notifyDailyReport("Daily SLA Report - " + LocalDate.now(),
+                    "Total complaints: " + metrics.getTotalComplaints() + "\n"
+                    + "Overdue: " + metrics.getOverdueComplaints() + "\n"
+                    + "SLA compliance: " + metrics.getSlaComplianceRate() + "%");
         } catch (Exception e) {
             log.error("Error generating SLA report", e);
         }
@@ -0,0 +1,60 @@
+package com.resolveit.resloveitbackend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of a request sent with an Idempotency-Key (see IdempotencyService).
+ * The unique key makes the first node to insert the row the only one that runs the request.
+ */
+@Entity
+@Table(name = "idempotency_keys",
+        uniqueConstraints = @UniqueConstraint(name = "uk_idempotency_scope_principal_key",
+                columnNames = {"scope", "principal", "idempotency_key"}),
+        indexes = @Index(name = "idx_idempotency_expires_at", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Endpoint the key was used on, e.g. complaint-submit
+     */
+    @Column(nullable = false, length = 32)
+    private String scope;
+
+    @Column(nullable = false)
+    private String principal;
+
+    @Column(name = "idempotency_key", nullable = false, length = 128)
+    private String idempotencyKey;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(name = "response_status")
+    private Integer responseStatus;
+
+    /**
+     * Response body as JSON, replayed verbatim
+     */
+    @Column(name = "response_body", columnDefinition = "LONGTEXT")
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -0,0 +1,41 @@
+package com.resolveit.resloveitbackend.Model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Persisted copy of an in-memory resolution-time histogram
+ * (one row per dimension, e.g. "ALL", "category:Roads", "priority:HIGH")
+ */
+@Entity
+@Table(name = "resolution_histograms")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ResolutionHistogramSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true)
+    private String dimension;
+
+    /**
+     * Sparse bucket counts as "index:count,index:count"
+     */
+    @Column(columnDefinition = "TEXT")
+    private String counts;
+
+    /**
+     * Closures up to this time are included in the counts
+     */
+    @Column(name = "snapshot_at", nullable = false)
+    private LocalDateTime snapshotAt;
+}
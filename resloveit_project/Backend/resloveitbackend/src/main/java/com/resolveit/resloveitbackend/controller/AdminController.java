@@ -1,18 +1,28 @@
 package com.resolveit.resloveitbackend.controller;
 
-import com.resolveit.resloveitbackend.Model.Complaint;
 import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
 import com.resolveit.resloveitbackend.Model.Officer;
 import com.resolveit.resloveitbackend.Model.PendingOfficer;
+import com.resolveit.resloveitbackend.dto.BulkAssignmentRequest;
+import com.resolveit.resloveitbackend.dto.BulkItemResultDTO;
+import com.resolveit.resloveitbackend.dto.BulkStatusRequest;
+import com.resolveit.resloveitbackend.dto.ComplaintStateDTO;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
 import com.resolveit.resloveitbackend.repository.OfficerRepository;
 import com.resolveit.resloveitbackend.repository.PendingOfficerRepository;
+import com.resolveit.resloveitbackend.service.AutoAssignmentService;
 import com.resolveit.resloveitbackend.service.ComplaintService;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
@@ -33,6 +43,9 @@ public class AdminController {
     @Autowired
     private ComplaintService complaintService;
 
+    @Autowired
+    private AutoAssignmentService autoAssignmentService;
+
     // === EXISTING: Approve Officer ===
     @PostMapping("/approve/{id}")
     public ResponseEntity<String> approveOfficer(@PathVariable Long id) {
@@ -74,7 +87,7 @@ public class AdminController {
         try {
             ComplaintPriority priority = ComplaintPriority.valueOf(priorityStr.toUpperCase());
            
-            Complaint updated = complaintService.assignComplaintWithPriority(
+            ComplaintStateDTO updated = complaintService.assignComplaintWithPriority(
                     complaintId,
                     officerEmail,
                     priority,
@@ -85,6 +98,52 @@ public class AdminController {
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body("Invalid priority. Use: HIGH, MEDIUM, LOW");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
+        }
+    }
+
+    // === Bulk assignment / status (one transaction, per-item results) ===
+    @PostMapping("/complaints/bulk/assign")
+    public ResponseEntity<?> bulkAssign(@Valid @RequestBody BulkAssignmentRequest request,
+                                        Authentication authentication) {
+        return ResponseEntity.ok(summarize(
+                complaintService.bulkAssign(request.getAssignments(), authentication.getName())));
+    }
+
+    @PostMapping("/complaints/bulk/status")
+    public ResponseEntity<?> bulkUpdateStatus(@Valid @RequestBody BulkStatusRequest request,
+                                              Authentication authentication) {
+        ComplaintStatus status;
+        try {
+            status = ComplaintStatus.valueOf(request.getStatus().trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest()
+                    .body("Invalid status. Allowed: PENDING, ASSIGNED, IN_PROGRESS, RESOLVED");
         }
+        return ResponseEntity.ok(summarize(
+                complaintService.bulkUpdateStatus(request.getComplaintIds(), status, authentication.getName())));
+    }
+
+    // === Auto-assignment: run one pass now / live officer load ===
+    @PostMapping("/complaints/auto-assign")
+    public ResponseEntity<?> runAutoAssignment() {
+        return ResponseEntity.ok(autoAssignmentService.runPass());
+    }
+
+    @GetMapping("/officers/load")
+    public ResponseEntity<?> getOfficerLoads() {
+        return ResponseEntity.ok(autoAssignmentService.getOfficerLoads());
+    }
+
+    private Map<String, Object> summarize(List<BulkItemResultDTO> results) {
+        long succeeded = results.stream().filter(BulkItemResultDTO::isSuccess).count();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("requested", results.size());
+        body.put("succeeded", succeeded);
+        body.put("failed", results.size() - succeeded);
+        body.put("results", results);
+        return body;
     }
-}
\ No newline at end of file
+}
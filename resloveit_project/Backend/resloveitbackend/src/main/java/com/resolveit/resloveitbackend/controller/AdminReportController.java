@@ -1,13 +1,28 @@
 package com.resolveit.resloveitbackend.controller;
 import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
 import com.resolveit.resloveitbackend.Model.Report;
+import com.resolveit.resloveitbackend.dto.ComplaintFilter;
+import com.resolveit.resloveitbackend.dto.ComplaintMergeRequest;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import com.resolveit.resloveitbackend.service.AdminNotificationStream;
+import com.resolveit.resloveitbackend.service.AnalyticsService;
+import com.resolveit.resloveitbackend.service.ComplaintImportService;
+import com.resolveit.resloveitbackend.service.ComplaintIndexService;
+import com.resolveit.resloveitbackend.service.ComplaintService;
+import com.resolveit.resloveitbackend.service.DuplicateDetectionService;
+import com.resolveit.resloveitbackend.service.OutboxDispatcher;
 import com.resolveit.resloveitbackend.service.ReportService;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-import java.time.Duration;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -19,10 +34,31 @@ import java.util.stream.Collectors;
 public class AdminReportController {
     private final ReportService reportService;
     private final ComplaintRepository complaintRepository;
+    private final AnalyticsService analyticsService;
+    private final AdminNotificationStream notificationStream;
+    private final ComplaintIndexService complaintIndexService;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ComplaintImportService complaintImportService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final ComplaintService complaintService;
     public AdminReportController(ReportService reportService,
-                                 ComplaintRepository complaintRepository) {
+                                 ComplaintRepository complaintRepository,
+                                 AnalyticsService analyticsService,
+                                 AdminNotificationStream notificationStream,
+                                 ComplaintIndexService complaintIndexService,
+                                 OutboxDispatcher outboxDispatcher,
+                                 ComplaintImportService complaintImportService,
+                                 DuplicateDetectionService duplicateDetectionService,
+                                 ComplaintService complaintService) {
         this.reportService = reportService;
         this.complaintRepository = complaintRepository;
+        this.analyticsService = analyticsService;
+        this.notificationStream = notificationStream;
+        this.complaintIndexService = complaintIndexService;
+        this.outboxDispatcher = outboxDispatcher;
+        this.complaintImportService = complaintImportService;
+        this.duplicateDetectionService = duplicateDetectionService;
+        this.complaintService = complaintService;
     }
     /**
      * Get all reports with complaint details
@@ -146,7 +182,13 @@ public class AdminReportController {
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime warningThreshold = now.plusHours(2); // 2 hours warning
            
-            List<Complaint> complaints = complaintRepository.findAll();
+            // Candidate ids come from the in-memory index; only the matches are loaded
+            ComplaintFilter filter = new ComplaintFilter();
+            filter.setStatuses(EnumSet.complementOf(EnumSet.of(ComplaintStatus.RESOLVED)));
+            filter.setSlaDueFrom(now);
+            filter.setSlaDueTo(warningThreshold);
+            List<Complaint> complaints = complaintRepository.findAllById(
+                    complaintIndexService.findIds(filter, Integer.MAX_VALUE));
            
             List<Map<String, Object>> highAlerts = complaints.stream()
                     .filter(c -> c.getSlaDue() != null)
@@ -186,38 +228,68 @@ public class AdminReportController {
                     .body("Failed to fetch high alerts");
         }
     }
+    /**
+     * Ad-hoc complaint filter (status x priority x category x city x date range)
+     * served from the in-memory complaint index
+     */
+    @GetMapping("/complaints/filter")
+    public ResponseEntity<?> filterComplaints(ComplaintFilter filter,
+                                              @RequestParam(defaultValue = "100") int limit) {
+        try {
+            Map<String, Object> result = complaintIndexService.summarize(filter);
+            result.put("ids", complaintIndexService.findIds(filter, Math.max(0, limit)));
+            return ResponseEntity.ok(result);
+        } catch (Exception e) {
+            log.error("Error filtering complaints", e);
+            return ResponseEntity.internalServerError()
+                    .body("Failed to filter complaints");
+        }
+    }
+    /**
+     * Groups of open complaints that are probably the same issue (same category and pincode,
+     * similar title/description), largest first
+     */
+    @GetMapping("/complaints/duplicates")
+    public ResponseEntity<?> getDuplicateGroups(@RequestParam(defaultValue = "0.5") double minSimilarity,
+                                                @RequestParam(defaultValue = "50") int limit) {
+        try {
+            return ResponseEntity.ok(duplicateDetectionService.findDuplicateGroups(minSimilarity, Math.max(0, limit)));
+        } catch (Exception e) {
+            log.error("Error fetching duplicate complaints", e);
+            return ResponseEntity.internalServerError()
+                    .body("Failed to fetch duplicate complaints");
+        }
+    }
+
+    /**
+     * Probable duplicates of one open complaint, most similar first
+     */
+    @GetMapping("/complaints/{id}/duplicates")
+    public ResponseEntity<?> getDuplicates(@PathVariable Long id) {
+        return ResponseEntity.ok(duplicateDetectionService.findDuplicates(id));
+    }
+
+    /**
+     * Merge duplicates into a primary complaint - duplicates are resolved and point at the primary
+     */
+    @PostMapping("/complaints/merge")
+    public ResponseEntity<?> mergeDuplicates(@Valid @RequestBody ComplaintMergeRequest request,
+                                             Authentication authentication) {
+        try {
+            return ResponseEntity.ok(complaintService.mergeDuplicates(
+                    request.getPrimaryId(), request.getDuplicateIds(), authentication.getName()));
+        } catch (RuntimeException e) {
+            log.warn("Merge into complaint {} rejected: {}", request.getPrimaryId(), e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
     /**
      * Get notification counts
      */
     @GetMapping("/notifications/counts")
     public ResponseEntity<?> getNotificationCounts() {
         try {
-            Map<String, Long> counts = new HashMap<>();
-           
-            // New complaints (last 24 hours)
-            LocalDateTime yesterday = LocalDateTime.now().minusHours(24);
-            long newComplaints = complaintRepository
-                    .countBySubmittedAtAfter(yesterday);
-            counts.put("newComplaints", newComplaints);
-           
-            // Pending reports
-            long pendingReports = reportService.getPendingReportCount();
-            counts.put("pendingReports", pendingReports);
-           
-            // High alerts
-            LocalDateTime now = LocalDateTime.now();
-            LocalDateTime warningThreshold = now.plusHours(2);
-            long highAlerts = complaintRepository.findAll().stream()
-                    .filter(c -> c.getSlaDue() != null)
-                    .filter(c -> !c.getStatus().name().equals("RESOLVED"))
-                    .filter(c -> {
-                        LocalDateTime slaDue = c.getSlaDue();
-                        return slaDue.isBefore(warningThreshold) && slaDue.isAfter(now);
-                    })
-                    .count();
-            counts.put("highAlerts", highAlerts);
-           
-            return ResponseEntity.ok(counts);
+            return ResponseEntity.ok(analyticsService.getNotificationCounts());
         } catch (Exception e) {
             log.error("Error fetching notification counts", e);
             return ResponseEntity.internalServerError()
@@ -225,103 +297,77 @@ public class AdminReportController {
         }
     }
 
+    /**
+     * Bulk import complaints from a CSV (header row) or NDJSON file sent as the raw request body
+     * (not multipart, so the global upload limits stay at their defaults).
+     * Runs in the background - poll /complaints/import/{jobId} for progress.
+     */
+    @PostMapping(value = "/complaints/import", consumes = {"text/csv", "application/x-ndjson",
+            MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<?> importComplaints(InputStream body,
+                                              @RequestParam(defaultValue = "csv") String format,
+                                              @RequestParam(required = false) String fileName,
+                                              Authentication authentication) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body(complaintImportService.startImport(body, format, fileName, authentication.getName()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            log.error("Error starting complaint import", e);
+            return ResponseEntity.internalServerError()
+                    .body("Failed to start import");
+        }
+    }
+
+    /**
+     * Progress of a complaint import (records read, imported, rejected, rows/s)
+     */
+    @GetMapping("/complaints/import/{jobId}")
+    public ResponseEntity<?> getImportProgress(@PathVariable String jobId) {
+        return complaintImportService.getJob(jobId)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Recent complaint imports, newest first
+     */
+    @GetMapping("/complaints/import")
+    public ResponseEntity<?> getImports() {
+        return ResponseEntity.ok(complaintImportService.getJobs());
+    }
+
+    /**
+     * Notification outbox delivery metrics (sent/retried/dead, throughput, backlog)
+     */
+    @GetMapping("/notifications/outbox/stats")
+    public ResponseEntity<?> getOutboxStats() {
+        try {
+            return ResponseEntity.ok(outboxDispatcher.getStats());
+        } catch (Exception e) {
+            log.error("Error fetching outbox stats", e);
+            return ResponseEntity.internalServerError()
+                    .body("Failed to fetch outbox stats");
+        }
+    }
+
+    /**
+     * Live notification counts and triage alerts (Server-Sent Events)
+     * Replaces polling /notifications/counts and /api/alerts/triage
+     */
+    @GetMapping(value = "/notifications/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(Authentication authentication) {
+        return notificationStream.subscribe(authentication.getName());
+    }
+
     /**
      * Get comprehensive day summary statistics
      */
     @GetMapping("/day-summary")
     public ResponseEntity<?> getDaySummary() {
         try {
-            LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-            LocalDateTime now = LocalDateTime.now();
-           
-            Map<String, Object> summary = new HashMap<>();
-           
-            // Today's new complaints
-            List<Complaint> todaysComplaints = complaintRepository.findBySubmittedAtBetween(startOfDay, now);
-            long newComplaintsToday = todaysComplaints.size();
-            summary.put("newComplaintsToday", newComplaintsToday);
-           
-            // Reports submitted today
-            long reportsToday = reportService.getAllReports().stream()
-                    .filter(r -> r.getSubmittedAt() != null && r.getSubmittedAt().isAfter(startOfDay))
-                    .count();
-            summary.put("reportsSubmittedToday", reportsToday);
-           
-            // Complaints resolved today
-            long resolvedToday = complaintRepository.findAll().stream()
-                    .filter(c -> c.getClosedAt() != null)
-                    .filter(c -> c.getClosedAt().isAfter(startOfDay))
-                    .count();
-            summary.put("resolvedToday", resolvedToday);
-           
-            // Complaints in progress
-            long inProgress = complaintRepository.findAll().stream()
-                    .filter(c -> c.getStatus().name().equals("IN_PROGRESS") ||
-                                c.getStatus().name().equals("ASSIGNED"))
-                    .count();
-            summary.put("inProgress", inProgress);
-           
-            // Escalations today
-            long escalationsToday = complaintRepository.findAll().stream()
-                    .filter(c -> c.getEscalationLevel() != null && c.getEscalationLevel() > 0)
-                    .filter(c -> {
-                        // Check if escalation happened today
-                        String history = c.getEscalationHistory();
-                        if (history == null || history.isEmpty()) return false;
-                        try {
-                            // Parse JSON to check escalation dates
-                            return history.contains(startOfDay.toLocalDate().toString());
-                        } catch (Exception e) {
-                            return false;
-                        }
-                    })
-                    .count();
-            summary.put("escalationsToday", escalationsToday);
-           
-            // Average resolution time today (in hours)
-            Double avgResolutionTime = complaintRepository.findAll().stream()
-                    .filter(c -> c.getClosedAt() != null)
-                    .filter(c -> c.getClosedAt().isAfter(startOfDay))
-                    .filter(c -> c.getSubmittedAt() != null)
-                    .mapToLong(c -> Duration
-                            .between(c.getSubmittedAt(), c.getClosedAt())
-                            .toHours())
-                    .average()
-                    .orElse(0.0);
-            summary.put("avgResolutionTimeHours", Math.round(avgResolutionTime * 10) / 10.0);
-           
-            // High priority pending
-            long highPriorityPending = complaintRepository.findAll().stream()
-                    .filter(c -> c.getPriority().name().equals("HIGH"))
-                    .filter(c -> !c.getStatus().name().equals("RESOLVED"))
-                    .count();
-            summary.put("highPriorityPending", highPriorityPending);
-           
-            // Officer utilization (how many officers are working)
-            long activeOfficers = complaintRepository.findAll().stream()
-                    .filter(c -> c.getAssignedTo() != null)
-                    .filter(c -> !c.getStatus().name().equals("RESOLVED"))
-                    .map(Complaint::getAssignedTo)
-                    .distinct()
-                    .count();
-            summary.put("activeOfficers", activeOfficers);
-           
-            // SLA compliance rate today
-            List<Complaint> resolvedTodayList = complaintRepository.findAll().stream()
-                    .filter(c -> c.getClosedAt() != null)
-                    .filter(c -> c.getClosedAt().isAfter(startOfDay))
-                    .collect(Collectors.toList());
-           
-            long onTime = resolvedTodayList.stream()
-                    .filter(c -> c.getSlaDue() != null)
-                    .filter(c -> c.getClosedAt().isBefore(c.getSlaDue()))
-                    .count();
-           
-            double slaCompliance = resolvedTodayList.isEmpty() ? 100.0 :
-                    (onTime * 100.0 / resolvedTodayList.size());
-            summary.put("slaComplianceToday", Math.round(slaCompliance * 10) / 10.0);
-           
-            return ResponseEntity.ok(summary);
+            return ResponseEntity.ok(analyticsService.getDaySummary());
         } catch (Exception e) {
             log.error("Error fetching day summary", e);
             return ResponseEntity.internalServerError()
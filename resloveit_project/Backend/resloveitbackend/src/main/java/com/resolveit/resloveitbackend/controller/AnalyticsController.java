@@ -1,6 +1,9 @@
 package com.resolveit.resloveitbackend.controller;
 
+import com.resolveit.resloveitbackend.service.AnalyticsOverviewService;
 import com.resolveit.resloveitbackend.service.AnalyticsService;
+import com.resolveit.resloveitbackend.service.ResolutionPercentileService;
+import com.resolveit.resloveitbackend.service.ResultCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -16,9 +19,27 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final ResolutionPercentileService resolutionPercentileService;
+    private final ResultCache resultCache;
+    private final AnalyticsOverviewService overviewService;
 
-    public AnalyticsController(AnalyticsService analyticsService) {
+    public AnalyticsController(AnalyticsService analyticsService,
+                               ResolutionPercentileService resolutionPercentileService,
+                               ResultCache resultCache,
+                               AnalyticsOverviewService overviewService) {
         this.analyticsService = analyticsService;
+        this.resolutionPercentileService = resolutionPercentileService;
+        this.resultCache = resultCache;
+        this.overviewService = overviewService;
+    }
+
+    /**
+     * Get dashboard, categories, priorities, officer workload and trends in one call
+     * (sections are computed concurrently; response includes per-section timings)
+     */
+    @GetMapping("/overview")
+    public ResponseEntity<?> getOverview(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(overviewService.getOverview(days));
     }
 
     /**
@@ -37,19 +58,19 @@ public class AnalyticsController {
     }
 
     /**
-     * Get category-wise distribution
+     * Get category-wise distribution (optionally limited to the last N days)
      */
     @GetMapping("/categories")
-    public ResponseEntity<?> getCategoryDistribution() {
-        return ResponseEntity.ok(analyticsService.getCategoryDistribution());
+    public ResponseEntity<?> getCategoryDistribution(@RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(analyticsService.getCategoryDistribution(days));
     }
 
     /**
-     * Get priority distribution
+     * Get priority distribution (optionally limited to the last N days)
      */
     @GetMapping("/priorities")
-    public ResponseEntity<?> getPriorityDistribution() {
-        return ResponseEntity.ok(analyticsService.getPriorityDistribution());
+    public ResponseEntity<?> getPriorityDistribution(@RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(analyticsService.getPriorityDistribution(days));
     }
 
     /**
@@ -67,4 +88,21 @@ public class AnalyticsController {
     public ResponseEntity<?> getTrendData(@RequestParam(defaultValue = "30") int days) {
         return ResponseEntity.ok(analyticsService.getTrendData(days));
     }
+
+    /**
+     * Get resolution time percentiles (p50/p90/p99) overall, per category and per priority
+     */
+    @GetMapping("/resolution-percentiles")
+    public ResponseEntity<?> getResolutionPercentiles() {
+        return ResponseEntity.ok(resolutionPercentileService.getPercentiles());
+    }
+
+    /**
+     * Get analytics result cache statistics (hits, misses, evictions)
+     */
+    @GetMapping("/cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> getCacheStats() {
+        return ResponseEntity.ok(resultCache.getStats());
+    }
 }
\ No newline at end of file
@@ -5,8 +5,10 @@ import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
 import com.resolveit.resloveitbackend.dto.*;
 import com.resolveit.resloveitbackend.service.ComplaintService;
+import com.resolveit.resloveitbackend.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
@@ -31,13 +33,16 @@ import org.springframework.core.io.UrlResource;
 public class ComplaintController {
     
     private final ComplaintService complaintService;
+    private final IdempotencyService idempotencyService;
 
-    public ComplaintController(ComplaintService complaintService) {
+    public ComplaintController(ComplaintService complaintService, IdempotencyService idempotencyService) {
         this.complaintService = complaintService;
+        this.idempotencyService = idempotencyService;
     }
 
     /**
      * ✅ Multipart submit with files + location (legacy-style, non-breaking)
+     * A retry with the same Idempotency-Key returns the original response without storing the files again
      */
     @PostMapping(value = "/submit-with-files", consumes = "multipart/form-data")
     public ResponseEntity<?> submitComplaintWithFiles(
@@ -52,50 +57,57 @@ public class ComplaintController {
             @RequestParam(required = false) String pincode,
             @RequestParam(required = false) Double latitude,
             @RequestParam(required = false) Double longitude,
-            @RequestParam(required = false) MultipartFile[] files
+            @RequestParam(required = false) MultipartFile[] files,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        try {
-            Complaint complaint = complaintService.submitComplaintWithFiles(
-                    email,
-                    title,
-                    description,
-                    category,
-                    isAnonymous,
-                    address,
-                    city,
-                    state,
-                    pincode,
-                    latitude,
-                    longitude,
-                    files
-            );
-            log.info("Complaint {} submitted (multipart) by {}", complaint.getId(), email);
-            return ResponseEntity.ok(complaint);
-        } catch (Exception e) {
-            log.error("Error submitting complaint (multipart)", e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body("Failed to submit complaint: " + e.getMessage());
-        }
+        return idempotencyService.execute(idempotencyKey, "complaint-submit-files", email, () -> {
+            try {
+                Complaint complaint = complaintService.submitComplaintWithFiles(
+                        email,
+                        title,
+                        description,
+                        category,
+                        isAnonymous,
+                        address,
+                        city,
+                        state,
+                        pincode,
+                        latitude,
+                        longitude,
+                        files
+                );
+                log.info("Complaint {} submitted (multipart) by {}", complaint.getId(), email);
+                return ResponseEntity.ok(complaint);
+            } catch (Exception e) {
+                log.error("Error submitting complaint (multipart)", e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body("Failed to submit complaint: " + e.getMessage());
+            }
+        });
     }
 
     /**
      * ✅ Citizen submits a new complaint (JSON body + auto SLA calculation)
      * (kept as-is to avoid breaking existing clients)
+     * A retry with the same Idempotency-Key returns the original response
      */
     @PostMapping("/submit")
     public ResponseEntity<?> submitComplaint(
             @Valid @RequestBody ComplaintRequest request,
-            @RequestParam String email
+            @RequestParam String email,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey
     ) {
-        try {
-            Complaint complaint = complaintService.submitComplaint(request, email);
-            log.info("Complaint {} submitted by {}", complaint.getId(), email);
-            return ResponseEntity.ok(complaint);
-        } catch (Exception e) {
-            log.error("Error submitting complaint", e);
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("Failed to submit complaint: " + e.getMessage());
-        }
+        return idempotencyService.execute(idempotencyKey, "complaint-submit", email, () -> {
+            try {
+                Complaint complaint = complaintService.submitComplaint(request, email);
+                log.info("Complaint {} submitted by {}", complaint.getId(), email);
+                return ResponseEntity.ok(complaint);
+            } catch (Exception e) {
+                log.error("Error submitting complaint", e);
+                return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                        .body("Failed to submit complaint: " + e.getMessage());
+            }
+        });
     }
 
     /**
@@ -147,13 +159,16 @@ public class ComplaintController {
             ComplaintPriority priority = ComplaintPriority.valueOf(dto.getPriority().toUpperCase());
             String updatedBy = authentication.getName();
             
-            Complaint updated = complaintService.updatePriority(id, priority, updatedBy);
+            ComplaintStateDTO updated = complaintService.updatePriority(id, priority, updatedBy);
             log.info("Complaint {} priority updated to {} by {}", id, priority, updatedBy);
             
             return ResponseEntity.ok(updated);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body("Invalid priority. Allowed: LOW, MEDIUM, HIGH");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
         } catch (Exception e) {
             log.error("Error updating priority", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -179,13 +194,16 @@ public class ComplaintController {
             ComplaintStatus status = ComplaintStatus.valueOf(statusStr.toUpperCase());
             String updatedBy = authentication.getName();
             
-            Complaint updated = complaintService.updateStatus(id, status, updatedBy);
+            ComplaintStateDTO updated = complaintService.updateStatus(id, status, updatedBy);
             log.info("Complaint {} status updated to {} by {}", id, status, updatedBy);
             
             return ResponseEntity.ok(updated);
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest()
                     .body("Invalid status. Allowed: PENDING, ASSIGNED, IN_PROGRESS, RESOLVED");
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
         } catch (Exception e) {
             log.error("Error updating status", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -204,7 +222,7 @@ public class ComplaintController {
     ) {
         try {
             String assignedBy = authentication.getName();
-            Complaint updated = complaintService.assignComplaint(
+            ComplaintStateDTO updated = complaintService.assignComplaint(
                     id,
                     dto.getOfficerEmail(),
                     assignedBy
@@ -212,6 +230,9 @@ public class ComplaintController {
             
             log.info("Complaint {} assigned to {} by {}", id, dto.getOfficerEmail(), assignedBy);
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
         } catch (Exception e) {
             log.error("Error assigning complaint", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -230,7 +251,7 @@ public class ComplaintController {
     ) {
         try {
             String closedBy = authentication.getName();
-            Complaint updated = complaintService.closeComplaint(
+            ComplaintStateDTO updated = complaintService.closeComplaint(
                     id,
                     dto.getResolutionNotes(),
                     closedBy
@@ -238,6 +259,9 @@ public class ComplaintController {
             
             log.info("Complaint {} closed by {}", id, closedBy);
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
         } catch (Exception e) {
             log.error("Error closing complaint", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
@@ -254,7 +278,7 @@ public class ComplaintController {
             @Valid @RequestBody ComplaintFeedbackDTO dto
     ) {
         try {
-            Complaint updated = complaintService.addFeedback(
+            ComplaintStateDTO updated = complaintService.addFeedback(
                     id,
                     dto.getRating(),
                     dto.getFeedback()
@@ -262,6 +286,9 @@ public class ComplaintController {
             
             log.info("Feedback added to complaint {} - Rating: {}", id, dto.getRating());
             return ResponseEntity.ok(updated);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("Complaint was changed by someone else - reload and try again");
         } catch (Exception e) {
             log.error("Error adding feedback", e);
             return ResponseEntity.status(HttpStatus.BAD_REQUEST)
@@ -1,6 +1,7 @@
 package com.resolveit.resloveitbackend.controller;
 
 import com.resolveit.resloveitbackend.Model.Report;
+import com.resolveit.resloveitbackend.service.IdempotencyService;
 import com.resolveit.resloveitbackend.service.ReportService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -20,11 +21,16 @@ import java.util.Map;
 public class ReportController {
 
     private final ReportService reportService;
+    private final IdempotencyService idempotencyService;
 
-    public ReportController(ReportService reportService) {
+    public ReportController(ReportService reportService, IdempotencyService idempotencyService) {
         this.reportService = reportService;
+        this.idempotencyService = idempotencyService;
     }
 
+    /**
+     * A retry with the same Idempotency-Key returns the original response without storing the files again
+     */
     @PostMapping("/submit")
     @PreAuthorize("hasRole('OFFICER')")
     public ResponseEntity<?> submitReport(
@@ -35,33 +41,36 @@ public class ReportController {
             @RequestParam(required = false) String description,
             @RequestParam(required = false) String recommendations,
             @RequestParam(required = false) MultipartFile[] files,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             Authentication authentication
     ) {
-        try {
-            String authEmail = authentication.getName();
-            if (!authEmail.equals(officerEmail)) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("You can only submit reports for yourself");
-            }
-
-            Report report = reportService.submitReport(
-                    complaintId,
-                    officerEmail,
-                    officerName,
-                    actionTaken,
-                    description,
-                    recommendations,
-                    files
-            );
-
-            log.info("Report {} submitted for complaint {}", report.getId(), complaintId);
-
-            return ResponseEntity.ok(report);
-        } catch (Exception e) {
-            log.error("Error submitting report", e);
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                    .body(e.getMessage());
+        String authEmail = authentication.getName();
+        if (!authEmail.equals(officerEmail)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("You can only submit reports for yourself");
         }
+
+        return idempotencyService.execute(idempotencyKey, "report-submit", authEmail, () -> {
+            try {
+                Report report = reportService.submitReport(
+                        complaintId,
+                        officerEmail,
+                        officerName,
+                        actionTaken,
+                        description,
+                        recommendations,
+                        files
+                );
+
+                log.info("Report {} submitted for complaint {}", report.getId(), complaintId);
+
+                return ResponseEntity.ok(report);
+            } catch (Exception e) {
+                log.error("Error submitting report", e);
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                        .body(e.getMessage());
+            }
+        });
     }
 
     @GetMapping("/exists/{complaintId}")
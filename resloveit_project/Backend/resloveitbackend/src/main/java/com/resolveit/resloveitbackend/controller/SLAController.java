@@ -1,7 +1,10 @@
 package com.resolveit.resloveitbackend.controller;
 
 import com.resolveit.resloveitbackend.dto.SLAMetricsDTO;
+import com.resolveit.resloveitbackend.dto.SlaSimulationRequest;
 import com.resolveit.resloveitbackend.service.SLAService;
+import com.resolveit.resloveitbackend.service.SlaRecalculationService;
+import com.resolveit.resloveitbackend.service.SlaSimulationService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -15,9 +18,15 @@ import java.util.Map;
 public class SLAController {
 
     private final SLAService slaService;
+    private final SlaRecalculationService recalculationService;
+    private final SlaSimulationService simulationService;
 
-    public SLAController(SLAService slaService) {
+    public SLAController(SLAService slaService,
+                         SlaRecalculationService recalculationService,
+                         SlaSimulationService simulationService) {
         this.slaService = slaService;
+        this.recalculationService = recalculationService;
+        this.simulationService = simulationService;
     }
 
     /**
@@ -25,10 +34,25 @@ public class SLAController {
      */
     @GetMapping("/metrics")
     @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
-    public ResponseEntity<SLAService.SLAMetrics> getSLAMetrics() {
+    public ResponseEntity<SLAMetricsDTO> getSLAMetrics() {
         return ResponseEntity.ok(slaService.getSLAMetrics());
     }
 
+    /**
+     * SLA metrics per day and per priority for the last N days
+     */
+    @GetMapping("/metrics/daily")
+    @PreAuthorize("hasAnyRole('ADMIN', 'OFFICER')")
+    public ResponseEntity<?> getDailySLAMetrics(@RequestParam(defaultValue = "30") int days) {
+        try {
+            return ResponseEntity.ok(slaService.getSLAMetricsByDay(Math.max(1, Math.min(days, 366))));
+        } catch (Exception e) {
+            log.error("Error fetching daily SLA metrics", e);
+            return ResponseEntity.internalServerError()
+                    .body("Failed to fetch daily SLA metrics");
+        }
+    }
+
     /**
      * Manually trigger escalation (Admin only)
      */
@@ -48,6 +72,38 @@ public class SLAController {
         }
     }
 
+    /**
+     * Recalculate deadlines of all open complaints (Admin only) -
+     * run after changing the SLA calendar or SLA hours
+     */
+    @PostMapping("/recalculate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> recalculateDeadlines() {
+        try {
+            int updated = recalculationService.recalculateOpenDeadlines();
+            return ResponseEntity.ok(Map.of("updated", updated));
+        } catch (Exception e) {
+            log.error("Error during SLA recalculation", e);
+            return ResponseEntity.internalServerError()
+                    .body("Recalculation failed: " + e.getMessage());
+        }
+    }
+
+    /**
+     * What-if: replay historical complaints against candidate SLA policies (Admin only)
+     */
+    @PostMapping("/simulate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> simulatePolicies(@RequestBody SlaSimulationRequest request) {
+        try {
+            return ResponseEntity.ok(simulationService.simulate(request.getSince(), request.getPolicies()));
+        } catch (Exception e) {
+            log.error("Error during SLA simulation", e);
+            return ResponseEntity.internalServerError()
+                    .body("Simulation failed: " + e.getMessage());
+        }
+    }
+
     /**
      * Get SLA configuration
      */
@@ -0,0 +1,31 @@
+package com.resolveit.resloveitbackend.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkAssignmentRequest {
+    @NotEmpty(message = "At least one assignment is required")
+    @Size(max = 1000, message = "At most 1000 assignments per request")
+    @Valid
+    private List<Item> assignments;
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Complaint ID is required")
+        private Long complaintId;
+
+        @NotBlank(message = "Officer email is required")
+        @Email(message = "Invalid officer email")
+        private String officerEmail;
+
+        private String priority; // Optional - HIGH/MEDIUM/LOW starts the resolution SLA, blank keeps the current SLA
+    }
+}
@@ -0,0 +1,28 @@
+package com.resolveit.resloveitbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one item of a bulk complaint operation - either the new state or the reason it was skipped
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BulkItemResultDTO {
+    private Long complaintId;
+    private boolean success;
+    private String error;
+    private ComplaintStateDTO complaint;
+
+    public static BulkItemResultDTO ok(ComplaintStateDTO complaint) {
+        return new BulkItemResultDTO(complaint.getId(), true, null, complaint);
+    }
+
+    public static BulkItemResultDTO failed(Long complaintId, String error) {
+        return new BulkItemResultDTO(complaintId, false, error, null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.resolveit.resloveitbackend.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    @NotEmpty(message = "At least one complaint ID is required")
+    @Size(max = 1000, message = "At most 1000 complaints per request")
+    private List<Long> complaintIds;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+}
@@ -0,0 +1,36 @@
+package com.resolveit.resloveitbackend.dto;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Ad-hoc complaint filter evaluated by ComplaintIndexService.
+ * Empty/null fields don't filter; values within a field are OR-ed, fields are AND-ed.
+ * Date ranges are [from, to).
+ */
+@Data
+@NoArgsConstructor
+public class ComplaintFilter {
+    private Set<ComplaintStatus> statuses;
+    private Set<ComplaintPriority> priorities;
+    private Set<String> categories;
+    private Set<String> cities;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime submittedFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime submittedTo;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime slaDueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime slaDueTo;
+}
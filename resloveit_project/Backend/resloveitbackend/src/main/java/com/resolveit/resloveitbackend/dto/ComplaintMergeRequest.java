@@ -0,0 +1,16 @@
+package com.resolveit.resloveitbackend.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class ComplaintMergeRequest {
+    @NotNull(message = "Primary complaint ID is required")
+    private Long primaryId;
+
+    @NotEmpty(message = "At least one duplicate complaint ID is required")
+    private List<Long> duplicateIds;
+}
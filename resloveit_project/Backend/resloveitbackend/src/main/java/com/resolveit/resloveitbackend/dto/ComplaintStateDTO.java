@@ -0,0 +1,84 @@
+package com.resolveit.resloveitbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Workflow columns of a complaint (no TEXT columns, attachments or user) -
+ * loaded by ComplaintRepository.findStateById, changed in memory and written back
+ * with one versioned UPDATE. Returned as-is from the transition endpoints.
+ */
+@Data
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ComplaintStateDTO {
+    private Long id;
+    private Integer version;
+    private ComplaintStatus status;
+    private ComplaintPriority priority;
+    private String category;
+    private String city;
+    private String assignedTo;
+    private LocalDateTime assignedAt;
+    private LocalDateTime acknowledgedAt;
+    private LocalDateTime submittedAt;
+    private Integer escalationLevel;
+    private String slaPhase;
+    private LocalDateTime slaDue;
+    private LocalDateTime triageSlaDue;
+    private LocalDateTime resolutionSlaDue;
+    private LocalDateTime responseSladue;
+    private LocalDateTime prioritySetAt;
+    private Boolean triageBreached;
+    private String workflowState;
+    private Long mergedIntoId;
+    private LocalDateTime closedAt;
+    private String closedBy;
+
+    // Only filled in by the transition that writes them
+    private String resolutionNotes;
+    private Integer rating;
+    private String feedback;
+    private LocalDateTime ratedAt;
+    private String updatedBy;
+    private LocalDateTime updatedAt;
+
+    /**
+     * Used by the JPQL constructor expression
+     */
+    public ComplaintStateDTO(Long id, Integer version, ComplaintStatus status, ComplaintPriority priority,
+                             String category, String city, String assignedTo, LocalDateTime assignedAt,
+                             LocalDateTime acknowledgedAt, LocalDateTime submittedAt, Integer escalationLevel,
+                             String slaPhase, LocalDateTime slaDue, LocalDateTime triageSlaDue,
+                             LocalDateTime resolutionSlaDue, LocalDateTime responseSladue,
+                             LocalDateTime prioritySetAt, Boolean triageBreached, String workflowState,
+                             Long mergedIntoId, LocalDateTime closedAt, String closedBy) {
+        this.id = id;
+        this.version = version;
+        this.status = status;
+        this.priority = priority;
+        this.category = category;
+        this.city = city;
+        this.assignedTo = assignedTo;
+        this.assignedAt = assignedAt;
+        this.acknowledgedAt = acknowledgedAt;
+        this.submittedAt = submittedAt;
+        this.escalationLevel = escalationLevel;
+        this.slaPhase = slaPhase;
+        this.slaDue = slaDue;
+        this.triageSlaDue = triageSlaDue;
+        this.resolutionSlaDue = resolutionSlaDue;
+        this.responseSladue = responseSladue;
+        this.prioritySetAt = prioritySetAt;
+        this.triageBreached = triageBreached;
+        this.workflowState = workflowState;
+        this.mergedIntoId = mergedIntoId;
+        this.closedAt = closedAt;
+        this.closedBy = closedBy;
+    }
+}
@@ -0,0 +1,51 @@
+package com.resolveit.resloveitbackend.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Admin day summary - populated by a single aggregate query
+ * (see ComplaintRepository.getDaySummary)
+ */
+@Data
+@NoArgsConstructor
+public class DaySummaryDTO {
+    private long newComplaintsToday;
+    private long reportsSubmittedToday;
+    private long resolvedToday;
+    private long inProgress;
+    private long escalationsToday;
+    private long escalationsThisWeek;
+    private double avgResolutionTimeHours;
+    private long highPriorityPending;
+    private long activeOfficers;
+    private double slaComplianceToday;
+
+    @JsonIgnore
+    private long resolvedOnTimeToday;
+
+    /**
+     * Used by the JPQL constructor expression - aggregates are null on an empty scan
+     */
+    public DaySummaryDTO(Long newComplaintsToday,
+                         Long resolvedToday,
+                         Long inProgress,
+                         Double avgResolutionTimeHours,
+                         Long highPriorityPending,
+                         Long activeOfficers,
+                         Long resolvedOnTimeToday) {
+        this.newComplaintsToday = newComplaintsToday != null ? newComplaintsToday : 0;
+        this.resolvedToday = resolvedToday != null ? resolvedToday : 0;
+        this.inProgress = inProgress != null ? inProgress : 0;
+        this.avgResolutionTimeHours = avgResolutionTimeHours != null
+                ? Math.round(avgResolutionTimeHours * 10) / 10.0 : 0.0;
+        this.highPriorityPending = highPriorityPending != null ? highPriorityPending : 0;
+        this.activeOfficers = activeOfficers != null ? activeOfficers : 0;
+        this.resolvedOnTimeToday = resolvedOnTimeToday != null ? resolvedOnTimeToday : 0;
+
+        double compliance = this.resolvedToday == 0 ? 100.0
+                : (this.resolvedOnTimeToday * 100.0 / this.resolvedToday);
+        this.slaComplianceToday = Math.round(compliance * 10) / 10.0;
+    }
+}
@@ -0,0 +1,17 @@
+package com.resolveit.resloveitbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An open complaint whose text is close to another one (see DuplicateDetectionService)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DuplicateCandidateDTO {
+    private Long complaintId;
+    private String title;
+    private Double similarity; // estimated Jaccard similarity of the text shingles, 0-1
+}
@@ -19,4 +19,31 @@ public class SLAMetricsDTO {
     private Long highPriorityOverdue;
     private Long mediumPriorityOverdue;
     private Long lowPriorityOverdue;
+
+    /**
+     * Used by the JPQL constructor expression (ComplaintRepository.getSlaMetrics) -
+     * aggregates are null on an empty table
+     */
+    public SLAMetricsDTO(Long totalComplaints,
+                         Long overdueComplaints,
+                         Long resolvedOnTime,
+                         Long resolvedLate,
+                         Double avgResolutionHours,
+                         Long highPriorityOverdue,
+                         Long mediumPriorityOverdue,
+                         Long lowPriorityOverdue) {
+        this.totalComplaints = totalComplaints != null ? totalComplaints : 0;
+        this.overdueComplaints = overdueComplaints != null ? overdueComplaints : 0;
+        this.resolvedOnTime = resolvedOnTime != null ? resolvedOnTime : 0;
+        this.resolvedLate = resolvedLate != null ? resolvedLate : 0;
+        this.avgResolutionHours = avgResolutionHours != null
+                ? Math.round(avgResolutionHours * 10) / 10.0 : 0.0;
+        this.highPriorityOverdue = highPriorityOverdue != null ? highPriorityOverdue : 0;
+        this.mediumPriorityOverdue = mediumPriorityOverdue != null ? mediumPriorityOverdue : 0;
+        this.lowPriorityOverdue = lowPriorityOverdue != null ? lowPriorityOverdue : 0;
+
+        long resolved = this.resolvedOnTime + this.resolvedLate;
+        double compliance = resolved == 0 ? 100.0 : this.resolvedOnTime * 100.0 / resolved;
+        this.slaComplianceRate = Math.round(compliance * 10) / 10.0;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.resolveit.resloveitbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Candidate SLA policy for the what-if simulator - null hours fall back to the current configuration
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SlaPolicy {
+    private String name;
+    private Integer triageHours;
+    private Integer resolutionHigh;
+    private Integer resolutionMedium;
+    private Integer resolutionLow;
+}
@@ -0,0 +1,18 @@
+package com.resolveit.resloveitbackend.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Policies to replay against complaints submitted since the given time (all history when null)
+ */
+@Data
+@NoArgsConstructor
+public class SlaSimulationRequest {
+    private LocalDateTime since;
+    private List<SlaPolicy> policies = new ArrayList<>();
+}
@@ -0,0 +1,91 @@
+package com.resolveit.resloveitbackend.event;
+
+import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.dto.ComplaintStateDTO;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by ComplaintService whenever a complaint is created or changes state.
+ * Carries a before/after snapshot of the hot fields so in-memory views
+ * (counters, workload tables, caches) can apply a delta without reloading the entity.
+ */
+@Getter
+public class ComplaintChangedEvent {
+
+    private final Long complaintId;
+
+    /** Snapshot before the change - null when the complaint was just submitted */
+    private final State before;
+
+    /** Snapshot after the change */
+    private final State after;
+
+    public ComplaintChangedEvent(Long complaintId, State before, State after) {
+        this.complaintId = complaintId;
+        this.before = before;
+        this.after = after;
+    }
+
+    public boolean isCreated() {
+        return before == null;
+    }
+
+    /**
+     * Immutable copy of the fields the analytics views care about
+     */
+    @Getter
+    public static class State {
+        private final ComplaintStatus status;
+        private final ComplaintPriority priority;
+        private final String category;
+        private final String assignedTo;
+        private final String city;
+        private final LocalDateTime submittedAt;
+        private final LocalDateTime closedAt;
+        private final LocalDateTime slaDue;
+        private final String workflowState;
+
+        private State(Complaint complaint) {
+            this.status = complaint.getStatus();
+            this.priority = complaint.getPriority();
+            this.category = complaint.getCategory();
+            this.assignedTo = complaint.getAssignedTo();
+            this.city = complaint.getCity();
+            this.submittedAt = complaint.getSubmittedAt();
+            this.closedAt = complaint.getClosedAt();
+            this.slaDue = complaint.getSlaDue();
+            this.workflowState = complaint.getWorkflowState();
+        }
+
+        private State(ComplaintStateDTO state) {
+            this.status = state.getStatus();
+            this.priority = state.getPriority();
+            this.category = state.getCategory();
+            this.assignedTo = state.getAssignedTo();
+            this.city = state.getCity();
+            this.submittedAt = state.getSubmittedAt();
+            this.closedAt = state.getClosedAt();
+            this.slaDue = state.getSlaDue();
+            this.workflowState = state.getWorkflowState();
+        }
+
+        /**
+         * Closed as a duplicate of another complaint - not a real resolution
+         */
+        public boolean isMerged() {
+            return "MERGED".equals(workflowState);
+        }
+
+        public static State of(Complaint complaint) {
+            return new State(complaint);
+        }
+
+        public static State of(ComplaintStateDTO state) {
+            return new State(state);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.resolveit.resloveitbackend.event;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by SLAService each time a complaint is escalated
+ */
+@Getter
+public class ComplaintEscalatedEvent {
+
+    private final Long complaintId;
+    private final int level;
+    private final String reason;
+    private final LocalDateTime escalatedAt;
+
+    public ComplaintEscalatedEvent(Long complaintId, int level, String reason, LocalDateTime escalatedAt) {
+        this.complaintId = complaintId;
+        this.level = level;
+        this.reason = reason;
+        this.escalatedAt = escalatedAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.resolveit.resloveitbackend.event;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Published by ComplaintImportService after a bulk import inserted complaints directly
+ * over JDBC (no per-complaint ComplaintChangedEvent), so in-memory views can rebuild
+ */
+@Getter
+public class ComplaintsImportedEvent {
+
+    private final int imported;
+
+    /** Submission date range of the imported complaints - null when nothing was imported */
+    private final LocalDate firstSubmittedDate;
+    private final LocalDate lastSubmittedDate;
+
+    /** Closure date range of imported RESOLVED complaints - null when none were resolved */
+    private final LocalDate firstClosedDate;
+    private final LocalDate lastClosedDate;
+
+    public ComplaintsImportedEvent(int imported, LocalDate firstSubmittedDate, LocalDate lastSubmittedDate,
+                                   LocalDate firstClosedDate, LocalDate lastClosedDate) {
+        this.imported = imported;
+        this.firstSubmittedDate = firstSubmittedDate;
+        this.lastSubmittedDate = lastSubmittedDate;
+        this.firstClosedDate = firstClosedDate;
+        this.lastClosedDate = lastClosedDate;
+    }
+}
@@ -0,0 +1,20 @@
+package com.resolveit.resloveitbackend.event;
+
+import lombok.Getter;
+
+/**
+ * Published by ReportService when a report is submitted, edited, approved or rejected
+ */
+@Getter
+public class ReportChangedEvent {
+
+    private final Long reportId;
+    private final Long complaintId;
+    private final String status;
+
+    public ReportChangedEvent(Long reportId, Long complaintId, String status) {
+        this.reportId = reportId;
+        this.complaintId = complaintId;
+        this.status = status;
+    }
+}
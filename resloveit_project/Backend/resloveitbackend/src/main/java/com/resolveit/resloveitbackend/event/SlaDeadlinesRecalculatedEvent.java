@@ -0,0 +1,17 @@
+package com.resolveit.resloveitbackend.event;
+
+import lombok.Getter;
+
+/**
+ * Published by SlaRecalculationService after SLA deadlines were rewritten in bulk,
+ * so in-memory views holding deadlines can rebuild
+ */
+@Getter
+public class SlaDeadlinesRecalculatedEvent {
+
+    private final int updated;
+
+    public SlaDeadlinesRecalculatedEvent(int updated) {
+        this.updated = updated;
+    }
+}
@@ -0,0 +1,13 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.Attachment;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AttachmentRepository extends JpaRepository<Attachment, Long> {
+
+    List<Attachment> findByOwnerTypeAndOwnerId(String ownerType, Long ownerId);
+}
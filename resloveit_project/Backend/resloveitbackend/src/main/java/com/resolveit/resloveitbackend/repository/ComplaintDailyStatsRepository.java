@@ -0,0 +1,45 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.ComplaintDailyStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface ComplaintDailyStatsRepository extends JpaRepository<ComplaintDailyStats, Long> {
+
+    @Query("SELECT MAX(s.statDate) FROM ComplaintDailyStats s WHERE s.finalized = true")
+    LocalDate findLastFinalizedDate();
+
+    @Modifying
+    @Query("DELETE FROM ComplaintDailyStats s WHERE s.statDate >= :from AND s.statDate < :to")
+    int deleteByStatDateRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * Per-day trend: [0] = date, [1] = submitted, [2] = resolved, [3] = high priority submitted
+     */
+    @Query("SELECT s.statDate, SUM(s.submitted), SUM(s.resolved), " +
+           "SUM(CASE WHEN s.priority = 'HIGH' THEN s.submitted ELSE 0 END) " +
+           "FROM ComplaintDailyStats s WHERE s.statDate >= :from " +
+           "GROUP BY s.statDate ORDER BY s.statDate")
+    List<Object[]> findDailyTrend(@Param("from") LocalDate from);
+
+    /**
+     * Submitted count per category since a date: [0] = category, [1] = count
+     */
+    @Query("SELECT s.category, SUM(s.submitted) FROM ComplaintDailyStats s WHERE s.statDate >= :from " +
+           "GROUP BY s.category ORDER BY SUM(s.submitted) DESC")
+    List<Object[]> findCategoryTotals(@Param("from") LocalDate from);
+
+    /**
+     * Submitted count per priority since a date: [0] = priority, [1] = count
+     */
+    @Query("SELECT s.priority, SUM(s.submitted) FROM ComplaintDailyStats s WHERE s.statDate >= :from " +
+           "GROUP BY s.priority")
+    List<Object[]> findPriorityTotals(@Param("from") LocalDate from);
+}
@@ -0,0 +1,59 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.ComplaintEscalation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ComplaintEscalationRepository extends JpaRepository<ComplaintEscalation, Long> {
+
+    long countByEscalatedAtGreaterThanEqual(LocalDateTime since);
+
+    List<ComplaintEscalation> findByComplaintIdOrderByEscalatedAtAsc(Long complaintId);
+
+    /**
+     * Record one escalation per complaint at its current escalation level - used by bulk escalation
+     */
+    @Modifying
+    @Query(value = "INSERT INTO complaint_escalations (complaint_id, escalation_level, reason, escalated_at) " +
+                   "SELECT c.id, c.escalation_level, :reason, :escalatedAt FROM complaints c WHERE c.id IN (:ids)",
+           nativeQuery = true)
+    int insertForComplaints(@Param("ids") List<Long> ids,
+                            @Param("reason") String reason,
+                            @Param("escalatedAt") LocalDateTime escalatedAt);
+
+    /**
+     * 1 if the legacy complaints.escalation_history JSON column still exists
+     */
+    @Query(value = "SELECT COUNT(*) FROM information_schema.columns WHERE table_schema = DATABASE() " +
+                   "AND table_name = 'complaints' AND column_name = 'escalation_history'",
+           nativeQuery = true)
+    long countLegacyHistoryColumn();
+
+    /**
+     * Copy legacy escalation_history JSON entries into complaint_escalations.
+     * Entries already present (same complaint, level and time) are skipped, so complaints
+     * escalated again since the upgrade still get their legacy history.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO complaint_escalations (complaint_id, escalation_level, reason, escalated_at) " +
+                   "SELECT c.id, COALESCE(j.level, j.idx), COALESCE(j.reason, 'SLA breach'), " +
+                   "COALESCE(j.escalated_at, c.updated_at, c.submitted_at) " +
+                   "FROM complaints c, JSON_TABLE(c.escalation_history, '$[*]' COLUMNS (" +
+                   "idx FOR ORDINALITY, " +
+                   "escalated_at DATETIME(6) PATH '$.escalated_at' NULL ON ERROR, " +
+                   "level INT PATH '$.level' NULL ON ERROR, " +
+                   "reason VARCHAR(255) PATH '$.reason' NULL ON ERROR)) j " +
+                   "WHERE JSON_TYPE(c.escalation_history) = 'ARRAY' " +
+                   "AND NOT EXISTS (SELECT 1 FROM complaint_escalations e WHERE e.complaint_id = c.id " +
+                   "AND e.escalation_level = COALESCE(j.level, j.idx) " +
+                   "AND e.escalated_at = COALESCE(j.escalated_at, c.updated_at, c.submitted_at))",
+           nativeQuery = true)
+    int backfillFromLegacyHistory();
+}
@@ -1,15 +1,31 @@
 package com.resolveit.resloveitbackend.repository;
 import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
 import com.resolveit.resloveitbackend.Model.User;
+import com.resolveit.resloveitbackend.dto.ComplaintStateDTO;
+import com.resolveit.resloveitbackend.dto.DaySummaryDTO;
+import com.resolveit.resloveitbackend.dto.SLAMetricsDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
+
+    /** Excludes duplicates closed by a merge (RESOLVED, but never actually resolved) */
+    String NOT_MERGED = "(c.workflowState IS NULL OR c.workflowState <> 'MERGED')";
+
     // ========== EXISTING METHODS ==========
     List<Complaint> findByUser(User user);
     List<Complaint> findBySubmittedBy(String submittedBy);
@@ -24,18 +40,80 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
         return findOverdueComplaints(LocalDateTime.now());
     }
    
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.slaDue < :now AND c.status != 'RESOLVED'")
-    long countOverdueComplaints(@Param("now") LocalDateTime now);
+    /**
+     * Next keyset page of overdue complaints that can still be escalated:
+     * [0] = id, [1] = escalationLevel
+     */
+    @Query("SELECT c.id, c.escalationLevel FROM Complaint c WHERE c.id > :afterId " +
+           "AND c.slaDue < :now AND c.status != 'RESOLVED' AND c.escalationLevel < :maxLevel ORDER BY c.id")
+    List<Object[]> findEscalationCandidates(@Param("afterId") Long afterId,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("maxLevel") int maxLevel,
+                                            Pageable page);
    
-    default long countOverdueComplaints() {
-        return countOverdueComplaints(LocalDateTime.now());
-    }
+    /**
+     * Candidates of a chunk that are still escalatable, locked until the chunk commits
+     * (escalations from other paths wait, or fail on the bumped version):
+     * [0] = id, [1] = escalation_level
+     */
+    @Query(value = "SELECT id, escalation_level FROM complaints " +
+           "WHERE id IN (:ids) AND status <> 'RESOLVED' AND escalation_level < :maxLevel AND sla_due < :now " +
+           "ORDER BY id FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockEscalationCandidates(@Param("ids") List<Long> ids,
+                                            @Param("now") LocalDateTime now,
+                                            @Param("maxLevel") int maxLevel);
+
+    /**
+     * Escalate a chunk of complaints in one statement - bumps the level and
+     * the optimistic-lock version. Call with ids locked by lockEscalationCandidates
+     * in the same transaction, so each row moves exactly one level.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "UPDATE complaints SET " +
+           "escalation_level = escalation_level + 1, " +
+           "version = COALESCE(version, 0) + 1, " +
+           "updated_at = :now " +
+           "WHERE id IN (:ids) AND status <> 'RESOLVED' AND escalation_level < :maxLevel AND sla_due < :now",
+           nativeQuery = true)
+    int bulkEscalate(@Param("ids") List<Long> ids,
+                     @Param("now") LocalDateTime now,
+                     @Param("maxLevel") int maxLevel);
    
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.closedAt <= c.slaDue")
-    long countResolvedOnTime();
    
-    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.closedAt > c.slaDue")
-    long countResolvedLate();
+    /**
+     * ✅ All SLA counters in a single pass (see SLAService.getSLAMetrics).
+     * Duplicates closed by a merge count towards the totals but not as resolutions.
+     */
+    @Query("SELECT new com.resolveit.resloveitbackend.dto.SLAMetricsDTO(" +
+           "COUNT(c), " +
+           "SUM(CASE WHEN c.slaDue < :now AND c.status != 'RESOLVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt <= c.slaDue THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt > c.slaDue THEN 1 ELSE 0 END), " +
+           "AVG(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt IS NOT NULL " +
+           "THEN TIMESTAMPDIFF(HOUR, c.submittedAt, c.closedAt) END), " +
+           "SUM(CASE WHEN c.priority = 'HIGH' AND c.slaDue < :now AND c.status != 'RESOLVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.priority = 'MEDIUM' AND c.slaDue < :now AND c.status != 'RESOLVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.priority = 'LOW' AND c.slaDue < :now AND c.status != 'RESOLVED' THEN 1 ELSE 0 END)) " +
+           "FROM Complaint c")
+    SLAMetricsDTO getSlaMetrics(@Param("now") LocalDateTime now);
+
+    /**
+     * SLA counters per submission day and priority:
+     * [0] = date, [1] = priority, [2] = total, [3] = overdue, [4] = resolved on time,
+     * [5] = resolved late, [6] = resolved (with closedAt), [7] = total resolution hours
+     */
+    @Query("SELECT CAST(c.submittedAt AS LocalDate), c.priority, COUNT(c), " +
+           "SUM(CASE WHEN c.slaDue < :now AND c.status != 'RESOLVED' THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt <= c.slaDue THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt > c.slaDue THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt IS NOT NULL THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'RESOLVED' AND " + NOT_MERGED + " AND c.closedAt IS NOT NULL " +
+           "THEN TIMESTAMPDIFF(HOUR, c.submittedAt, c.closedAt) ELSE 0 END) " +
+           "FROM Complaint c WHERE c.submittedAt >= :since " +
+           "GROUP BY CAST(c.submittedAt AS LocalDate), c.priority " +
+           "ORDER BY CAST(c.submittedAt AS LocalDate), c.priority")
+    List<Object[]> getSlaMetricBuckets(@Param("since") LocalDateTime since, @Param("now") LocalDateTime now);
    
     @Query("SELECT c FROM Complaint c WHERE c.escalationLevel < 3 AND c.slaDue < :now AND c.status != 'RESOLVED'")
     List<Complaint> findComplaintsNeedingEscalation(@Param("now") LocalDateTime now);
@@ -52,13 +130,35 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
    
     @Query("SELECT c FROM Complaint c WHERE c.assignedTo = :officer AND c.status != 'RESOLVED'")
     List<Complaint> findActiveComplaintsByOfficer(@Param("officer") String officer);
-   
+
     /**
-     * ✅ Calculate average resolution time in hours
-     * Uses TIMESTAMPDIFF to calculate hours between submission and closure
+     * Officer workload projection: [0] = officer, [1] = status, [2] = count
      */
-    @Query("SELECT AVG(TIMESTAMPDIFF(HOUR, c.submittedAt, c.closedAt)) FROM Complaint c WHERE c.status = 'RESOLVED' AND c.closedAt IS NOT NULL")
-    Double findAverageResolutionTimeHours();
+    @Query("SELECT c.assignedTo, c.status, COUNT(c) FROM Complaint c " +
+           "WHERE c.assignedTo IS NOT NULL GROUP BY c.assignedTo, c.status")
+    List<Object[]> findOfficerStatusCounts();
+
+    /**
+     * Open assigned complaints per officer and priority (weighted open load, see OfficerWorkloadService):
+     * [0] = officer, [1] = priority, [2] = count
+     */
+    @Query("SELECT c.assignedTo, c.priority, COUNT(c) FROM Complaint c " +
+           "WHERE c.assignedTo IS NOT NULL AND c.status != 'RESOLVED' GROUP BY c.assignedTo, c.priority")
+    List<Object[]> findOpenOfficerPriorityCounts();
+
+    /**
+     * Oldest unassigned PENDING complaints: [0] = id, [1] = category, [2] = priority
+     */
+    @Query("SELECT c.id, c.category, c.priority FROM Complaint c " +
+           "WHERE c.assignedTo IS NULL AND c.status = 'PENDING' ORDER BY c.submittedAt, c.id")
+    List<Object[]> findUnassignedPending(Pageable page);
+
+    /**
+     * SLA deadlines of open assigned complaints: [0] = officer, [1] = slaDue
+     */
+    @Query("SELECT c.assignedTo, c.slaDue FROM Complaint c " +
+           "WHERE c.assignedTo IS NOT NULL AND c.status != 'RESOLVED' AND c.slaDue IS NOT NULL")
+    List<Object[]> findOpenOfficerDeadlines();
    
     /**
      * ✅ Get complaint count grouped by category
@@ -109,6 +209,25 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
     @Query("SELECT c FROM Complaint c WHERE c.slaDue BETWEEN :now AND :deadline AND c.status != 'RESOLVED' ORDER BY c.slaDue ASC")
     List<Complaint> findComplaintsDueSoon(@Param("now") LocalDateTime now, @Param("deadline") LocalDateTime deadline);
    
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.slaDue > :now AND c.slaDue < :deadline AND c.status != 'RESOLVED'")
+    long countComplaintsDueSoon(@Param("now") LocalDateTime now, @Param("deadline") LocalDateTime deadline);
+   
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.slaPhase = 'TRIAGE' AND c.status = 'PENDING' " +
+           "AND c.triageSlaDue > :now AND c.triageSlaDue < :threshold")
+    long countTriageDueBetween(@Param("now") LocalDateTime now, @Param("threshold") LocalDateTime threshold);
+   
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.slaPhase = 'TRIAGE' AND c.status = 'PENDING' " +
+           "AND c.triageSlaDue < :now")
+    long countTriageOverdue(@Param("now") LocalDateTime now);
+   
+    @Query("SELECT c FROM Complaint c WHERE c.slaPhase = 'TRIAGE' AND c.status = 'PENDING' " +
+           "AND c.triageSlaDue > :now AND c.triageSlaDue < :threshold ORDER BY c.triageSlaDue")
+    List<Complaint> findTriageDueBetween(@Param("now") LocalDateTime now, @Param("threshold") LocalDateTime threshold);
+   
+    @Query("SELECT c FROM Complaint c WHERE c.slaPhase = 'TRIAGE' AND c.status = 'PENDING' " +
+           "AND c.triageSlaDue < :now ORDER BY c.triageSlaDue")
+    List<Complaint> findTriageOverdue(@Param("now") LocalDateTime now);
+   
     default List<Complaint> findComplaintsDueInNextHours(int hours) {
         LocalDateTime now = LocalDateTime.now();
         LocalDateTime deadline = now.plusHours(hours);
@@ -124,4 +243,238 @@ public interface ComplaintRepository extends JpaRepository<Complaint, Long> {
      * Count complaints submitted after a certain date
      */
     long countBySubmittedAtAfter(LocalDateTime dateTime);
-}
\ No newline at end of file
+
+    /**
+     * ✅ Admin day summary in a single pass
+     * Only open complaints and rows touched since :start are scanned
+     * (escalation and closure both bump updatedAt).
+     * Duplicates closed by a merge are not resolutions: left out of resolvedToday, the average and met-SLA.
+     */
+    @Query("SELECT new com.resolveit.resloveitbackend.dto.DaySummaryDTO(" +
+           "SUM(CASE WHEN c.submittedAt >= :start THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.closedAt >= :start AND " + NOT_MERGED + " THEN 1 ELSE 0 END), " +
+           "SUM(CASE WHEN c.status = 'ASSIGNED' OR c.status = 'IN_PROGRESS' THEN 1 ELSE 0 END), " +
+           "AVG(CASE WHEN c.closedAt >= :start AND " + NOT_MERGED + " " +
+           "THEN TIMESTAMPDIFF(HOUR, c.submittedAt, c.closedAt) END), " +
+           "SUM(CASE WHEN c.priority = 'HIGH' AND c.status != 'RESOLVED' THEN 1 ELSE 0 END), " +
+           "COUNT(DISTINCT CASE WHEN c.status != 'RESOLVED' THEN c.assignedTo END), " +
+           "SUM(CASE WHEN c.closedAt >= :start AND c.closedAt < c.slaDue AND " + NOT_MERGED + " THEN 1 ELSE 0 END)) " +
+           "FROM Complaint c " +
+           "WHERE c.status != 'RESOLVED' OR c.submittedAt >= :start OR c.updatedAt >= :start")
+    DaySummaryDTO getDaySummary(@Param("start") LocalDateTime start);
+
+    // ========== DAILY ROLLUP QUERIES ==========
+
+    /**
+     * Submissions per day/category/priority: [0] = date, [1] = category, [2] = priority, [3] = count
+     */
+    @Query("SELECT CAST(c.submittedAt AS LocalDate), c.category, c.priority, COUNT(c) " +
+           "FROM Complaint c WHERE c.submittedAt >= :start AND c.submittedAt < :end " +
+           "GROUP BY CAST(c.submittedAt AS LocalDate), c.category, c.priority")
+    List<Object[]> findDailySubmissionCounts(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    /**
+     * Closures per day/category/priority, merged duplicates excluded:
+     * [0] = date, [1] = category, [2] = priority, [3] = resolved, [4] = breached, [5] = sum of resolution hours
+     */
+    @Query("SELECT CAST(c.closedAt AS LocalDate), c.category, c.priority, COUNT(c), " +
+           "SUM(CASE WHEN c.closedAt > c.slaDue THEN 1 ELSE 0 END), " +
+           "SUM(TIMESTAMPDIFF(HOUR, c.submittedAt, c.closedAt)) " +
+           "FROM Complaint c WHERE c.closedAt >= :start AND c.closedAt < :end AND " + NOT_MERGED + " " +
+           "GROUP BY CAST(c.closedAt AS LocalDate), c.category, c.priority")
+    List<Object[]> findDailyClosureCounts(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("SELECT MIN(c.submittedAt) FROM Complaint c")
+    LocalDateTime findEarliestSubmittedAt();
+
+    /**
+     * Resolution durations closed in (since, until], merged duplicates excluded:
+     * [0] = category, [1] = priority, [2] = submittedAt, [3] = closedAt
+     */
+    @Query("SELECT c.category, c.priority, c.submittedAt, c.closedAt FROM Complaint c " +
+           "WHERE c.status = 'RESOLVED' AND c.closedAt > :since AND c.closedAt <= :until " +
+           "AND c.submittedAt IS NOT NULL AND " + NOT_MERGED)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE)) // MySQL row streaming
+    Stream<Object[]> streamResolutionTimesBetween(@Param("since") LocalDateTime since,
+                                                  @Param("until") LocalDateTime until);
+
+    /**
+     * Hot fields for the in-memory complaint index:
+     * [0] = id, [1] = status, [2] = priority, [3] = category, [4] = city, [5] = submittedAt, [6] = slaDue
+     */
+    @Query("SELECT c.id, c.status, c.priority, c.category, c.city, c.submittedAt, c.slaDue FROM Complaint c")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE)) // MySQL row streaming
+    Stream<Object[]> streamIndexRows();
+
+    /**
+     * Text of open complaints for the duplicate index:
+     * [0] = id, [1] = category, [2] = pincode, [3] = title, [4] = description
+     */
+    @Query("SELECT c.id, c.category, c.pincode, c.title, c.description FROM Complaint c WHERE c.status != 'RESOLVED'")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE)) // MySQL row streaming
+    Stream<Object[]> streamDuplicateIndexRows();
+
+    /**
+     * SLA deadlines that can still lead to an escalation:
+     * [0] = id, [1] = slaDue, [2] = time of the last escalation (null if never escalated)
+     */
+    @Query("SELECT c.id, c.slaDue, " +
+           "(SELECT MAX(e.escalatedAt) FROM ComplaintEscalation e WHERE e.complaintId = c.id) FROM Complaint c " +
+           "WHERE c.slaDue IS NOT NULL AND c.status != 'RESOLVED' " +
+           "AND (COALESCE(c.escalationLevel, 0) < :maxLevel " +
+           "OR (c.slaPhase = 'TRIAGE' AND c.status = 'PENDING' AND COALESCE(c.triageBreached, false) = false))")
+    List<Object[]> findEscalatableDeadlines(@Param("maxLevel") int maxLevel);
+
+    /**
+     * SLA timer inputs of complaints changed after a point in time (on any node):
+     * [0] = id, [1] = slaDue, [2] = time of the last escalation, [3] = status,
+     * [4] = escalationLevel, [5] = slaPhase, [6] = triageBreached
+     */
+    @Query("SELECT c.id, c.slaDue, " +
+           "(SELECT MAX(e.escalatedAt) FROM ComplaintEscalation e WHERE e.complaintId = c.id), " +
+           "c.status, c.escalationLevel, c.slaPhase, c.triageBreached FROM Complaint c " +
+           "WHERE c.updatedAt > :since")
+    List<Object[]> findSlaTimerChangesSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Next keyset page of open complaints with their SLA start times:
+     * [0] = id, [1] = slaPhase, [2] = priority, [3] = slaStart, [4] = prioritySetAt,
+     * [5] = triageSlaDue, [6] = resolutionSlaDue, [7] = responseSladue, [8] = version
+     */
+    @Query("SELECT c.id, c.slaPhase, c.priority, c.slaStart, c.prioritySetAt, " +
+           "c.triageSlaDue, c.resolutionSlaDue, c.responseSladue, COALESCE(c.version, 0) FROM Complaint c " +
+           "WHERE c.id > :afterId AND c.status != 'RESOLVED' ORDER BY c.id")
+    List<Object[]> findOpenSlaStarts(@Param("afterId") Long afterId, Pageable page);
+
+    /**
+     * Same columns as findOpenSlaStarts for the given (still open) complaints -
+     * re-read after a concurrent change made their versioned UPDATE miss
+     */
+    @Query("SELECT c.id, c.slaPhase, c.priority, c.slaStart, c.prioritySetAt, " +
+           "c.triageSlaDue, c.resolutionSlaDue, c.responseSladue, COALESCE(c.version, 0) FROM Complaint c " +
+           "WHERE c.id IN :ids AND c.status != 'RESOLVED'")
+    List<Object[]> findOpenSlaStartsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Rows for the SLA what-if simulator, merged duplicates excluded:
+     * [0] = submittedAt, [1] = assignedAt, [2] = closedAt, [3] = priority
+     */
+    @Query("SELECT c.submittedAt, c.assignedAt, c.closedAt, c.priority FROM Complaint c " +
+           "WHERE c.submittedAt >= :since AND " + NOT_MERGED)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE)) // MySQL row streaming
+    Stream<Object[]> streamSimulationRows(@Param("since") LocalDateTime since);
+
+    /**
+     * Number of rows streamSimulationRows returns for the same since
+     */
+    @Query("SELECT COUNT(c) FROM Complaint c WHERE c.submittedAt >= :since AND " + NOT_MERGED)
+    long countSimulationRows(@Param("since") LocalDateTime since);
+
+    // ========== WORKFLOW TRANSITIONS ==========
+    // Each transition reads the workflow columns (findStateById) and writes back only the
+    // columns it changes, guarded by the optimistic-lock version. 0 rows = changed concurrently.
+
+    @Query("SELECT new com.resolveit.resloveitbackend.dto.ComplaintStateDTO(" +
+           "c.id, COALESCE(c.version, 0), c.status, c.priority, c.category, c.city, c.assignedTo, c.assignedAt, " +
+           "c.acknowledgedAt, c.submittedAt, c.escalationLevel, c.slaPhase, c.slaDue, c.triageSlaDue, " +
+           "c.resolutionSlaDue, c.responseSladue, c.prioritySetAt, c.triageBreached, c.workflowState, " +
+           "c.mergedIntoId, c.closedAt, c.closedBy) " +
+           "FROM Complaint c WHERE c.id = :id")
+    Optional<ComplaintStateDTO> findStateById(@Param("id") Long id);
+
+    @Query("SELECT new com.resolveit.resloveitbackend.dto.ComplaintStateDTO(" +
+           "c.id, COALESCE(c.version, 0), c.status, c.priority, c.category, c.city, c.assignedTo, c.assignedAt, " +
+           "c.acknowledgedAt, c.submittedAt, c.escalationLevel, c.slaPhase, c.slaDue, c.triageSlaDue, " +
+           "c.resolutionSlaDue, c.responseSladue, c.prioritySetAt, c.triageBreached, c.workflowState, " +
+           "c.mergedIntoId, c.closedAt, c.closedBy) " +
+           "FROM Complaint c WHERE c.id IN :ids")
+    List<ComplaintStateDTO> findStatesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.priority = :priority, c.prioritySetAt = :prioritySetAt, " +
+           "c.resolutionSlaDue = :resolutionSlaDue, c.slaDue = :slaDue, c.responseSladue = :responseSladue, " +
+           "c.updatedBy = :updatedBy, c.updatedAt = :now, c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND COALESCE(c.version, 0) = :version")
+    int applyPriority(@Param("id") Long id,
+                      @Param("version") Integer version,
+                      @Param("priority") ComplaintPriority priority,
+                      @Param("prioritySetAt") LocalDateTime prioritySetAt,
+                      @Param("resolutionSlaDue") LocalDateTime resolutionSlaDue,
+                      @Param("slaDue") LocalDateTime slaDue,
+                      @Param("responseSladue") LocalDateTime responseSladue,
+                      @Param("updatedBy") String updatedBy,
+                      @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.status = :status, c.assignedAt = :assignedAt, " +
+           "c.acknowledgedAt = :acknowledgedAt, c.closedAt = :closedAt, c.closedBy = :closedBy, " +
+           "c.updatedBy = :updatedBy, c.updatedAt = :now, c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND COALESCE(c.version, 0) = :version")
+    int applyStatus(@Param("id") Long id,
+                    @Param("version") Integer version,
+                    @Param("status") ComplaintStatus status,
+                    @Param("assignedAt") LocalDateTime assignedAt,
+                    @Param("acknowledgedAt") LocalDateTime acknowledgedAt,
+                    @Param("closedAt") LocalDateTime closedAt,
+                    @Param("closedBy") String closedBy,
+                    @Param("updatedBy") String updatedBy,
+                    @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.assignedTo = :assignedTo, c.assignedAt = :assignedAt, c.status = :status, " +
+           "c.priority = :priority, c.slaPhase = :slaPhase, c.triageBreached = :triageBreached, " +
+           "c.prioritySetAt = :prioritySetAt, c.resolutionSlaDue = :resolutionSlaDue, c.slaDue = :slaDue, " +
+           "c.responseSladue = :responseSladue, c.updatedBy = :updatedBy, c.updatedAt = :now, " +
+           "c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND COALESCE(c.version, 0) = :version")
+    int applyAssignment(@Param("id") Long id,
+                        @Param("version") Integer version,
+                        @Param("assignedTo") String assignedTo,
+                        @Param("assignedAt") LocalDateTime assignedAt,
+                        @Param("status") ComplaintStatus status,
+                        @Param("priority") ComplaintPriority priority,
+                        @Param("slaPhase") String slaPhase,
+                        @Param("triageBreached") Boolean triageBreached,
+                        @Param("prioritySetAt") LocalDateTime prioritySetAt,
+                        @Param("resolutionSlaDue") LocalDateTime resolutionSlaDue,
+                        @Param("slaDue") LocalDateTime slaDue,
+                        @Param("responseSladue") LocalDateTime responseSladue,
+                        @Param("updatedBy") String updatedBy,
+                        @Param("now") LocalDateTime now);
+
+    /**
+     * Close (or merge) - workflowState and mergedIntoId only change on a merge
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.status = 'RESOLVED', c.resolutionNotes = :resolutionNotes, " +
+           "c.workflowState = :workflowState, c.mergedIntoId = :mergedIntoId, c.closedAt = :now, " +
+           "c.closedBy = :closedBy, c.updatedBy = :closedBy, c.updatedAt = :now, " +
+           "c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND COALESCE(c.version, 0) = :version")
+    int applyClosure(@Param("id") Long id,
+                     @Param("version") Integer version,
+                     @Param("resolutionNotes") String resolutionNotes,
+                     @Param("workflowState") String workflowState,
+                     @Param("mergedIntoId") Long mergedIntoId,
+                     @Param("closedBy") String closedBy,
+                     @Param("now") LocalDateTime now);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.rating = :rating, c.feedback = :feedback, c.ratedAt = :now, " +
+           "c.updatedAt = :now, c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND COALESCE(c.version, 0) = :version")
+    int applyFeedback(@Param("id") Long id,
+                      @Param("version") Integer version,
+                      @Param("rating") Integer rating,
+                      @Param("feedback") String feedback,
+                      @Param("now") LocalDateTime now);
+
+    /**
+     * Stamp the first citizen response once - the IS NULL predicate makes concurrent replies safe
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.firstResponseAt = :now, c.updatedAt = :now, " +
+           "c.version = COALESCE(c.version, 0) + 1 " +
+           "WHERE c.id = :id AND c.firstResponseAt IS NULL")
+    int markFirstResponse(@Param("id") Long id, @Param("now") LocalDateTime now);
+}
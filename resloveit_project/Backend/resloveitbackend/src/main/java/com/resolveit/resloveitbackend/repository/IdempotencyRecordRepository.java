@@ -0,0 +1,65 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Claim/complete statements use the database clock so all nodes agree on expiry
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, Long> {
+
+    Optional<IdempotencyRecord> findByScopeAndPrincipalAndIdempotencyKey(String scope, String principal,
+                                                                          String idempotencyKey);
+
+    /**
+     * Claim a key nobody has used - 1 if claimed
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO idempotency_keys (scope, principal, idempotency_key, status, created_at, expires_at) " +
+                   "VALUES (:scope, :principal, :key, 'IN_PROGRESS', NOW(6), TIMESTAMPADD(MICROSECOND, :ttlMicros, NOW(6)))",
+           nativeQuery = true)
+    int claim(@Param("scope") String scope, @Param("principal") String principal, @Param("key") String key,
+              @Param("ttlMicros") long ttlMicros);
+
+    /**
+     * Re-claim a key whose record expired, or whose request was abandoned in progress
+     * (node died mid-request) - 1 if claimed
+     */
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status = 'IN_PROGRESS', response_status = NULL, response_body = NULL, " +
+                   "created_at = NOW(6), expires_at = TIMESTAMPADD(MICROSECOND, :ttlMicros, NOW(6)) " +
+                   "WHERE scope = :scope AND principal = :principal AND idempotency_key = :key " +
+                   "AND (expires_at <= NOW(6) OR " +
+                   "(status = 'IN_PROGRESS' AND created_at < TIMESTAMPADD(MICROSECOND, -:staleMicros, NOW(6))))",
+           nativeQuery = true)
+    int reclaim(@Param("scope") String scope, @Param("principal") String principal, @Param("key") String key,
+                @Param("ttlMicros") long ttlMicros, @Param("staleMicros") long staleMicros);
+
+    @Modifying
+    @Query(value = "UPDATE idempotency_keys SET status = 'COMPLETED', response_status = :responseStatus, " +
+                   "response_body = :responseBody " +
+                   "WHERE scope = :scope AND principal = :principal AND idempotency_key = :key",
+           nativeQuery = true)
+    int complete(@Param("scope") String scope, @Param("principal") String principal, @Param("key") String key,
+                 @Param("responseStatus") int responseStatus, @Param("responseBody") String responseBody);
+
+    /**
+     * Drop an in-progress claim after a failed request so the client can retry
+     */
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys " +
+                   "WHERE scope = :scope AND principal = :principal AND idempotency_key = :key AND status = 'IN_PROGRESS'",
+           nativeQuery = true)
+    int release(@Param("scope") String scope, @Param("principal") String principal, @Param("key") String key);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_keys WHERE expires_at <= NOW(6)", nativeQuery = true)
+    int deleteExpired();
+}
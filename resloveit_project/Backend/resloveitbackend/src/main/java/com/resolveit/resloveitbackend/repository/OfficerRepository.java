@@ -2,8 +2,10 @@ package com.resolveit.resloveitbackend.repository;
 
 import com.resolveit.resloveitbackend.Model.Officer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -20,6 +22,12 @@ public interface OfficerRepository extends JpaRepository<Officer, Long> {
      */
     Optional<Officer> findByEmail(String email);
 
+    /**
+     * [0] = email, [1] = department - for the auto-assignment load table
+     */
+    @Query("SELECT o.email, o.department FROM Officer o")
+    List<Object[]> findEmailsAndDepartments();
+
     /**
      * Optional: Find all officers (already available via findAll(), but explicit for clarity)
      */
@@ -0,0 +1,41 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMessageRepository extends JpaRepository<OutboxMessage, Long> {
+
+    @Query("SELECT m FROM OutboxMessage m WHERE m.status = 'PENDING' AND m.nextAttemptAt <= :now " +
+           "ORDER BY m.nextAttemptAt, m.id")
+    List<OutboxMessage> findDue(@Param("now") LocalDateTime now, Pageable page);
+
+    long countByStatus(String status);
+
+    /**
+     * Queue one escalation notice per complaint for a recipient - used by bulk escalation
+     */
+    @Modifying
+    @Query(value = "INSERT INTO notification_outbox " +
+                   "(channel, recipient, subject, body, event_type, status, attempts, next_attempt_at, created_at) " +
+                   "SELECT :channel, :recipient, CONCAT('Complaint #', c.id, ' escalated to level ', c.escalation_level), " +
+                   "CONCAT('Complaint #', c.id, ' \"', c.title, '\" (', c.priority, ', ', c.status, ') was escalated to level ', " +
+                   "c.escalation_level, ' - reason: ', :reason, '. Assigned to: ', COALESCE(c.assigned_to, 'unassigned'), " +
+                   "'. SLA due: ', COALESCE(c.sla_due, '-'), '.'), " +
+                   ":eventType, 'PENDING', 0, :now, :now FROM complaints c WHERE c.id IN (:ids)",
+           nativeQuery = true)
+    int enqueueForComplaints(@Param("ids") List<Long> ids,
+                             @Param("channel") String channel,
+                             @Param("recipient") String recipient,
+                             @Param("eventType") String eventType,
+                             @Param("reason") String reason,
+                             @Param("now") LocalDateTime now);
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 @Repository
@@ -12,6 +13,9 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     Optional<Report> findByComplaintId(Long complaintId);
    
     boolean existsByComplaintId(Long complaintId);
+
+    @Query("SELECT DISTINCT r.complaintId FROM Report r WHERE r.complaintId IN :complaintIds")
+    List<Long> findComplaintIdsWithReport(@Param("complaintIds") Collection<Long> complaintIds);
    
     List<Report> findByOfficerEmail(String officerEmail);
    
@@ -29,6 +33,8 @@ public interface ReportRepository extends JpaRepository<Report, Long> {
     );
    
     long countByOfficerEmail(String officerEmail);
+
+    long countBySubmittedAtAfter(LocalDateTime dateTime);
    
     @Query("SELECT r FROM Report r WHERE r.status = 'SUBMITTED' ORDER BY r.submittedAt ASC")
     List<Report> findPendingReview();
@@ -0,0 +1,29 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.ResolutionHistogramSnapshot;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ResolutionHistogramRepository extends JpaRepository<ResolutionHistogramSnapshot, Long> {
+
+    /**
+     * Snapshot rows locked for the advance - a concurrent reset waits for it to commit
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ResolutionHistogramSnapshot s")
+    List<ResolutionHistogramSnapshot> findAllForUpdate();
+
+    /**
+     * Drop the snapshot so the next advance rebuilds it from every closure
+     */
+    @Modifying
+    @Query("DELETE FROM ResolutionHistogramSnapshot s")
+    int deleteAllSnapshots();
+}
@@ -0,0 +1,34 @@
+package com.resolveit.resloveitbackend.repository;
+
+import com.resolveit.resloveitbackend.Model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Lease statements use the database clock so nodes with skewed clocks agree on expiry
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+
+    /**
+     * Create the lease if nobody has ever held it - 1 if created
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO scheduler_leases (name, owner, locked_at, locked_until) " +
+                   "VALUES (:name, :owner, NOW(6), TIMESTAMPADD(MICROSECOND, :ttlMicros, NOW(6)))",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("owner") String owner, @Param("ttlMicros") long ttlMicros);
+
+    /**
+     * Take over an expired lease or extend one we already hold - 1 if acquired
+     */
+    @Modifying
+    @Query(value = "UPDATE scheduler_leases SET owner = :owner, locked_at = NOW(6), " +
+                   "locked_until = TIMESTAMPADD(MICROSECOND, :ttlMicros, NOW(6)) " +
+                   "WHERE name = :name AND (locked_until <= NOW(6) OR owner = :owner)",
+           nativeQuery = true)
+    int acquireOrRenew(@Param("name") String name, @Param("owner") String owner, @Param("ttlMicros") long ttlMicros);
+}
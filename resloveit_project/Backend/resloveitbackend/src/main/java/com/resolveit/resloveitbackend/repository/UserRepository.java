@@ -1,10 +1,22 @@
 package com.resolveit.resloveitbackend.repository;
 
+import com.resolveit.resloveitbackend.Model.Role;
 import com.resolveit.resloveitbackend.Model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findByRole(Role role);
+
+    /**
+     * Batched email lookup for bulk import: [0] = email, [1] = id
+     */
+    @Query("SELECT u.email, u.id FROM User u WHERE u.email IN :emails")
+    List<Object[]> findIdsByEmailIn(@Param("emails") Collection<String> emails);
 }
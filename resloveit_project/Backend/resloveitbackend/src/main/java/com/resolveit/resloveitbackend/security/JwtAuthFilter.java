@@ -39,6 +39,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private static final Logger logger = LoggerFactory.getLogger(JwtAuthFilter.class);
 
+    private static final String SSE_STREAM_PATH = "/api/admin/notifications/stream";
+
     private final JwtUtil jwtUtil;
     private final UserRepository userRepository;
     private final OfficerRepository officerRepository;
@@ -97,6 +99,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         String token = null;
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             token = header.substring(7);
+        } else if (request.getRequestURI().endsWith(SSE_STREAM_PATH)) {
+            // Browser EventSource cannot set headers - accept the token as a query param for the SSE stream only
+            token = request.getParameter("access_token");
         }
 
         try {
@@ -0,0 +1,269 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.Report;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintEscalatedEvent;
+import com.resolveit.resloveitbackend.event.ReportChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Server-Sent Events fan-out for admin notification counts and triage alerts.
+ * One shared source: write events and a periodic count check are turned into SSE events
+ * and offered to every connected admin. Each client has a bounded buffer drained by at most
+ * one dispatcher thread at a time, so a stalled connection only pins its own thread.
+ * A client whose buffer overflows, or whose send does not finish within
+ * notifications.stream.send-timeout-ms, is disconnected - the browser reconnects and refetches.
+ */
+@Service
+@Slf4j
+public class AdminNotificationStream {
+
+    private final AnalyticsService analyticsService;
+    private final SLAService slaService;
+
+    @Value("${notifications.stream.buffer-size:100}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService dispatcher;
+
+    // Last counts pushed to clients - a "counts" event is only sent when these change
+    private volatile Map<String, Long> lastCounts = Collections.emptyMap();
+
+    public AdminNotificationStream(AnalyticsService analyticsService,
+                                   SLAService slaService) {
+        this.analyticsService = analyticsService;
+        this.slaService = slaService;
+        AtomicInteger threadCount = new AtomicInteger();
+        // Unbounded, but never more busy threads than subscribers - each drains one client at a time
+        this.dispatcher = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "admin-sse-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Register a new admin connection and send it the current counts
+     */
+    public SseEmitter subscribe(String admin) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(admin, emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+
+        subscriber.offer(event("counts", currentCounts()));
+        log.info("Admin {} subscribed to notification stream ({} connected)", admin, subscribers.size());
+        return emitter;
+    }
+
+    // -------------------- Event sources --------------------
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (!event.isCreated() || subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("complaintId", event.getComplaintId());
+        data.put("category", event.getAfter().getCategory());
+        data.put("delta", Map.of("newComplaints", 1));
+        broadcast("complaint.created", data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        boolean pending = Report.ReportStatus.SUBMITTED.name().equals(event.getStatus());
+        Map<String, Object> data = new HashMap<>();
+        data.put("reportId", event.getReportId());
+        data.put("complaintId", event.getComplaintId());
+        data.put("status", event.getStatus());
+        broadcast(pending ? "report.pending" : "report.reviewed", data);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintEscalated(ComplaintEscalatedEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put("complaintId", event.getComplaintId());
+        data.put("level", event.getLevel());
+        data.put("reason", event.getReason());
+        broadcast("complaint.escalated", data);
+    }
+
+    /**
+     * Time-driven changes (complaints entering/leaving the 2h high-alert window,
+     * triage alerts, 24h "new" window) are detected by recounting - only while someone is listening
+     */
+    @Scheduled(fixedDelayString = "${notifications.stream.tick-ms:15000}")
+    public void tick() {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeoutMs * 1_000_000) {
+                subscriber.disconnect("send did not finish within " + sendTimeoutMs + " ms");
+            }
+        }
+        try {
+            Map<String, Long> counts = currentCounts();
+            if (!counts.equals(lastCounts)) {
+                lastCounts = counts;
+                broadcast(event("counts", counts));
+            } else {
+                broadcast(SseEmitter.event().comment("keep-alive").build());
+            }
+        } catch (Exception e) {
+            log.error("Error refreshing notification stream counts", e);
+        }
+    }
+
+    private Map<String, Long> currentCounts() {
+        Map<String, Long> counts = new HashMap<>(analyticsService.getNotificationCounts());
+        counts.put("triageCritical", slaService.countTriageCriticalComplaints());
+        counts.put("triageOverdue", slaService.countTriageOverdueComplaints());
+        return counts;
+    }
+
+    // -------------------- Fan-out --------------------
+
+    private void broadcast(String name, Object data) {
+        broadcast(event(name, data));
+    }
+
+    private void broadcast(Set<DataWithMediaType> event) {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Build the event once so the same frame can be queued for every subscriber
+     */
+    private static Set<DataWithMediaType> event(String name, Object data) {
+        return SseEmitter.event().name(name).data(data).build();
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    /**
+     * One connected admin with its bounded outbound buffer
+     */
+    private class Subscriber {
+        private final String admin;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Set<DataWithMediaType>> buffer = new ArrayDeque<>();
+        private boolean draining;
+        /** System.nanoTime() when the send in flight started, 0 when idle */
+        private volatile long sendingSince;
+
+        Subscriber(String admin, SseEmitter emitter) {
+            this.admin = admin;
+            this.emitter = emitter;
+        }
+
+        void offer(Set<DataWithMediaType> event) {
+            synchronized (buffer) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.clear();
+                } else {
+                    buffer.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                    dispatcher.execute(this::drain);
+                    return;
+                }
+            }
+            disconnect("buffer overflow");
+        }
+
+        /**
+         * Drop a client that cannot keep up. Completing the emitter waits for a send in
+         * flight (the emitter is synchronized), so it runs on a dispatcher thread; the
+         * container then fails the blocked write.
+         */
+        void disconnect(String reason) {
+            if (!subscribers.remove(this)) {
+                return;
+            }
+            synchronized (buffer) {
+                buffer.clear();
+            }
+            log.warn("Disconnecting {} from the notification stream: {}", admin, reason);
+            dispatcher.execute(() -> {
+                try {
+                    emitter.completeWithError(new IOException("Notification stream client too slow: " + reason));
+                } catch (Exception e) {
+                    log.debug("Could not complete notification stream for {}", admin, e);
+                }
+            });
+        }
+
+        private void drain() {
+            while (true) {
+                Set<DataWithMediaType> next;
+                synchronized (buffer) {
+                    next = buffer.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    sendingSince = System.nanoTime();
+                    emitter.send(next);
+                    sendingSince = 0;
+                } catch (IOException | IllegalStateException e) {
+                    sendingSince = 0;
+                    // Client went away
+                    subscribers.remove(this);
+                    synchronized (buffer) {
+                        buffer.clear();
+                        draining = false;
+                    }
+                    return;
+                }
+            }
+        }
+    }
+}
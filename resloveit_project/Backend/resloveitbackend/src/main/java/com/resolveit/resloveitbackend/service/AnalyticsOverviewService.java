@@ -0,0 +1,95 @@
+package com.resolveit.resloveitbackend.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Builds the whole admin analytics page in one call by running each
+ * AnalyticsService section concurrently on a small bounded pool.
+ * The pool is kept below the Hikari pool size so overview requests can't starve other requests of connections.
+ */
+@Service
+@Slf4j
+public class AnalyticsOverviewService {
+
+    private final AnalyticsService analyticsService;
+    private final ExecutorService executor;
+
+    public AnalyticsOverviewService(AnalyticsService analyticsService,
+                                    @Value("${analytics.overview.threads:5}") int threads) {
+        this.analyticsService = analyticsService;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "analytics-overview-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Dashboard, categories, priorities, officer workload and trends in one payload,
+     * with per-section timings (ms). A failing section is reported without failing the others.
+     */
+    public Map<String, Object> getOverview(int trendDays) {
+        long start = System.nanoTime();
+
+        Map<String, CompletableFuture<Section>> futures = new LinkedHashMap<>();
+        futures.put("dashboard", run(analyticsService::getDashboardStatistics));
+        futures.put("categories", run(() -> analyticsService.getCategoryDistribution(null)));
+        futures.put("priorities", run(() -> analyticsService.getPriorityDistribution(null)));
+        futures.put("officerWorkload", run(analyticsService::getOfficerWorkload));
+        futures.put("trends", run(() -> analyticsService.getTrendData(trendDays)));
+
+        Map<String, Object> overview = new LinkedHashMap<>();
+        Map<String, Object> timings = new LinkedHashMap<>();
+        Map<String, Object> errors = new LinkedHashMap<>();
+        futures.forEach((name, future) -> {
+            Section section = future.join();
+            timings.put(name, section.elapsedMs);
+            if (section.error != null) {
+                errors.put(name, section.error);
+                overview.put(name, null);
+            } else {
+                overview.put(name, section.data);
+            }
+        });
+
+        timings.put("total", (System.nanoTime() - start) / 1_000_000);
+        overview.put("timings", timings);
+        if (!errors.isEmpty()) {
+            overview.put("errors", errors);
+        }
+        return overview;
+    }
+
+    private CompletableFuture<Section> run(Supplier<Object> supplier) {
+        return CompletableFuture.supplyAsync(() -> {
+            long sectionStart = System.nanoTime();
+            try {
+                Object data = supplier.get();
+                return new Section(data, null, (System.nanoTime() - sectionStart) / 1_000_000);
+            } catch (Exception e) {
+                log.error("Error computing analytics overview section", e);
+                return new Section(null, e.getMessage(), (System.nanoTime() - sectionStart) / 1_000_000);
+            }
+        }, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record Section(Object data, String error, long elapsedMs) {
+    }
+}
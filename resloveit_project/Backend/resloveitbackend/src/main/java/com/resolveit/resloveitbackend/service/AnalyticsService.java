@@ -1,14 +1,18 @@
 package com.resolveit.resloveitbackend.service;
 
-import com.resolveit.resloveitbackend.Model.Complaint;
 import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.dto.DaySummaryDTO;
+import com.resolveit.resloveitbackend.dto.SLAMetricsDTO;
+import com.resolveit.resloveitbackend.repository.ComplaintEscalationRepository;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -18,40 +22,49 @@ public class AnalyticsService {
 
     private final ComplaintRepository complaintRepository;
     private final SLAService slaService;
+    private final ComplaintCounterService counterService;
+    private final ReportService reportService;
+    private final DailyRollupService dailyRollupService;
+    private final OfficerWorkloadService officerWorkloadService;
+    private final ResultCache resultCache;
+    private final ComplaintEscalationRepository escalationRepository;
 
-    public AnalyticsService(ComplaintRepository complaintRepository, SLAService slaService) {
+    public AnalyticsService(ComplaintRepository complaintRepository,
+                            SLAService slaService,
+                            ComplaintCounterService counterService,
+                            ReportService reportService,
+                            DailyRollupService dailyRollupService,
+                            OfficerWorkloadService officerWorkloadService,
+                            ResultCache resultCache,
+                            ComplaintEscalationRepository escalationRepository) {
         this.complaintRepository = complaintRepository;
         this.slaService = slaService;
+        this.counterService = counterService;
+        this.reportService = reportService;
+        this.dailyRollupService = dailyRollupService;
+        this.officerWorkloadService = officerWorkloadService;
+        this.resultCache = resultCache;
+        this.escalationRepository = escalationRepository;
     }
 
     /**
      * Get comprehensive dashboard statistics
+     * Status/priority counts come from the in-memory counters (no table scan)
      */
     public Map<String, Object> getDashboardStatistics() {
-        List<Complaint> allComplaints = complaintRepository.findAll();
-        
-        long total = allComplaints.size();
-        long pending = allComplaints.stream()
-                .filter(c -> c.getStatus() == ComplaintStatus.PENDING)
-                .count();
-        long assigned = allComplaints.stream()
-                .filter(c -> c.getStatus() == ComplaintStatus.ASSIGNED)
-                .count();
-        long inProgress = allComplaints.stream()
-                .filter(c -> c.getStatus() == ComplaintStatus.IN_PROGRESS)
-                .count();
-        long resolved = allComplaints.stream()
-                .filter(c -> c.getStatus() == ComplaintStatus.RESOLVED)
-                .count();
-        long overdue = complaintRepository.countOverdueComplaints();
-        
-        long highPriority = allComplaints.stream()
-                .filter(c -> c.getPriority() == ComplaintPriority.HIGH)
-                .count();
-        
-        Double avgResolutionHours = complaintRepository.findAverageResolutionTimeHours();
+        return resultCache.get("dashboard", this::computeDashboardStatistics);
+    }
+
+    private Map<String, Object> computeDashboardStatistics() {
+        long total = counterService.getTotal();
+        long pending = counterService.getStatusCount(ComplaintStatus.PENDING);
+        long assigned = counterService.getStatusCount(ComplaintStatus.ASSIGNED);
+        long inProgress = counterService.getStatusCount(ComplaintStatus.IN_PROGRESS);
+        long resolved = counterService.getStatusCount(ComplaintStatus.RESOLVED);
+        long highPriority = counterService.getPriorityCount(ComplaintPriority.HIGH);
         
-        SLAService.SLAMetrics slaMetrics = slaService.getSLAMetrics();
+        // overdue, average resolution time and compliance all come from the SLA metrics snapshot
+        SLAMetricsDTO slaMetrics = slaService.getSLAMetrics();
 
         Map<String, Object> stats = new HashMap<>();
         stats.put("total", total);
@@ -59,19 +72,69 @@ public class AnalyticsService {
         stats.put("assigned", assigned);
         stats.put("inProgress", inProgress);
         stats.put("resolved", resolved);
-        stats.put("overdue", overdue);
+        stats.put("overdue", slaMetrics.getOverdueComplaints());
         stats.put("highPriority", highPriority);
-        stats.put("avgResolutionHours", avgResolutionHours != null ? Math.round(avgResolutionHours * 10) / 10.0 : 0);
+        stats.put("avgResolutionHours", slaMetrics.getAvgResolutionHours());
         stats.put("slaCompliance", slaMetrics.getSlaComplianceRate());
         
         return stats;
     }
 
+    /**
+     * Get today's summary for the admin dashboard
+     * One aggregate query over complaints + one report count
+     */
+    public DaySummaryDTO getDaySummary() {
+        return resultCache.get("day-summary", this::computeDaySummary);
+    }
+
+    private DaySummaryDTO computeDaySummary() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime startOfDay = today.atStartOfDay();
+
+        DaySummaryDTO summary = complaintRepository.getDaySummary(startOfDay);
+        summary.setReportsSubmittedToday(reportService.getReportCountSince(startOfDay));
+        summary.setEscalationsToday(escalationRepository.countByEscalatedAtGreaterThanEqual(startOfDay));
+        summary.setEscalationsThisWeek(escalationRepository.countByEscalatedAtGreaterThanEqual(
+                today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).atStartOfDay()));
+        return summary;
+    }
+
+    /**
+     * Get admin notification badge counts
+     */
+    public Map<String, Long> getNotificationCounts() {
+        return resultCache.get("notification-counts", this::computeNotificationCounts);
+    }
+
+    private Map<String, Long> computeNotificationCounts() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<String, Long> counts = new HashMap<>();
+
+        // New complaints (last 24 hours)
+        counts.put("newComplaints", complaintRepository.countBySubmittedAtAfter(now.minusHours(24)));
+
+        // Pending reports
+        counts.put("pendingReports", reportService.getPendingReportCount());
+
+        // High alerts (SLA due within the next 2 hours)
+        counts.put("highAlerts", complaintRepository.countComplaintsDueSoon(now, now.plusHours(2)));
+
+        return counts;
+    }
+
     /**
      * Get category distribution
+     * All-time when days is null, otherwise complaints submitted in the last N days (from the daily rollup)
      */
-    public List<Map<String, Object>> getCategoryDistribution() {
-        List<Object[]> results = complaintRepository.findComplaintCountByCategory();
+    public List<Map<String, Object>> getCategoryDistribution(Integer days) {
+        return resultCache.get("categories:" + days, () -> computeCategoryDistribution(days));
+    }
+
+    private List<Map<String, Object>> computeCategoryDistribution(Integer days) {
+        List<Object[]> results = days == null
+                ? complaintRepository.findComplaintCountByCategory()
+                : dailyRollupService.getCategoryTotals(LocalDate.now().minusDays(days));
         
         return results.stream()
                 .map(row -> {
@@ -85,83 +148,51 @@ public class AnalyticsService {
 
     /**
      * Get priority distribution
+     * All-time when days is null (in-memory counters), otherwise from the daily rollup
      */
-    public Map<String, Long> getPriorityDistribution() {
-        List<Complaint> complaints = complaintRepository.findAll();
-        
-        return complaints.stream()
-                .collect(Collectors.groupingBy(
-                        c -> c.getPriority().name(),
-                        Collectors.counting()
-                ));
+    public Map<String, Long> getPriorityDistribution(Integer days) {
+        return resultCache.get("priorities:" + days, () -> computePriorityDistribution(days));
+    }
+
+    private Map<String, Long> computePriorityDistribution(Integer days) {
+        Map<String, Long> distribution = new HashMap<>();
+        if (days == null) {
+            counterService.getPriorityCounts().forEach((priority, count) -> {
+                if (count > 0) {
+                    distribution.put(priority.name(), count);
+                }
+            });
+            return distribution;
+        }
+
+        for (Object[] row : dailyRollupService.getPriorityTotals(LocalDate.now().minusDays(days))) {
+            distribution.put(((ComplaintPriority) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        return distribution;
     }
 
     /**
      * Get officer workload statistics
+     * Served from the in-memory workload table maintained by OfficerWorkloadService
      */
     public List<Map<String, Object>> getOfficerWorkload() {
-        List<Complaint> assignedComplaints = complaintRepository.findAll().stream()
-                .filter(c -> c.getAssignedTo() != null)
-                .collect(Collectors.toList());
-
-        Map<String, List<Complaint>> byOfficer = assignedComplaints.stream()
-                .collect(Collectors.groupingBy(Complaint::getAssignedTo));
-
-        return byOfficer.entrySet().stream()
-                .map(entry -> {
-                    String officer = entry.getKey();
-                    List<Complaint> complaints = entry.getValue();
-                    
-                    Map<String, Object> workload = new HashMap<>();
-                    workload.put("officer", officer);
-                    workload.put("total", complaints.size());
-                    workload.put("assigned", complaints.stream()
-                            .filter(c -> c.getStatus() == ComplaintStatus.ASSIGNED)
-                            .count());
-                    workload.put("inProgress", complaints.stream()
-                            .filter(c -> c.getStatus() == ComplaintStatus.IN_PROGRESS)
-                            .count());
-                    workload.put("resolved", complaints.stream()
-                            .filter(c -> c.getStatus() == ComplaintStatus.RESOLVED)
-                            .count());
-                    workload.put("overdue", complaints.stream()
-                            .filter(Complaint::isOverdue)
-                            .count());
-                    
-                    return workload;
-                })
-                .collect(Collectors.toList());
+        return officerWorkloadService.getWorkloadSnapshot();
     }
 
     /**
      * Get trend data for last N days
+     * Reads the daily rollup: "resolved" is the number closed on that day
      */
     public List<Map<String, Object>> getTrendData(int days) {
-        LocalDateTime startDate = LocalDateTime.now().minusDays(days);
-        List<Complaint> complaints = complaintRepository.findBySubmittedAtBetween(
-                startDate, 
-                LocalDateTime.now()
-        );
-
-        Map<LocalDate, List<Complaint>> byDate = complaints.stream()
-                .collect(Collectors.groupingBy(c -> c.getSubmittedAt().toLocalDate()));
-
-        return byDate.entrySet().stream()
-                .sorted(Map.Entry.comparingByKey())
-                .map(entry -> {
-                    LocalDate date = entry.getKey();
-                    List<Complaint> dayComplaints = entry.getValue();
-                    
+        List<Object[]> rows = dailyRollupService.getDailyTrend(LocalDate.now().minusDays(days));
+
+        return rows.stream()
+                .map(row -> {
                     Map<String, Object> dayData = new HashMap<>();
-                    dayData.put("date", date.toString());
-                    dayData.put("submitted", dayComplaints.size());
-                    dayData.put("resolved", dayComplaints.stream()
-                            .filter(c -> c.getStatus() == ComplaintStatus.RESOLVED)
-                            .count());
-                    dayData.put("high_priority", dayComplaints.stream()
-                            .filter(c -> c.getPriority() == ComplaintPriority.HIGH)
-                            .count());
-                    
+                    dayData.put("date", row[0].toString());
+                    dayData.put("submitted", ((Number) row[1]).longValue());
+                    dayData.put("resolved", ((Number) row[2]).longValue());
+                    dayData.put("high_priority", ((Number) row[3]).longValue());
                     return dayData;
                 })
                 .collect(Collectors.toList());
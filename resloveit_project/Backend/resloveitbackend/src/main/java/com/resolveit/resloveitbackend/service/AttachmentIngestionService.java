@@ -0,0 +1,209 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.Attachment;
+import com.resolveit.resloveitbackend.repository.AttachmentRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.*;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Two-phase attachment ingestion so uploads never hold a database connection:
+ * 1. stage() streams each upload into the staging directory (channel to channel,
+ *    hashing on the fly) before any transaction is opened;
+ * 2. inside the short submit transaction, record() stores the metadata and promote()
+ *    renames the staged files into the owner's upload directory.
+ * Staged files left behind by failed or interrupted submissions are removed by the janitor.
+ */
+@Service
+@Slf4j
+public class AttachmentIngestionService {
+
+    private static final long TRANSFER_CHUNK = 8L * 1024 * 1024;
+
+    private final AttachmentRepository attachmentRepository;
+    private final Path stagingDir;
+    private final long stagingMaxAgeMs;
+
+    public AttachmentIngestionService(AttachmentRepository attachmentRepository,
+                                      @Value("${uploads.staging.max-age-ms:3600000}") long stagingMaxAgeMs) {
+        this.attachmentRepository = attachmentRepository;
+        this.stagingDir = Paths.get(System.getProperty("user.dir"), "uploads", "staging");
+        this.stagingMaxAgeMs = stagingMaxAgeMs;
+        try {
+            Files.createDirectories(stagingDir);
+        } catch (IOException e) {
+            log.error("Failed to create staging directory {}", stagingDir, e);
+        }
+    }
+
+    /**
+     * A file streamed into the staging directory, with its size and SHA-256
+     */
+    public record StagedUpload(Path path, String fileName, String originalName,
+                               String contentType, long size, String sha256) {
+    }
+
+    /**
+     * Stream the non-empty uploads into staging. On failure nothing stays staged.
+     */
+    public List<StagedUpload> stage(MultipartFile[] files) throws IOException {
+        List<StagedUpload> staged = new ArrayList<>();
+        if (files == null) {
+            return staged;
+        }
+        try {
+            for (MultipartFile file : files) {
+                if (file != null && !file.isEmpty()) {
+                    staged.add(stage(file));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            discard(staged, null);
+            throw e;
+        }
+        return staged;
+    }
+
+    private StagedUpload stage(MultipartFile file) throws IOException {
+        String originalName = file.getOriginalFilename();
+        String fileName = UUID.randomUUID() + getFileExtension(originalName);
+        Path target = stagingDir.resolve(fileName);
+        MessageDigest digest = sha256();
+
+        long size = 0;
+        try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+             ReadableByteChannel source = Channels.newChannel(in);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            long transferred;
+            while ((transferred = out.transferFrom(source, size, TRANSFER_CHUNK)) > 0) {
+                size += transferred;
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+
+        return new StagedUpload(target, fileName, originalName, file.getContentType(),
+                size, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Save attachment metadata for the owner - call inside the submit transaction
+     */
+    public void record(List<StagedUpload> staged, String ownerType, Long ownerId) {
+        if (staged.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Attachment> attachments = new ArrayList<>(staged.size());
+        for (StagedUpload upload : staged) {
+            attachments.add(Attachment.builder()
+                    .ownerType(ownerType)
+                    .ownerId(ownerId)
+                    .fileName(upload.fileName())
+                    .originalName(upload.originalName())
+                    .contentType(upload.contentType())
+                    .sizeBytes(upload.size())
+                    .sha256(upload.sha256())
+                    .createdAt(now)
+                    .build());
+        }
+        attachmentRepository.saveAll(attachments);
+    }
+
+    /**
+     * Move staged files into the upload directory (a rename on the same file system).
+     * Call as the last step of the submit transaction so a failed move rolls it back.
+     */
+    public void promote(List<StagedUpload> staged, Path uploadDir) {
+        for (StagedUpload upload : staged) {
+            Path target = uploadDir.resolve(upload.fileName());
+            try {
+                try {
+                    Files.move(upload.path(), target, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(upload.path(), target);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to store attachment " + upload.originalName(), e);
+            }
+        }
+    }
+
+    /**
+     * Remove the files of a failed submission - staged or already promoted into uploadDir
+     */
+    public void discard(List<StagedUpload> staged, Path uploadDir) {
+        for (StagedUpload upload : staged) {
+            try {
+                Files.deleteIfExists(upload.path());
+                if (uploadDir != null) {
+                    Files.deleteIfExists(uploadDir.resolve(upload.fileName()));
+                }
+            } catch (IOException e) {
+                log.warn("Could not delete attachment {} of failed submission", upload.fileName(), e);
+            }
+        }
+    }
+
+    /**
+     * Janitor - delete staged files older than uploads.staging.max-age-ms
+     * (left by submissions that crashed between staging and commit)
+     */
+    @Scheduled(fixedDelayString = "${uploads.staging.janitor-ms:900000}",
+               initialDelayString = "${uploads.staging.janitor-ms:900000}")
+    public void purgeStaleStagedFiles() {
+        long cutoff = System.currentTimeMillis() - stagingMaxAgeMs;
+        int deleted = 0;
+        try (Stream<Path> paths = Files.list(stagingDir)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                try {
+                    if (Files.getLastModifiedTime(path).toMillis() < cutoff && Files.deleteIfExists(path)) {
+                        deleted++;
+                    }
+                } catch (IOException e) {
+                    log.warn("Could not delete stale staged file {}", path, e);
+                }
+            }
+        } catch (IOException e) {
+            log.error("Error cleaning staging directory {}", stagingDir, e);
+        }
+        if (deleted > 0) {
+            log.info("Deleted {} stale staged uploads", deleted);
+        }
+    }
+
+    private static String getFileExtension(String filename) {
+        if (filename == null || !filename.contains(".")) {
+            return "";
+        }
+        return filename.substring(filename.lastIndexOf("."));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
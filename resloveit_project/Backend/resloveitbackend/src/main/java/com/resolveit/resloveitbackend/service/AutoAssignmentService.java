@@ -0,0 +1,265 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.dto.BulkAssignmentRequest;
+import com.resolveit.resloveitbackend.dto.BulkItemResultDTO;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import com.resolveit.resloveitbackend.repository.OfficerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Load-aware automatic assignment of new (PENDING, unassigned) complaints.
+ * Officer loads - open complaints weighted by priority (HIGH 3, MEDIUM 2, LOW 1) - come from
+ * OfficerWorkloadService. Each pass copies them into a table sorted by load per department and
+ * overall, so the least-loaded officer is found in O(log n) and picks made earlier in the pass count.
+ * A complaint goes to the least-loaded officer of its category's department; an officer
+ * of another department is only chosen when cheaper even after the cross-department penalty.
+ * Runs as a micro-batch every minute (when enabled) through ComplaintService.bulkAssign,
+ * so each pass is one transaction and every assignment starts the RESOLUTION SLA.
+ */
+@Service
+@Slf4j
+public class AutoAssignmentService {
+
+    public static final String AUTO_ASSIGNER = "auto-assigner";
+
+    private final ComplaintRepository complaintRepository;
+    private final OfficerRepository officerRepository;
+    private final ComplaintService complaintService;
+    private final OfficerWorkloadService workloadService;
+    private final SchedulerLeaseService leaseService;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int maxLoad;
+    private final int crossDepartmentPenalty;
+    private final Duration leaseTtl;
+    private final Map<String, String> categoryDepartments = new HashMap<>();
+
+    /** One pass (or officer refresh) at a time */
+    private final ReentrantLock passLock = new ReentrantLock();
+
+    /** Officer email -> normalized department */
+    private volatile Map<String, String> officerDepartments = Map.of();
+
+    public AutoAssignmentService(ComplaintRepository complaintRepository,
+                                 OfficerRepository officerRepository,
+                                 ComplaintService complaintService,
+                                 OfficerWorkloadService workloadService,
+                                 SchedulerLeaseService leaseService,
+                                 @Value("${assignment.auto.enabled:false}") boolean enabled,
+                                 @Value("${assignment.auto.interval-ms:60000}") long intervalMs,
+                                 @Value("${assignment.auto.batch-size:200}") int batchSize,
+                                 @Value("${assignment.auto.max-load:40}") int maxLoad,
+                                 @Value("${assignment.auto.cross-department-penalty:20}") int crossDepartmentPenalty,
+                                 @Value("${assignment.auto.category-departments:Transportation:Transport}") String mapping) {
+        this.complaintRepository = complaintRepository;
+        this.officerRepository = officerRepository;
+        this.complaintService = complaintService;
+        this.workloadService = workloadService;
+        this.leaseService = leaseService;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.maxLoad = maxLoad;
+        this.crossDepartmentPenalty = crossDepartmentPenalty;
+        this.leaseTtl = Duration.ofMillis(intervalMs * 9 / 10);
+        for (String pair : mapping.split(",")) {
+            String[] parts = pair.split(":");
+            if (parts.length == 2 && !parts[0].isBlank() && !parts[1].isBlank()) {
+                categoryDepartments.put(normalize(parts[0]), normalize(parts[1]));
+            }
+        }
+    }
+
+    /**
+     * Re-read officers and their departments at startup and periodically (default every 5 minutes)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${assignment.auto.officers-refresh-ms:300000}",
+               initialDelayString = "${assignment.auto.officers-refresh-ms:300000}")
+    public void refreshOfficers() {
+        passLock.lock();
+        try {
+            Map<String, String> departments = new HashMap<>();
+            for (Object[] row : officerRepository.findEmailsAndDepartments()) {
+                departments.put((String) row[0], normalize((String) row[1]));
+            }
+            officerDepartments = departments;
+            log.debug("Auto-assignment officer list refreshed - {} officers", departments.size());
+        } finally {
+            passLock.unlock();
+        }
+    }
+
+    /**
+     * Scheduled micro-batch - one node at a time, only when assignment.auto.enabled=true
+     */
+    @Scheduled(fixedDelayString = "${assignment.auto.interval-ms:60000}",
+               initialDelayString = "${assignment.auto.interval-ms:60000}")
+    public void scheduledPass() {
+        if (!enabled || !leaseService.tryAcquire("auto-assignment", leaseTtl)) {
+            return;
+        }
+        Map<String, Object> result = runPass();
+        if ((Integer) result.get("assigned") > 0 || (Integer) result.get("unassignable") > 0) {
+            log.info("Auto-assignment pass: {}", result);
+        }
+    }
+
+    /**
+     * Assign the oldest unassigned PENDING complaints (up to batch-size) in one transaction.
+     * The workload table picks up the assignments from their change events once bulkAssign commits.
+     */
+    public Map<String, Object> runPass() {
+        passLock.lock();
+        try {
+            List<Object[]> candidates = complaintRepository.findUnassignedPending(PageRequest.of(0, batchSize));
+            LoadTable table = new LoadTable();
+            List<BulkAssignmentRequest.Item> items = new ArrayList<>();
+            int unassignable = 0;
+            for (Object[] row : candidates) {
+                ComplaintPriority priority = (ComplaintPriority) row[2];
+                int weight = OfficerWorkloadService.weight(priority);
+                OfficerLoad officer = table.pick(departmentOf((String) row[1]), weight);
+                if (officer == null) {
+                    unassignable++;
+                    continue;
+                }
+                table.adjust(officer, weight);
+                BulkAssignmentRequest.Item item = new BulkAssignmentRequest.Item();
+                item.setComplaintId((Long) row[0]);
+                item.setOfficerEmail(officer.email);
+                item.setPriority(priority.name());
+                items.add(item);
+            }
+
+            int assigned = 0;
+            List<BulkItemResultDTO> failed = new ArrayList<>();
+            if (!items.isEmpty()) {
+                for (BulkItemResultDTO result : complaintService.bulkAssign(items, AUTO_ASSIGNER)) {
+                    if (result.isSuccess()) {
+                        assigned++;
+                    } else {
+                        failed.add(result);
+                    }
+                }
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("candidates", candidates.size());
+            result.put("assigned", assigned);
+            result.put("unassignable", unassignable);
+            result.put("failed", failed);
+            return result;
+        } finally {
+            passLock.unlock();
+        }
+    }
+
+    /**
+     * Current load per officer, least loaded first
+     */
+    public List<Map<String, Object>> getOfficerLoads() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (OfficerLoad officer : new LoadTable().byLoad) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("officer", officer.email);
+            row.put("department", officer.department);
+            row.put("load", officer.load);
+            row.put("atCapacity", officer.load >= maxLoad);
+            result.add(row);
+        }
+        return result;
+    }
+
+    // -------------------- load table --------------------
+
+    /**
+     * Officers with their current loads, sorted per department and overall - built per pass
+     */
+    private class LoadTable {
+        private final Map<String, TreeSet<OfficerLoad>> byDepartment = new HashMap<>();
+        private final TreeSet<OfficerLoad> byLoad = new TreeSet<>(OfficerLoad.ORDER);
+
+        LoadTable() {
+            Map<String, Long> loads = workloadService.getOpenLoads();
+            officerDepartments.forEach((email, department) ->
+                    index(new OfficerLoad(email, department, loads.getOrDefault(email, 0L))));
+        }
+
+        /**
+         * Least-loaded officer with room for the complaint: the department's first officer,
+         * unless the overall first officer is cheaper even with the cross-department penalty
+         */
+        OfficerLoad pick(String department, int weight) {
+            OfficerLoad best = null;
+            TreeSet<OfficerLoad> officers = byDepartment.get(department);
+            if (officers != null && !officers.isEmpty() && officers.first().load + weight <= maxLoad) {
+                best = officers.first();
+            }
+            if (!byLoad.isEmpty()) {
+                OfficerLoad any = byLoad.first();
+                if (any.load + weight <= maxLoad
+                        && (best == null || any.load + crossDepartmentPenalty < best.load)) {
+                    best = any;
+                }
+            }
+            return best;
+        }
+
+        void adjust(OfficerLoad officer, int delta) {
+            unindex(officer);
+            officer.load = Math.max(0, officer.load + delta);
+            index(officer);
+        }
+
+        private void index(OfficerLoad officer) {
+            byLoad.add(officer);
+            byDepartment.computeIfAbsent(officer.department, d -> new TreeSet<>(OfficerLoad.ORDER)).add(officer);
+        }
+
+        private void unindex(OfficerLoad officer) {
+            byLoad.remove(officer);
+            TreeSet<OfficerLoad> officers = byDepartment.get(officer.department);
+            if (officers != null) {
+                officers.remove(officer);
+            }
+        }
+    }
+
+    private String departmentOf(String category) {
+        String normalized = normalize(category);
+        return categoryDepartments.getOrDefault(normalized, normalized);
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.trim().toLowerCase() : "";
+    }
+
+    /**
+     * Mutable load entry - must be removed from the sorted sets before its load changes
+     */
+    private static class OfficerLoad {
+        static final Comparator<OfficerLoad> ORDER =
+                Comparator.<OfficerLoad>comparingLong(o -> o.load).thenComparing(o -> o.email);
+
+        private final String email;
+        private final String department;
+        private long load;
+
+        OfficerLoad(String email, String department, long load) {
+            this.email = email;
+            this.department = department;
+            this.load = load;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-memory per-status / per-priority complaint counters.
+ * Seeded from grouped count queries at startup, updated from ComplaintChangedEvent
+ * after each commit, and reconciled against the database periodically to correct drift.
+ * The reconcile swap and the per-event deltas take the same monitor, so a change is never
+ * half-applied across reset and not-yet-reset cells; the count queries run outside it.
+ */
+@Service
+@Slf4j
+public class ComplaintCounterService {
+
+    private final ComplaintRepository complaintRepository;
+
+    private final LongAdder total = new LongAdder();
+    private final Map<ComplaintStatus, LongAdder> byStatus = new EnumMap<>(ComplaintStatus.class);
+    private final Map<ComplaintPriority, LongAdder> byPriority = new EnumMap<>(ComplaintPriority.class);
+
+    public ComplaintCounterService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+        for (ComplaintStatus status : ComplaintStatus.values()) {
+            byStatus.put(status, new LongAdder());
+        }
+        for (ComplaintPriority priority : ComplaintPriority.values()) {
+            byPriority.put(priority, new LongAdder());
+        }
+    }
+
+    /**
+     * Seed counters once the application (and schema) is ready
+     */
+    @Order(ResultCache.VIEW_ORDER)
+    @EventListener({ApplicationReadyEvent.class, ComplaintsImportedEvent.class})
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Reload counters from the database (default every 5 minutes)
+     */
+    @Scheduled(fixedDelayString = "${analytics.counters.reconcile-ms:300000}",
+               initialDelayString = "${analytics.counters.reconcile-ms:300000}")
+    public void reconcile() {
+        long[] statusCounts = new long[ComplaintStatus.values().length];
+        long[] priorityCounts = new long[ComplaintPriority.values().length];
+
+        List<Object[]> statusRows = complaintRepository.findComplaintCountByStatus();
+        for (Object[] row : statusRows) {
+            if (row[0] != null) {
+                statusCounts[((ComplaintStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+            }
+        }
+        List<Object[]> priorityRows = complaintRepository.findComplaintCountByPriority();
+        for (Object[] row : priorityRows) {
+            if (row[0] != null) {
+                priorityCounts[((ComplaintPriority) row[0]).ordinal()] = ((Number) row[1]).longValue();
+            }
+        }
+
+        long drift = 0;
+        long newTotal = 0;
+        synchronized (this) {
+            for (ComplaintStatus status : ComplaintStatus.values()) {
+                drift += Math.abs(reset(byStatus.get(status), statusCounts[status.ordinal()]));
+                newTotal += statusCounts[status.ordinal()];
+            }
+            for (ComplaintPriority priority : ComplaintPriority.values()) {
+                drift += Math.abs(reset(byPriority.get(priority), priorityCounts[priority.ordinal()]));
+            }
+            reset(total, newTotal);
+        }
+
+        if (drift > 0) {
+            log.info("Complaint counters reconciled - total={}, corrected drift of {}", newTotal, drift);
+        }
+    }
+
+    /**
+     * Apply the delta of a committed complaint change
+     */
+    @Order(ResultCache.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintChangedEvent.State before = event.getBefore();
+        ComplaintChangedEvent.State after = event.getAfter();
+
+        if (before == null) {
+            total.increment();
+        } else {
+            decrement(byStatus, before.getStatus());
+            decrement(byPriority, before.getPriority());
+        }
+        increment(byStatus, after.getStatus());
+        increment(byPriority, after.getPriority());
+    }
+
+    public long getTotal() {
+        return total.sum();
+    }
+
+    public long getStatusCount(ComplaintStatus status) {
+        return byStatus.get(status).sum();
+    }
+
+    public long getPriorityCount(ComplaintPriority priority) {
+        return byPriority.get(priority).sum();
+    }
+
+    public Map<ComplaintStatus, Long> getStatusCounts() {
+        Map<ComplaintStatus, Long> counts = new EnumMap<>(ComplaintStatus.class);
+        byStatus.forEach((status, adder) -> counts.put(status, adder.sum()));
+        return counts;
+    }
+
+    public Map<ComplaintPriority, Long> getPriorityCounts() {
+        Map<ComplaintPriority, Long> counts = new EnumMap<>(ComplaintPriority.class);
+        byPriority.forEach((priority, adder) -> counts.put(priority, adder.sum()));
+        return counts;
+    }
+
+    private static <K> void increment(Map<K, LongAdder> counters, K key) {
+        if (key != null) {
+            counters.get(key).increment();
+        }
+    }
+
+    private static <K> void decrement(Map<K, LongAdder> counters, K key) {
+        if (key != null) {
+            counters.get(key).decrement();
+        }
+    }
+
+    /**
+     * Set an adder to a value and return how far off it was
+     */
+    private static long reset(LongAdder adder, long value) {
+        long previous = adder.sumThenReset();
+        adder.add(value);
+        return previous - value;
+    }
+}
@@ -0,0 +1,601 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk complaint import (legacy call-center migrations) from CSV or NDJSON.
+ * The request body is streamed to a temp file (up to import.complaints.max-bytes) and imported
+ * on a background thread:
+ * records are parsed as a stream, submitters are resolved with one IN query per chunk
+ * (cached for the whole job), and each chunk is written as a single JDBC batch INSERT
+ * in its own transaction. Complaint ids are IDENTITY, which stops Hibernate from batching,
+ * so the insert bypasses JPA - rewriteBatchedStatements turns the batch into multi-row INSERTs.
+ *
+ * Record fields: email, title, category (required); description, priority, submittedAt,
+ * status, assignedTo, assignedAt, closedAt, isAnonymous, address, city, state, pincode, latitude,
+ * longitude (optional). assignedAt defaults to submittedAt for RESOLVED rows and to the import
+ * time for open ones.
+ *
+ * Imported history must not look like live work that just breached: RESOLVED rows carry their
+ * closedAt and no SLA clock; open assigned rows get a resolution SLA that starts at import time;
+ * unassigned PENDING rows whose triage deadline has already passed are imported as triage-breached
+ * with no live clock (no sla_start / sla_due), so they are neither escalated nor notified.
+ */
+@Service
+@Slf4j
+public class ComplaintImportService {
+
+    private static final String INSERT_COMPLAINT =
+            "INSERT INTO complaints (title, description, category, status, priority, escalation_level, " +
+            "sla_start, triage_sla_due, resolution_sla_due, response_sla_due, sla_due, sla_phase, triage_breached, " +
+            "priority_set_at, assigned_to, assigned_at, closed_at, created_by, submitted_by, submitted_at, updated_at, " +
+            "version, is_anonymous, address, city, state, pincode, latitude, longitude, user_id) " +
+            "VALUES (?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_KEPT_JOBS = 20;
+
+    private final UserRepository userRepository;
+    private final SLAService slaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+    private final long maxBytes;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final ExecutorService worker;
+
+    public ComplaintImportService(UserRepository userRepository,
+                                  SLAService slaService,
+                                  JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${import.complaints.chunk-size:2000}") int chunkSize,
+                                  @Value("${import.complaints.max-bytes:209715200}") long maxBytes) {
+        this.userRepository = userRepository;
+        this.slaService = slaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+        this.maxBytes = maxBytes;
+        // One import at a time - further uploads queue behind it
+        this.worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "complaint-import");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Progress of one import job - written by the import thread, read by the progress endpoint
+     */
+    @Getter
+    public static class ImportJob {
+        private final String id;
+        private final String format;
+        private final String fileName;
+        private final String startedBy;
+        private final LocalDateTime queuedAt = LocalDateTime.now();
+        private volatile String status = "QUEUED"; // QUEUED | RUNNING | COMPLETED | FAILED
+        private volatile LocalDateTime startedAt;
+        private volatile LocalDateTime finishedAt;
+        private volatile long recordsRead;
+        private volatile long imported;
+        private volatile long rejected;
+        private volatile int chunks;
+        private volatile double rowsPerSecond;
+        private volatile String failure;
+        @Getter(AccessLevel.NONE)
+        private final List<String> errors = new ArrayList<>();
+
+        ImportJob(String id, String format, String fileName, String startedBy) {
+            this.id = id;
+            this.format = format;
+            this.fileName = fileName;
+            this.startedBy = startedBy;
+        }
+
+        void reject(long recordNumber, String reason) {
+            rejected++;
+            synchronized (errors) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add("Record " + recordNumber + ": " + reason);
+                }
+            }
+        }
+
+        /**
+         * First rejected records with their reasons
+         */
+        public List<String> getErrors() {
+            synchronized (errors) {
+                return List.copyOf(errors);
+            }
+        }
+    }
+
+    /**
+     * Queue an import of the request body - format is "csv" or "ndjson".
+     * The body is copied to a temp file before the request returns; a body over maxBytes is rejected.
+     */
+    public ImportJob startImport(InputStream body, String format, String fileName, String startedBy) throws IOException {
+        String normalized = format != null ? format.trim().toLowerCase() : "";
+        if (!normalized.equals("csv") && !normalized.equals("ndjson")) {
+            throw new IllegalArgumentException("Unsupported import format: " + format + " (expected csv or ndjson)");
+        }
+
+        Path copy = Files.createTempFile("complaint-import-", "." + normalized);
+        long size;
+        try {
+            size = copyBounded(body, copy);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(copy);
+            throw e;
+        }
+        if (size == 0) {
+            Files.deleteIfExists(copy);
+            throw new IllegalArgumentException("Import file is empty");
+        }
+
+        ImportJob job = new ImportJob(UUID.randomUUID().toString(), normalized, fileName, startedBy);
+        jobs.put(job.getId(), job);
+        trimJobs();
+        worker.submit(() -> run(job, copy));
+        log.info("Complaint import {} queued by {} ({}, {} bytes)", job.getId(), startedBy, normalized, size);
+        return job;
+    }
+
+    private long copyBounded(InputStream body, Path target) throws IOException {
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (OutputStream out = Files.newOutputStream(target)) {
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new IllegalArgumentException("Import file exceeds " + maxBytes + " bytes");
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    public Optional<ImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public List<ImportJob> getJobs() {
+        List<ImportJob> result = new ArrayList<>(jobs.values());
+        result.sort(Comparator.comparing(ImportJob::getQueuedAt).reversed());
+        return result;
+    }
+
+    private void run(ImportJob job, Path file) {
+        job.status = "RUNNING";
+        job.startedAt = LocalDateTime.now();
+        long startNanos = System.nanoTime();
+        Map<String, Long> userIds = new HashMap<>();
+        Set<String> unknownUsers = new HashSet<>();
+        LocalDate[] submittedRange = new LocalDate[2];
+        LocalDate[] closedRange = new LocalDate[2];
+
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Iterator<Map<String, String>> records = "csv".equals(job.format)
+                    ? new CsvRecordIterator(reader)
+                    : new NdjsonRecordIterator(objectMapper, reader);
+
+            List<Map<String, String>> chunk = new ArrayList<>(chunkSize);
+            while (records.hasNext()) {
+                chunk.add(records.next());
+                if (chunk.size() == chunkSize) {
+                    importChunk(job, chunk, userIds, unknownUsers, submittedRange, closedRange);
+                    job.rowsPerSecond = rate(job.imported, startNanos);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(job, chunk, userIds, unknownUsers, submittedRange, closedRange);
+            }
+            job.status = "COMPLETED";
+        } catch (Exception e) {
+            log.error("Complaint import {} failed after {} records", job.id, job.recordsRead, e);
+            job.failure = e.getMessage();
+            job.status = "FAILED";
+        } finally {
+            job.rowsPerSecond = rate(job.imported, startNanos);
+            job.finishedAt = LocalDateTime.now();
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete import file {}", file, e);
+            }
+        }
+
+        log.info("Complaint import {} {} - {} imported, {} rejected, {} rows/s",
+                job.id, job.status, job.imported, job.rejected, job.rowsPerSecond);
+        if (job.imported > 0) {
+            eventPublisher.publishEvent(new ComplaintsImportedEvent(
+                    (int) job.imported, submittedRange[0], submittedRange[1], closedRange[0], closedRange[1]));
+        }
+    }
+
+    /**
+     * Validate a chunk, resolve its submitters and insert it as one JDBC batch
+     */
+    private void importChunk(ImportJob job, List<Map<String, String>> chunk, Map<String, Long> userIds,
+                             Set<String> unknownUsers, LocalDate[] submittedRange, LocalDate[] closedRange) {
+        long firstRecord = job.recordsRead + 1;
+        job.recordsRead += chunk.size();
+
+        // One lookup for every submitter not seen in earlier chunks
+        Set<String> missing = new HashSet<>();
+        for (Map<String, String> record : chunk) {
+            String email = trimToNull(record.get("email"));
+            if (email != null && !userIds.containsKey(email) && !unknownUsers.contains(email)) {
+                missing.add(email);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Object[] row : userRepository.findIdsByEmailIn(missing)) {
+                userIds.put((String) row[0], (Long) row[1]);
+            }
+            missing.removeAll(userIds.keySet());
+            unknownUsers.addAll(missing);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> batch = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            try {
+                Object[] args = toInsertArgs(chunk.get(i), userIds, now, submittedRange, closedRange);
+                batch.add(args);
+            } catch (IllegalArgumentException e) {
+                job.reject(firstRecord + i, e.getMessage());
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            chunkTransaction.executeWithoutResult(tx -> jdbcTemplate.batchUpdate(INSERT_COMPLAINT, batch));
+            job.imported += batch.size();
+        }
+        job.chunks++;
+    }
+
+    private Object[] toInsertArgs(Map<String, String> record, Map<String, Long> userIds,
+                                  LocalDateTime now, LocalDate[] submittedRange, LocalDate[] closedRange) {
+        String email = required(record, "email");
+        String title = required(record, "title");
+        String category = required(record, "category");
+        Long userId = userIds.get(email);
+        if (userId == null) {
+            throw new IllegalArgumentException("User not found: " + email);
+        }
+
+        ComplaintPriority priority = ComplaintPriority.MEDIUM;
+        String priorityValue = trimToNull(record.get("priority"));
+        if (priorityValue != null) {
+            try {
+                priority = ComplaintPriority.valueOf(priorityValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid priority: " + priorityValue);
+            }
+        }
+
+        LocalDateTime submittedAt = parseDateTime(record.get("submittedAt"), "submittedAt", now);
+        ComplaintStatus status = ComplaintStatus.PENDING;
+        String statusValue = trimToNull(record.get("status"));
+        if (statusValue != null) {
+            try {
+                status = ComplaintStatus.valueOf(statusValue.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + statusValue);
+            }
+        }
+        String assignedTo = truncate(trimToNull(record.get("assignedTo")), 255);
+        LocalDateTime closedAt = parseDateTime(record.get("closedAt"), "closedAt", null);
+        if (status == ComplaintStatus.RESOLVED) {
+            if (closedAt == null) {
+                throw new IllegalArgumentException("Missing closedAt for a RESOLVED complaint");
+            }
+            if (closedAt.isBefore(submittedAt)) {
+                throw new IllegalArgumentException("closedAt is before submittedAt");
+            }
+        } else if (closedAt != null) {
+            throw new IllegalArgumentException("closedAt given for a " + status + " complaint");
+        }
+        if ((status == ComplaintStatus.ASSIGNED || status == ComplaintStatus.IN_PROGRESS) && assignedTo == null) {
+            throw new IllegalArgumentException("Missing assignedTo for a " + status + " complaint");
+        }
+        if (status == ComplaintStatus.PENDING && assignedTo != null) {
+            throw new IllegalArgumentException("assignedTo given for a PENDING complaint");
+        }
+        LocalDateTime assignedAt = parseDateTime(record.get("assignedAt"), "assignedAt", null);
+        if (assignedAt != null) {
+            if (assignedTo == null) {
+                throw new IllegalArgumentException("assignedAt given without assignedTo");
+            }
+            if (assignedAt.isBefore(submittedAt) || (closedAt != null && assignedAt.isAfter(closedAt))) {
+                throw new IllegalArgumentException("assignedAt is outside submittedAt..closedAt");
+            }
+        } else if (assignedTo != null) {
+            assignedAt = status == ComplaintStatus.RESOLVED ? submittedAt : now;
+        }
+
+        // SLA clocks - see the class comment
+        LocalDateTime triageDue = slaService.calculateTriageSlaDue(submittedAt);
+        LocalDateTime slaStart = submittedAt;
+        LocalDateTime slaDue = null;
+        LocalDateTime resolutionDue = null;
+        LocalDateTime responseDue = null;
+        LocalDateTime prioritySetAt = null;
+        String phase = assignedTo != null ? "RESOLUTION" : "TRIAGE";
+        boolean triageBreached = false;
+        if (status == ComplaintStatus.PENDING) {
+            if (triageDue.isAfter(now)) {
+                slaDue = triageDue;
+            } else {
+                triageBreached = true;
+                slaStart = null;
+            }
+        } else if (status != ComplaintStatus.RESOLVED) {
+            prioritySetAt = now;
+            resolutionDue = slaService.calculateSlaDue(priority, now);
+            responseDue = slaService.calculateResponseSlaDue(priority, now);
+            slaDue = resolutionDue;
+        }
+
+        widen(submittedRange, submittedAt.toLocalDate());
+        if (closedAt != null) {
+            widen(closedRange, closedAt.toLocalDate());
+        }
+
+        return new Object[]{
+                truncate(title, 255), record.get("description"), truncate(category, 255),
+                status.name(), priority.name(),
+                toTimestamp(slaStart), toTimestamp(triageDue), toTimestamp(resolutionDue), toTimestamp(responseDue),
+                toTimestamp(slaDue), phase, triageBreached, toTimestamp(prioritySetAt), assignedTo, toTimestamp(assignedAt),
+                toTimestamp(closedAt),
+                email, email, Timestamp.valueOf(submittedAt), Timestamp.valueOf(now),
+                parseBoolean(record.get("isAnonymous")),
+                truncate(trimToNull(record.get("address")), 500),
+                truncate(trimToNull(record.get("city")), 100),
+                truncate(trimToNull(record.get("state")), 100),
+                truncate(trimToNull(record.get("pincode")), 10),
+                parseDecimal(record.get("latitude"), "latitude"),
+                parseDecimal(record.get("longitude"), "longitude"),
+                userId
+        };
+    }
+
+    private static void widen(LocalDate[] range, LocalDate date) {
+        if (range[0] == null || date.isBefore(range[0])) {
+            range[0] = date;
+        }
+        if (range[1] == null || date.isAfter(range[1])) {
+            range[1] = date;
+        }
+    }
+
+    private static String required(Map<String, String> record, String field) {
+        String value = trimToNull(record.get(field));
+        if (value == null) {
+            throw new IllegalArgumentException("Missing " + field);
+        }
+        return value;
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    private static LocalDateTime parseDateTime(String value, String field, LocalDateTime fallback) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return fallback;
+        }
+        try {
+            return trimmed.length() == 10
+                    ? LocalDate.parse(trimmed).atStartOfDay()
+                    : LocalDateTime.parse(trimmed.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + trimmed);
+        }
+    }
+
+    private static boolean parseBoolean(String value) {
+        String trimmed = trimToNull(value);
+        return trimmed != null && (trimmed.equalsIgnoreCase("true") || trimmed.equals("1")
+                || trimmed.equalsIgnoreCase("yes"));
+    }
+
+    private static BigDecimal parseDecimal(String value, String field) {
+        String trimmed = trimToNull(value);
+        if (trimmed == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(trimmed);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + field + ": " + trimmed);
+        }
+    }
+
+    private static String trimToNull(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    private static double rate(long rows, long startNanos) {
+        double seconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        return seconds > 0 ? Math.round(rows / seconds * 10) / 10.0 : 0.0;
+    }
+
+    private void trimJobs() {
+        if (jobs.size() <= MAX_KEPT_JOBS) {
+            return;
+        }
+        jobs.values().stream()
+                .filter(job -> job.finishedAt != null)
+                .sorted(Comparator.comparing(ImportJob::getQueuedAt))
+                .limit(jobs.size() - MAX_KEPT_JOBS)
+                .toList()
+                .forEach(job -> jobs.remove(job.getId()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * Streaming RFC 4180 reader: first row is the header, quoted fields may contain
+     * separators, doubled quotes and line breaks
+     */
+    static class CsvRecordIterator implements Iterator<Map<String, String>> {
+        private final Reader reader;
+        private final List<String> header;
+        private List<String> nextRow;
+
+        CsvRecordIterator(Reader reader) throws IOException {
+            this.reader = reader;
+            List<String> headerRow = readRow();
+            if (headerRow == null) {
+                throw new IllegalArgumentException("CSV file has no header row");
+            }
+            this.header = headerRow.stream().map(String::trim).toList();
+            this.nextRow = readRow();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextRow != null;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            if (nextRow == null) {
+                throw new NoSuchElementException();
+            }
+            Map<String, String> record = new HashMap<>();
+            for (int i = 0; i < header.size() && i < nextRow.size(); i++) {
+                record.put(header.get(i), nextRow.get(i));
+            }
+            try {
+                nextRow = readRow();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return record;
+        }
+
+        /**
+         * Next non-blank row, or null at end of input
+         */
+        private List<String> readRow() throws IOException {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            boolean any = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                any = true;
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        if (reader.read() == '"') {
+                            field.append('"');
+                        } else {
+                            reader.reset();
+                            quoted = false;
+                        }
+                    } else {
+                        field.append((char) c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    if (fields.isEmpty() && field.length() == 0) {
+                        continue; // blank line
+                    }
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+            }
+            if (!any || (c == -1 && fields.isEmpty() && field.length() == 0)) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * One JSON object per line, read incrementally by Jackson
+     */
+    static class NdjsonRecordIterator implements Iterator<Map<String, String>> {
+        private final MappingIterator<Map<String, Object>> values;
+
+        NdjsonRecordIterator(ObjectMapper objectMapper, Reader reader) throws IOException {
+            this.values = objectMapper.readerForMapOf(Object.class).readValues(reader);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return values.hasNext();
+        }
+
+        @Override
+        public Map<String, String> next() {
+            Map<String, String> record = new HashMap<>();
+            values.next().forEach((key, value) -> record.put(key, value != null ? value.toString() : null));
+            return record;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.dto.ComplaintFilter;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory index of the hot complaint fields used by admin filters.
+ * One row per complaint: status/priority as byte columns, category/city as dictionary ids,
+ * times as epoch seconds, plus a bitmap per status, priority, category and city.
+ * Filters run as bitmap intersections followed by a scan of the date columns over the survivors.
+ * Rebuilt from a streamed projection at startup and periodically; updated from ComplaintChangedEvent in between.
+ */
+@Service
+@Slf4j
+public class ComplaintIndexService {
+
+    private final ComplaintRepository complaintRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private Columns columns = new Columns(0);
+
+    public ComplaintIndexService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    /**
+     * Rebuild the index from the database at startup and then periodically (default every 10 minutes)
+     */
+    @EventListener({ApplicationReadyEvent.class, SlaDeadlinesRecalculatedEvent.class, ComplaintsImportedEvent.class})
+    @Scheduled(fixedDelayString = "${analytics.index.reconcile-ms:600000}",
+               initialDelayString = "${analytics.index.reconcile-ms:600000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Columns rebuilt = new Columns((int) Math.max(1024, complaintRepository.count()));
+        try (Stream<Object[]> rows = complaintRepository.streamIndexRows()) {
+            rows.forEach(row -> rebuilt.put((Long) row[0], (ComplaintStatus) row[1], (ComplaintPriority) row[2],
+                    (String) row[3], (String) row[4], (LocalDateTime) row[5], (LocalDateTime) row[6]));
+        }
+
+        lock.writeLock().lock();
+        try {
+            columns = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Complaint index rebuilt with {} rows", rebuilt.size);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintChangedEvent.State after = event.getAfter();
+        lock.writeLock().lock();
+        try {
+            columns.put(event.getComplaintId(), after.getStatus(), after.getPriority(), after.getCategory(),
+                    after.getCity(), after.getSubmittedAt(), after.getSlaDue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Number of complaints matching the filter
+     */
+    public long count(ComplaintFilter filter) {
+        lock.readLock().lock();
+        try {
+            return columns.evaluate(filter).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of complaints matching the filter, ascending, at most {@code limit}
+     */
+    public List<Long> findIds(ComplaintFilter filter, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = columns.evaluate(filter);
+            List<Long> ids = new ArrayList<>(Math.min(limit, matches.cardinality()));
+            for (int row = matches.nextSetBit(0); row >= 0 && ids.size() < limit; row = matches.nextSetBit(row + 1)) {
+                ids.add(columns.ids[row]);
+            }
+            ids.sort(null);
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Count plus per-status and per-priority breakdown of the complaints matching the filter
+     */
+    public Map<String, Object> summarize(ComplaintFilter filter) {
+        lock.readLock().lock();
+        try {
+            BitSet matches = columns.evaluate(filter);
+
+            Map<String, Long> byStatus = new LinkedHashMap<>();
+            for (ComplaintStatus status : ComplaintStatus.values()) {
+                byStatus.put(status.name(), intersectionCount(matches, columns.statusBits[status.ordinal()]));
+            }
+            Map<String, Long> byPriority = new LinkedHashMap<>();
+            for (ComplaintPriority priority : ComplaintPriority.values()) {
+                byPriority.put(priority.name(), intersectionCount(matches, columns.priorityBits[priority.ordinal()]));
+            }
+
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", (long) matches.cardinality());
+            summary.put("byStatus", byStatus);
+            summary.put("byPriority", byPriority);
+            return summary;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static long intersectionCount(BitSet a, BitSet b) {
+        BitSet both = (BitSet) a.clone();
+        both.and(b);
+        return both.cardinality();
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time == null ? Columns.NO_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * The column arrays and bitmaps - guarded by the service's lock
+     */
+    private static class Columns {
+        static final long NO_TIME = Long.MIN_VALUE;
+
+        int size;
+        long[] ids;
+        byte[] status;
+        byte[] priority;
+        int[] category;
+        int[] city;
+        long[] submittedAt;
+        long[] slaDue;
+
+        final Map<Long, Integer> rowById = new HashMap<>();
+        final BitSet[] statusBits = new BitSet[ComplaintStatus.values().length];
+        final BitSet[] priorityBits = new BitSet[ComplaintPriority.values().length];
+        final Dictionary categories = new Dictionary();
+        final Dictionary cities = new Dictionary();
+
+        Columns(int capacity) {
+            capacity = Math.max(capacity, 16);
+            ids = new long[capacity];
+            status = new byte[capacity];
+            priority = new byte[capacity];
+            category = new int[capacity];
+            city = new int[capacity];
+            submittedAt = new long[capacity];
+            slaDue = new long[capacity];
+            for (int i = 0; i < statusBits.length; i++) {
+                statusBits[i] = new BitSet(capacity);
+            }
+            for (int i = 0; i < priorityBits.length; i++) {
+                priorityBits[i] = new BitSet(capacity);
+            }
+        }
+
+        /**
+         * Insert or overwrite the row for a complaint, moving its bits if a value changed
+         */
+        void put(Long id, ComplaintStatus newStatus, ComplaintPriority newPriority, String newCategory,
+                 String newCity, LocalDateTime newSubmittedAt, LocalDateTime newSlaDue) {
+            Integer existing = rowById.get(id);
+            int row;
+            if (existing == null) {
+                row = size++;
+                ensureCapacity(size);
+                rowById.put(id, row);
+                ids[row] = id;
+            } else {
+                row = existing;
+                statusBits[status[row]].clear(row);
+                priorityBits[priority[row]].clear(row);
+                categories.bits(category[row]).clear(row);
+                cities.bits(city[row]).clear(row);
+            }
+
+            status[row] = (byte) (newStatus != null ? newStatus : ComplaintStatus.PENDING).ordinal();
+            priority[row] = (byte) (newPriority != null ? newPriority : ComplaintPriority.MEDIUM).ordinal();
+            category[row] = categories.idOf(newCategory);
+            city[row] = cities.idOf(newCity);
+            submittedAt[row] = toEpoch(newSubmittedAt);
+            slaDue[row] = toEpoch(newSlaDue);
+
+            statusBits[status[row]].set(row);
+            priorityBits[priority[row]].set(row);
+            categories.bits(category[row]).set(row);
+            cities.bits(city[row]).set(row);
+        }
+
+        BitSet evaluate(ComplaintFilter filter) {
+            BitSet result = new BitSet(size);
+            result.set(0, size);
+
+            if (filter.getStatuses() != null && !filter.getStatuses().isEmpty()) {
+                BitSet any = new BitSet(size);
+                filter.getStatuses().forEach(s -> any.or(statusBits[s.ordinal()]));
+                result.and(any);
+            }
+            if (filter.getPriorities() != null && !filter.getPriorities().isEmpty()) {
+                BitSet any = new BitSet(size);
+                filter.getPriorities().forEach(p -> any.or(priorityBits[p.ordinal()]));
+                result.and(any);
+            }
+            if (filter.getCategories() != null && !filter.getCategories().isEmpty()) {
+                result.and(categories.union(filter.getCategories(), size));
+            }
+            if (filter.getCities() != null && !filter.getCities().isEmpty()) {
+                result.and(cities.union(filter.getCities(), size));
+            }
+
+            narrow(result, submittedAt, filter.getSubmittedFrom(), filter.getSubmittedTo());
+            narrow(result, slaDue, filter.getSlaDueFrom(), filter.getSlaDueTo());
+            return result;
+        }
+
+        /**
+         * Clear rows whose time column falls outside [from, to) - rows without a time never match a range
+         */
+        private static void narrow(BitSet result, long[] times, LocalDateTime from, LocalDateTime to) {
+            if (from == null && to == null) {
+                return;
+            }
+            long lower = from != null ? toEpoch(from) : NO_TIME + 1;
+            long upper = to != null ? toEpoch(to) : Long.MAX_VALUE;
+            for (int row = result.nextSetBit(0); row >= 0; row = result.nextSetBit(row + 1)) {
+                long time = times[row];
+                if (time == NO_TIME || time < lower || time >= upper) {
+                    result.clear(row);
+                }
+            }
+        }
+
+        private void ensureCapacity(int required) {
+            if (required <= ids.length) {
+                return;
+            }
+            int capacity = Math.max(required, ids.length * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            status = Arrays.copyOf(status, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+            category = Arrays.copyOf(category, capacity);
+            city = Arrays.copyOf(city, capacity);
+            submittedAt = Arrays.copyOf(submittedAt, capacity);
+            slaDue = Arrays.copyOf(slaDue, capacity);
+        }
+    }
+
+    /**
+     * String column dictionary - id 0 is reserved for null/blank
+     */
+    private static class Dictionary {
+        private final Map<String, Integer> idsByValue = new HashMap<>();
+        private final List<BitSet> bitsById = new ArrayList<>(List.of(new BitSet()));
+
+        int idOf(String value) {
+            if (value == null || value.isBlank()) {
+                return 0;
+            }
+            return idsByValue.computeIfAbsent(value.trim(), v -> {
+                bitsById.add(new BitSet());
+                return bitsById.size() - 1;
+            });
+        }
+
+        BitSet bits(int id) {
+            return bitsById.get(id);
+        }
+
+        BitSet union(Set<String> values, int size) {
+            BitSet any = new BitSet(size);
+            for (String value : values) {
+                Integer id = value == null ? null : idsByValue.get(value.trim());
+                if (id != null) {
+                    any.or(bitsById.get(id));
+                }
+            }
+            return any;
+        }
+    }
+}
@@ -1,10 +1,19 @@
 package com.resolveit.resloveitbackend.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resloveitbackend.Model.Attachment;
 import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintEscalation;
 import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
 import com.resolveit.resloveitbackend.Model.User;
+import com.resolveit.resloveitbackend.dto.BulkAssignmentRequest;
+import com.resolveit.resloveitbackend.dto.BulkItemResultDTO;
 import com.resolveit.resloveitbackend.dto.ComplaintRequest;
+import com.resolveit.resloveitbackend.dto.ComplaintStateDTO;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintEscalationRepository;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
 import com.resolveit.resloveitbackend.repository.UserRepository;
 import com.resolveit.resloveitbackend.repository.ComplaintReplyRepository;
@@ -12,19 +21,31 @@ import com.resolveit.resloveitbackend.repository.ComplaintNoteRepository;
 import com.resolveit.resloveitbackend.service.ReportService;
 import com.resolveit.resloveitbackend.service.SLAService;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @Slf4j
@@ -36,6 +57,13 @@ public class ComplaintService {
     private final ReportService reportService;
     private final ComplaintReplyRepository complaintReplyRepository;
     private final ComplaintNoteRepository complaintNoteRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttachmentIngestionService attachmentIngestion;
+    private final TransactionTemplate submitTransaction;
+    private final DuplicateDetectionService duplicateDetection;
+    private final JdbcTemplate jdbcTemplate;
+    private final ComplaintEscalationRepository escalationRepository;
+    private final ObjectMapper objectMapper;
     // File upload directory
     private static final String UPLOAD_DIR =
             System.getProperty("user.dir") + "/uploads/complaints/";
@@ -44,13 +72,27 @@ public class ComplaintService {
                             SLAService slaService,
                             ReportService reportService,
                             ComplaintReplyRepository complaintReplyRepository,
-                            ComplaintNoteRepository complaintNoteRepository) {
+                            ComplaintNoteRepository complaintNoteRepository,
+                            ApplicationEventPublisher eventPublisher,
+                            AttachmentIngestionService attachmentIngestion,
+                            PlatformTransactionManager transactionManager,
+                            DuplicateDetectionService duplicateDetection,
+                            JdbcTemplate jdbcTemplate,
+                            ComplaintEscalationRepository escalationRepository,
+                            ObjectMapper objectMapper) {
         this.complaintRepository = complaintRepository;
         this.userRepository = userRepository;
         this.slaService = slaService;
         this.reportService = reportService;
         this.complaintReplyRepository = complaintReplyRepository;
         this.complaintNoteRepository = complaintNoteRepository;
+        this.eventPublisher = eventPublisher;
+        this.attachmentIngestion = attachmentIngestion;
+        this.submitTransaction = new TransactionTemplate(transactionManager);
+        this.duplicateDetection = duplicateDetection;
+        this.jdbcTemplate = jdbcTemplate;
+        this.escalationRepository = escalationRepository;
+        this.objectMapper = objectMapper;
         // Ensure upload directory exists
         File uploadDir = new File(UPLOAD_DIR);
         if (!uploadDir.exists()) {
@@ -83,6 +125,8 @@ public class ComplaintService {
         // ✅ Set TRIAGE SLA (24hrs fixed, no priority needed)
         slaService.initializeTriageSLA(complaint);
         Complaint saved = complaintRepository.save(complaint);
+        publishChange(saved, null);
+        saved.setPossibleDuplicates(duplicateDetection.indexSubmitted(saved));
         log.info("✅ Complaint {} submitted - Triage due: {}",
                 saved.getId(), saved.getTriageSlaDue());
         return saved;
@@ -90,8 +134,9 @@ public class ComplaintService {
     /**
      * NEW: Submit complaint with files + location (multipart flow)
      * Mirrors your old logic but also initializes SLA.
+     * Files are streamed to staging first; the transaction (and its DB connection)
+     * only covers saving the complaint and attachment metadata.
      */
-    @Transactional
     public Complaint submitComplaintWithFiles(
             String email,
             String title,
@@ -106,6 +151,30 @@ public class ComplaintService {
             Double longitude,
             MultipartFile[] files
     ) throws IOException {
+        List<AttachmentIngestionService.StagedUpload> staged = attachmentIngestion.stage(files);
+        try {
+            return submitTransaction.execute(tx -> saveSubmittedComplaint(email, title, description, category,
+                    isAnonymous, address, city, state, pincode, latitude, longitude, staged));
+        } catch (RuntimeException e) {
+            attachmentIngestion.discard(staged, Paths.get(UPLOAD_DIR));
+            throw e;
+        }
+    }
+
+    private Complaint saveSubmittedComplaint(
+            String email,
+            String title,
+            String description,
+            String category,
+            Boolean isAnonymous,
+            String address,
+            String city,
+            String state,
+            String pincode,
+            Double latitude,
+            Double longitude,
+            List<AttachmentIngestionService.StagedUpload> staged
+    ) {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new RuntimeException("User not found: " + email));
         Complaint complaint = new Complaint();
@@ -127,28 +196,21 @@ public class ComplaintService {
         complaint.setPincode(pincode);
         complaint.setLatitude(latitude != null ? new java.math.BigDecimal(latitude) : null);
         complaint.setLongitude(longitude != null ? new java.math.BigDecimal(longitude) : null);
-        // Handle file uploads
-        if (files != null && files.length > 0) {
+        // Attachments were already streamed to staging
+        if (!staged.isEmpty()) {
             List<String> filePaths = new ArrayList<>();
-            for (MultipartFile file : files) {
-                if (file != null && !file.isEmpty()) {
-                    String originalFilename = file.getOriginalFilename();
-                    String extension = (originalFilename != null && originalFilename.contains("."))
-                            ? originalFilename.substring(originalFilename.lastIndexOf("."))
-                            : "";
-                    String filename = UUID.randomUUID().toString() + extension;
-                    Path filePath = Paths.get(UPLOAD_DIR + filename);
-                    Files.write(filePath, file.getBytes());
-                    filePaths.add(filename);
-                }
-            }
-            if (!filePaths.isEmpty()) {
-                complaint.setAttachments(filePaths);
+            for (AttachmentIngestionService.StagedUpload upload : staged) {
+                filePaths.add(upload.fileName());
             }
+            complaint.setAttachments(filePaths);
         }
         // Initialize SLA as well for file-based complaints
         slaService.initializeTriageSLA(complaint);
         Complaint saved = complaintRepository.save(complaint);
+        attachmentIngestion.record(staged, Attachment.COMPLAINT, saved.getId());
+        attachmentIngestion.promote(staged, Paths.get(UPLOAD_DIR));
+        publishChange(saved, null);
+        saved.setPossibleDuplicates(duplicateDetection.indexSubmitted(saved));
         log.info("✅ Complaint {} (multipart) submitted - Triage due: {}",
                 saved.getId(), saved.getTriageSlaDue());
         return saved;
@@ -178,6 +240,8 @@ public class ComplaintService {
         }
         slaService.initializeTriageSLA(complaint);
         Complaint saved = complaintRepository.save(complaint);
+        publishChange(saved, null);
+        saved.setPossibleDuplicates(duplicateDetection.indexSubmitted(saved));
         log.info("✅ Complaint {} (legacy submit) submitted - Triage due: {}",
                 saved.getId(), saved.getTriageSlaDue());
         return saved;
@@ -186,27 +250,29 @@ public class ComplaintService {
      * Update complaint priority and recalculate SLA
      */
     @Transactional
-    public Complaint updatePriority(Long id, ComplaintPriority priority, String updatedBy) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
+    public ComplaintStateDTO updatePriority(Long id, ComplaintPriority priority, String updatedBy) {
+        ComplaintStateDTO complaint = loadState(id);
+        ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
         ComplaintPriority oldPriority = complaint.getPriority();
         complaint.setPriority(priority);
-        complaint.setUpdatedBy(updatedBy);
         // Recalculate SLA if priority changed
         if (oldPriority != priority) {
             slaService.recalculateSLA(complaint, priority);
             log.info("Complaint {} priority changed from {} to {} by {}",
                     id, oldPriority, priority, updatedBy);
         }
-        return complaintRepository.save(complaint);
+        LocalDateTime now = LocalDateTime.now();
+        checkApplied(complaint, complaintRepository.applyPriority(id, complaint.getVersion(), priority,
+                complaint.getPrioritySetAt(), complaint.getResolutionSlaDue(), complaint.getSlaDue(),
+                complaint.getResponseSladue(), updatedBy, now));
+        return applied(complaint, before, updatedBy, now);
     }
     /**
      * Update complaint status
      */
     @Transactional
-    public Complaint updateStatus(Long id, ComplaintStatus status, String updatedBy) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
+    public ComplaintStateDTO updateStatus(Long id, ComplaintStatus status, String updatedBy) {
+        ComplaintStateDTO complaint = loadState(id);
         // 🔒 CRITICAL: Enforce report requirement
         if (status == ComplaintStatus.RESOLVED) {
             boolean hasReport = reportService.hasReport(id);
@@ -217,97 +283,185 @@ public class ComplaintService {
                 );
             }
         }
+        ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
         ComplaintStatus oldStatus = complaint.getStatus();
-        complaint.setStatus(status);
-        complaint.setUpdatedBy(updatedBy);
-        switch (status) {
-            case ASSIGNED:
-                if (complaint.getAssignedAt() == null) {
-                    complaint.setAssignedAt(LocalDateTime.now());
-                }
-                break;
-            case IN_PROGRESS:
-                if (complaint.getAcknowledgedAt() == null) {
-                    complaint.setAcknowledgedAt(LocalDateTime.now());
-                }
-                break;
-            case RESOLVED:
-                complaint.setClosedAt(LocalDateTime.now());
-                complaint.setClosedBy(updatedBy);
-                break;
-            default:
-                break;
-        }
+        LocalDateTime now = LocalDateTime.now();
+        changeStatus(complaint, status, updatedBy, now);
+        checkApplied(complaint, complaintRepository.applyStatus(id, complaint.getVersion(), status,
+                complaint.getAssignedAt(), complaint.getAcknowledgedAt(), complaint.getClosedAt(),
+                complaint.getClosedBy(), updatedBy, now));
         log.info("Complaint {} status changed from {} to {} by {}",
                 id, oldStatus, status, updatedBy);
-        return complaintRepository.save(complaint);
+        return applied(complaint, before, updatedBy, now);
     }
     /**
      * ✅ CORRECT: Assign officer + set priority → Transition to RESOLUTION SLA
      */
     @Transactional
-    public Complaint assignComplaintWithPriority(Long id, String officerEmail,
-                                                 ComplaintPriority priority, String assignedBy) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
-        // Update assignment
-        complaint.setAssignedTo(officerEmail);
-        complaint.setAssignedAt(LocalDateTime.now());
-        complaint.setStatus(ComplaintStatus.ASSIGNED);
-        complaint.setPriority(priority); // ✅ NOW priority is actually set
-        complaint.setUpdatedBy(assignedBy);
-       
-        // ✅ Transition from TRIAGE to RESOLUTION SLA
-        slaService.transitionToResolutionSLA(complaint, priority);
+    public ComplaintStateDTO assignComplaintWithPriority(Long id, String officerEmail,
+                                                         ComplaintPriority priority, String assignedBy) {
+        ComplaintStateDTO complaint = loadState(id);
+        ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
+        changeAssignment(complaint, officerEmail, priority);
+        ComplaintStateDTO updated = saveAssignment(complaint, before, assignedBy);
         log.info("✅ Complaint {} assigned to {} with priority {} - Resolution due: {}",
                 id, officerEmail, priority, complaint.getResolutionSlaDue());
-        return complaintRepository.save(complaint);
+        return updated;
     }
     /**
      * Assign complaint to officer
      */
     @Transactional
-    public Complaint assignComplaint(Long id, String officerEmail, String assignedBy) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
-        complaint.setAssignedTo(officerEmail);
-        complaint.setAssignedAt(LocalDateTime.now());
-        complaint.setStatus(ComplaintStatus.ASSIGNED);
-        complaint.setUpdatedBy(assignedBy);
+    public ComplaintStateDTO assignComplaint(Long id, String officerEmail, String assignedBy) {
+        ComplaintStateDTO complaint = loadState(id);
+        ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
+        changeAssignment(complaint, officerEmail, null);
+        ComplaintStateDTO updated = saveAssignment(complaint, before, assignedBy);
         log.info("Complaint {} assigned to {} by {}", id, officerEmail, assignedBy);
-        return complaintRepository.save(complaint);
+        return updated;
     }
     /**
      * Close complaint with resolution notes
      */
     @Transactional
-    public Complaint closeComplaint(Long id, String resolutionNotes, String closedBy) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
-        complaint.setStatus(ComplaintStatus.RESOLVED);
-        complaint.setResolutionNotes(resolutionNotes);
-        complaint.setClosedAt(LocalDateTime.now());
-        complaint.setClosedBy(closedBy);
-        complaint.setUpdatedBy(closedBy);
-        log.info("Complaint {} closed by {} - Resolution time: {} hours",
-                id, closedBy, complaint.getResolutionTimeHours());
-        return complaintRepository.save(complaint);
+    public ComplaintStateDTO closeComplaint(Long id, String resolutionNotes, String closedBy) {
+        ComplaintStateDTO complaint = loadState(id);
+        ComplaintStateDTO closed = saveClosure(complaint, resolutionNotes, complaint.getWorkflowState(),
+                complaint.getMergedIntoId(), closedBy);
+        log.info("Complaint {} closed by {} - Resolution time: {} hours", id, closedBy,
+                closed.getSubmittedAt() != null
+                        ? java.time.Duration.between(closed.getSubmittedAt(), closed.getClosedAt()).toHours() : null);
+        return closed;
+    }
+    /**
+     * Merge duplicate complaints into a primary one.
+     * Each duplicate is resolved with a pointer (mergedIntoId) to the primary;
+     * ids that are missing, already resolved or equal to the primary are skipped.
+     */
+    @Transactional
+    public Map<String, Object> mergeDuplicates(Long primaryId, List<Long> duplicateIds, String mergedBy) {
+        ComplaintStateDTO primary = loadState(primaryId);
+        if (primary.getStatus() == ComplaintStatus.RESOLVED) {
+            throw new RuntimeException("Cannot merge into resolved complaint: " + primaryId);
+        }
+        Map<Long, ComplaintStateDTO> duplicates = new HashMap<>();
+        for (ComplaintStateDTO c : complaintRepository.findStatesByIdIn(duplicateIds)) {
+            duplicates.put(c.getId(), c);
+        }
+        List<Long> merged = new ArrayList<>();
+        Map<Long, String> skipped = new LinkedHashMap<>();
+        for (Long id : new LinkedHashSet<>(duplicateIds)) {
+            ComplaintStateDTO complaint = duplicates.get(id);
+            if (complaint == null) {
+                skipped.put(id, "not found");
+            } else if (id.equals(primaryId)) {
+                skipped.put(id, "is the primary complaint");
+            } else if (complaint.getStatus() == ComplaintStatus.RESOLVED) {
+                skipped.put(id, "already resolved");
+            } else {
+                saveClosure(complaint, "Merged into complaint #" + primaryId + " as a duplicate",
+                        "MERGED", primaryId, mergedBy);
+                merged.add(id);
+            }
+        }
+        log.info("Merged {} duplicate complaints into {} by {} ({} skipped)",
+                merged.size(), primaryId, mergedBy, skipped.size());
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("primaryId", primaryId);
+        result.put("merged", merged);
+        result.put("skipped", skipped);
+        return result;
+    }
+    /**
+     * Assign many complaints in one transaction: one SELECT for all rows, the same
+     * assignment/SLA logic as a single assign, and one JDBC batch of versioned UPDATEs.
+     * Items that are missing, repeated or changed concurrently are reported, not rolled back.
+     */
+    @Transactional
+    public List<BulkItemResultDTO> bulkAssign(List<BulkAssignmentRequest.Item> items, String assignedBy) {
+        Map<Long, ComplaintStateDTO> states = loadStates(items.stream()
+                .map(BulkAssignmentRequest.Item::getComplaintId).toList());
+        LocalDateTime now = LocalDateTime.now();
+        BulkBatch batch = new BulkBatch(items.size());
+        for (BulkAssignmentRequest.Item item : items) {
+            Long id = item.getComplaintId();
+            ComplaintPriority priority = null;
+            if (item.getPriority() != null && !item.getPriority().isBlank()) {
+                try {
+                    priority = ComplaintPriority.valueOf(item.getPriority().trim().toUpperCase());
+                } catch (IllegalArgumentException e) {
+                    batch.fail(id, "Invalid priority. Use: HIGH, MEDIUM, LOW");
+                    continue;
+                }
+            }
+            ComplaintStateDTO complaint = batch.claim(id, states);
+            if (complaint == null) {
+                continue;
+            }
+            ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
+            changeAssignment(complaint, item.getOfficerEmail(), priority);
+            batch.add(complaint, before, new Object[]{
+                    complaint.getAssignedTo(), toTimestamp(complaint.getAssignedAt()), complaint.getStatus().name(),
+                    complaint.getPriority().name(), complaint.getSlaPhase(), complaint.getTriageBreached(),
+                    toTimestamp(complaint.getPrioritySetAt()), toTimestamp(complaint.getResolutionSlaDue()),
+                    toTimestamp(complaint.getSlaDue()), toTimestamp(complaint.getResponseSladue()),
+                    assignedBy, Timestamp.valueOf(now), id, complaint.getVersion()});
+        }
+        List<BulkItemResultDTO> results = batch.execute(BULK_ASSIGN, assignedBy, now);
+        log.info("Bulk assignment by {}: {} of {} complaints assigned",
+                assignedBy, batch.appliedCount, items.size());
+        return results;
+    }
+    /**
+     * Move many complaints to one status in one transaction (same rules as updateStatus,
+     * including the report requirement for RESOLVED)
+     */
+    @Transactional
+    public List<BulkItemResultDTO> bulkUpdateStatus(List<Long> ids, ComplaintStatus status, String updatedBy) {
+        Map<Long, ComplaintStateDTO> states = loadStates(ids);
+        Set<Long> withReport = status == ComplaintStatus.RESOLVED
+                ? reportService.getComplaintIdsWithReport(states.keySet()) : Set.of();
+        LocalDateTime now = LocalDateTime.now();
+        BulkBatch batch = new BulkBatch(ids.size());
+        for (Long id : ids) {
+            if (status == ComplaintStatus.RESOLVED && states.containsKey(id) && !withReport.contains(id)) {
+                batch.fail(id, "Cannot resolve complaint without submitting a report");
+                continue;
+            }
+            ComplaintStateDTO complaint = batch.claim(id, states);
+            if (complaint == null) {
+                continue;
+            }
+            ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
+            changeStatus(complaint, status, updatedBy, now);
+            batch.add(complaint, before, new Object[]{
+                    status.name(), toTimestamp(complaint.getAssignedAt()), toTimestamp(complaint.getAcknowledgedAt()),
+                    toTimestamp(complaint.getClosedAt()), complaint.getClosedBy(),
+                    updatedBy, Timestamp.valueOf(now), id, complaint.getVersion()});
+        }
+        List<BulkItemResultDTO> results = batch.execute(BULK_STATUS, updatedBy, now);
+        log.info("Bulk status change to {} by {}: {} of {} complaints updated",
+                status, updatedBy, batch.appliedCount, ids.size());
+        return results;
     }
     /**
      * Add citizen feedback
      */
     @Transactional
-    public Complaint addFeedback(Long id, Integer rating, String feedback) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
+    public ComplaintStateDTO addFeedback(Long id, Integer rating, String feedback) {
+        ComplaintStateDTO complaint = loadState(id);
         if (complaint.getStatus() != ComplaintStatus.RESOLVED) {
             throw new RuntimeException("Can only rate resolved complaints");
         }
+        LocalDateTime now = LocalDateTime.now();
+        checkApplied(complaint, complaintRepository.applyFeedback(id, complaint.getVersion(), rating, feedback, now));
         complaint.setRating(rating);
         complaint.setFeedback(feedback);
-        complaint.setRatedAt(LocalDateTime.now());
+        complaint.setRatedAt(now);
+        complaint.setVersion(complaint.getVersion() + 1);
+        complaint.setUpdatedAt(now);
         log.info("Complaint {} rated {} stars", id, rating);
-        return complaintRepository.save(complaint);
+        return complaint;
     }
     // ========== EXISTING METHODS ==========
     public List<Complaint> getUserComplaints(String email) {
@@ -325,8 +479,34 @@ public class ComplaintService {
      * Get complaint by ID
      */
     public Complaint getComplaintById(Long id) {
-        return complaintRepository.findById(id)
+        Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Complaint not found with id: " + id));
+        complaint.setEscalationHistory(escalationHistoryJson(id));
+        return complaint;
+    }
+
+    /**
+     * Escalations of a complaint, oldest first, as a JSON array of {escalated_at, level, reason}
+     */
+    private String escalationHistoryJson(Long complaintId) {
+        List<ComplaintEscalation> escalations = escalationRepository.findByComplaintIdOrderByEscalatedAtAsc(complaintId);
+        if (escalations.isEmpty()) {
+            return null;
+        }
+        List<Map<String, Object>> history = new ArrayList<>(escalations.size());
+        for (ComplaintEscalation escalation : escalations) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("escalated_at", escalation.getEscalatedAt().truncatedTo(ChronoUnit.SECONDS)
+                    .format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
+            entry.put("level", escalation.getLevel());
+            entry.put("reason", escalation.getReason());
+            history.add(entry);
+        }
+        try {
+            return objectMapper.writeValueAsString(history);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize escalation history of complaint " + complaintId, e);
+        }
     }
     /**
      * Get complaints needing escalation
@@ -340,11 +520,12 @@ public class ComplaintService {
     // ========== Replies & Notes handling ==========
     @Transactional
     public com.resolveit.resloveitbackend.Model.ComplaintReply addReply(Long complaintId, String content, boolean isAdminReply, String createdBy) {
-        Complaint complaint = complaintRepository.findById(complaintId)
-                .orElseThrow(() -> new RuntimeException("Complaint not found: " + complaintId));
+        if (!complaintRepository.existsById(complaintId)) {
+            throw new RuntimeException("Complaint not found: " + complaintId);
+        }
 
         com.resolveit.resloveitbackend.Model.ComplaintReply reply = com.resolveit.resloveitbackend.Model.ComplaintReply.builder()
-                .complaint(complaint)
+                .complaint(complaintRepository.getReferenceById(complaintId))
                 .content(content)
                 .isAdminReply(isAdminReply)
                 .createdBy(createdBy)
@@ -353,9 +534,8 @@ public class ComplaintService {
         com.resolveit.resloveitbackend.Model.ComplaintReply saved = complaintReplyRepository.save(reply);
 
         // Update first response time for complaint if applicable
-        if (!isAdminReply && complaint.getFirstResponseAt() == null) {
-            complaint.setFirstResponseAt(java.time.LocalDateTime.now());
-            complaintRepository.save(complaint);
+        if (!isAdminReply) {
+            complaintRepository.markFirstResponse(complaintId, LocalDateTime.now());
         }
 
         return saved;
@@ -383,4 +563,188 @@ public class ComplaintService {
     public List<com.resolveit.resloveitbackend.Model.ComplaintNote> getNotes(Long complaintId) {
         return complaintNoteRepository.findByComplaintIdOrderByCreatedAtAsc(complaintId);
     }
-}
\ No newline at end of file
+
+    // ========== Workflow transitions ==========
+    private ComplaintStateDTO loadState(Long id) {
+        return complaintRepository.findStateById(id)
+                .orElseThrow(() -> new RuntimeException("Complaint not found: " + id));
+    }
+
+    /**
+     * A versioned UPDATE that matched no row means the complaint changed since loadState
+     */
+    private void checkApplied(ComplaintStateDTO complaint, int updated) {
+        if (updated == 0) {
+            throw new ObjectOptimisticLockingFailureException(Complaint.class, complaint.getId());
+        }
+    }
+
+    /**
+     * Mirror the UPDATE onto the loaded state and notify listeners - the caller gets the
+     * new state without reloading the row
+     */
+    private ComplaintStateDTO applied(ComplaintStateDTO complaint, ComplaintChangedEvent.State before,
+                                      String updatedBy, LocalDateTime now) {
+        complaint.setVersion(complaint.getVersion() + 1);
+        complaint.setUpdatedBy(updatedBy);
+        complaint.setUpdatedAt(now);
+        eventPublisher.publishEvent(new ComplaintChangedEvent(
+                complaint.getId(), before, ComplaintChangedEvent.State.of(complaint)));
+        return complaint;
+    }
+
+    private Map<Long, ComplaintStateDTO> loadStates(List<Long> ids) {
+        Map<Long, ComplaintStateDTO> states = new HashMap<>();
+        for (ComplaintStateDTO state : complaintRepository.findStatesByIdIn(new HashSet<>(ids))) {
+            states.put(state.getId(), state);
+        }
+        return states;
+    }
+
+    /**
+     * Assign to an officer; with a priority the complaint also moves to its RESOLUTION SLA
+     */
+    private void changeAssignment(ComplaintStateDTO complaint, String officerEmail, ComplaintPriority priority) {
+        complaint.setAssignedTo(officerEmail);
+        complaint.setAssignedAt(LocalDateTime.now());
+        complaint.setStatus(ComplaintStatus.ASSIGNED);
+        if (priority != null) {
+            complaint.setPriority(priority); // ✅ NOW priority is actually set
+            // ✅ Transition from TRIAGE to RESOLUTION SLA
+            slaService.transitionToResolutionSLA(complaint, priority);
+        }
+    }
+
+    private void changeStatus(ComplaintStateDTO complaint, ComplaintStatus status, String updatedBy,
+                              LocalDateTime now) {
+        complaint.setStatus(status);
+        switch (status) {
+            case ASSIGNED:
+                if (complaint.getAssignedAt() == null) {
+                    complaint.setAssignedAt(now);
+                }
+                break;
+            case IN_PROGRESS:
+                if (complaint.getAcknowledgedAt() == null) {
+                    complaint.setAcknowledgedAt(now);
+                }
+                break;
+            case RESOLVED:
+                complaint.setClosedAt(now);
+                complaint.setClosedBy(updatedBy);
+                break;
+            default:
+                break;
+        }
+    }
+
+    private ComplaintStateDTO saveAssignment(ComplaintStateDTO complaint, ComplaintChangedEvent.State before,
+                                             String assignedBy) {
+        LocalDateTime now = LocalDateTime.now();
+        checkApplied(complaint, complaintRepository.applyAssignment(complaint.getId(), complaint.getVersion(),
+                complaint.getAssignedTo(), complaint.getAssignedAt(), complaint.getStatus(),
+                complaint.getPriority(), complaint.getSlaPhase(), complaint.getTriageBreached(),
+                complaint.getPrioritySetAt(), complaint.getResolutionSlaDue(), complaint.getSlaDue(),
+                complaint.getResponseSladue(), assignedBy, now));
+        return applied(complaint, before, assignedBy, now);
+    }
+
+    private ComplaintStateDTO saveClosure(ComplaintStateDTO complaint, String resolutionNotes,
+                                          String workflowState, Long mergedIntoId, String closedBy) {
+        ComplaintChangedEvent.State before = ComplaintChangedEvent.State.of(complaint);
+        LocalDateTime now = LocalDateTime.now();
+        checkApplied(complaint, complaintRepository.applyClosure(complaint.getId(), complaint.getVersion(),
+                resolutionNotes, workflowState, mergedIntoId, closedBy, now));
+        complaint.setStatus(ComplaintStatus.RESOLVED);
+        complaint.setResolutionNotes(resolutionNotes);
+        complaint.setWorkflowState(workflowState);
+        complaint.setMergedIntoId(mergedIntoId);
+        complaint.setClosedAt(now);
+        complaint.setClosedBy(closedBy);
+        return applied(complaint, before, closedBy, now);
+    }
+
+    // ========== Change events ==========
+    private void publishChange(Complaint saved, ComplaintChangedEvent.State before) {
+        eventPublisher.publishEvent(new ComplaintChangedEvent(
+                saved.getId(), before, ComplaintChangedEvent.State.of(saved)));
+    }
+
+    // ========== Bulk operations ==========
+    private static final String BULK_ASSIGN =
+            "UPDATE complaints SET assigned_to = ?, assigned_at = ?, status = ?, priority = ?, sla_phase = ?, " +
+            "triage_breached = ?, priority_set_at = ?, resolution_sla_due = ?, sla_due = ?, response_sla_due = ?, " +
+            "updated_by = ?, updated_at = ?, version = COALESCE(version, 0) + 1 " +
+            "WHERE id = ? AND COALESCE(version, 0) = ?";
+
+    private static final String BULK_STATUS =
+            "UPDATE complaints SET status = ?, assigned_at = ?, acknowledged_at = ?, closed_at = ?, closed_by = ?, " +
+            "updated_by = ?, updated_at = ?, version = COALESCE(version, 0) + 1 " +
+            "WHERE id = ? AND COALESCE(version, 0) = ?";
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+
+    /**
+     * Per-request accumulator: results in request order, plus the UPDATE arguments
+     * of the items that passed validation
+     */
+    private class BulkBatch {
+        private final BulkItemResultDTO[] results;
+        private final Set<Long> claimed = new HashSet<>();
+        private final List<ComplaintStateDTO> pending = new ArrayList<>();
+        private final List<ComplaintChangedEvent.State> before = new ArrayList<>();
+        private final List<Integer> positions = new ArrayList<>();
+        private final List<Object[]> args = new ArrayList<>();
+        private int next;
+        private int appliedCount;
+
+        BulkBatch(int size) {
+            this.results = new BulkItemResultDTO[size];
+        }
+
+        void fail(Long id, String error) {
+            results[next++] = BulkItemResultDTO.failed(id, error);
+        }
+
+        /**
+         * State to change for this item, or null (with a failed result) when it cannot be changed
+         */
+        ComplaintStateDTO claim(Long id, Map<Long, ComplaintStateDTO> states) {
+            ComplaintStateDTO state = states.get(id);
+            if (state == null) {
+                fail(id, "Complaint not found: " + id);
+                return null;
+            }
+            if (!claimed.add(id)) {
+                fail(id, "Complaint appears more than once in the request");
+                return null;
+            }
+            return state;
+        }
+
+        void add(ComplaintStateDTO complaint, ComplaintChangedEvent.State previous, Object[] updateArgs) {
+            pending.add(complaint);
+            before.add(previous);
+            positions.add(next++);
+            args.add(updateArgs);
+        }
+
+        List<BulkItemResultDTO> execute(String sql, String updatedBy, LocalDateTime now) {
+            int[] counts = args.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(sql, args);
+            for (int i = 0; i < pending.size(); i++) {
+                ComplaintStateDTO complaint = pending.get(i);
+                // SUCCESS_NO_INFO (-2) when the driver cannot report per-statement counts
+                if (counts[i] == 0) {
+                    results[positions.get(i)] = BulkItemResultDTO.failed(complaint.getId(),
+                            "Complaint was changed by someone else - reload and try again");
+                } else {
+                    results[positions.get(i)] = BulkItemResultDTO.ok(applied(complaint, before.get(i), updatedBy, now));
+                    appliedCount++;
+                }
+            }
+            return Arrays.asList(results);
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintDailyStats;
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.repository.ComplaintDailyStatsRepository;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maintains the complaint_daily_stats rollup used by the trend/category/priority charts.
+ * Past days are computed once and marked finalized; today's rows are rebuilt on every run.
+ * Ranges of past days are rebuilt one calendar month per transaction, so the first-run backfill
+ * never holds one transaction over all history and resumes from the last finalized day if interrupted.
+ * Every rebuild runs under the "daily-rollup" lease.
+ */
+@Service
+@Slf4j
+public class DailyRollupService {
+
+    private static final String LEASE = "daily-rollup";
+    private static final long LEASE_RETRY_MS = 5_000;
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintDailyStatsRepository statsRepository;
+    private final SchedulerLeaseService leaseService;
+    private final TransactionTemplate transaction;
+    private final Duration leaseTtl;
+    private final long importLeaseWaitMs;
+
+    // Last day whose rows are final (null until the first run)
+    private volatile LocalDate lastFinalizedDate;
+
+    public DailyRollupService(ComplaintRepository complaintRepository,
+                              ComplaintDailyStatsRepository statsRepository,
+                              SchedulerLeaseService leaseService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${analytics.rollup.refresh-ms:300000}") long refreshMs) {
+        this.complaintRepository = complaintRepository;
+        this.statsRepository = statsRepository;
+        this.leaseService = leaseService;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.transaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.leaseTtl = Duration.ofMillis(refreshMs * 9 / 10);
+        // Another node's lease lapses at most one interval after its last run
+        this.importLeaseWaitMs = refreshMs * 2;
+    }
+
+    /**
+     * Finalize any days that have ended since the last run, then refresh today.
+     * Runs at startup (backfilling history on first deploy) and every 5 minutes by default,
+     * on one node per interval.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${analytics.rollup.refresh-ms:300000}",
+               initialDelayString = "${analytics.rollup.refresh-ms:300000}")
+    public synchronized void refresh() {
+        if (!leaseService.tryAcquire(LEASE, leaseTtl)) {
+            lastFinalizedDate = null; // another node is finalizing - re-read on our next run
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate finalizedThrough = transaction.execute(tx -> resolveLastFinalizedDate(today));
+
+        if (finalizedThrough.isBefore(today.minusDays(1))) {
+            LocalDate from = finalizedThrough.plusDays(1);
+            int rows = rebuildByMonth(from, today);
+            if (rows < 0) {
+                lastFinalizedDate = null;
+                return;
+            }
+            log.info("Daily rollup finalized {} to {} ({} rows)", from, today.minusDays(1), rows);
+            finalizedThrough = today.minusDays(1);
+        }
+
+        transaction.executeWithoutResult(tx -> rebuild(today, today.plusDays(1), false));
+        lastFinalizedDate = finalizedThrough;
+    }
+
+    /**
+     * A bulk import can add submissions and (for imported RESOLVED rows) closures
+     * to past days - re-aggregate the days of both ranges.
+     * Runs on the import thread, which waits for the lease if another node holds it.
+     */
+    @Order(ResultCache.VIEW_ORDER)
+    @EventListener
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        if (event.getFirstSubmittedDate() == null) {
+            return;
+        }
+        LocalDate from = event.getFirstSubmittedDate();
+        LocalDate last = event.getLastSubmittedDate();
+        if (event.getFirstClosedDate() != null) {
+            from = event.getFirstClosedDate().isBefore(from) ? event.getFirstClosedDate() : from;
+            last = event.getLastClosedDate().isAfter(last) ? event.getLastClosedDate() : last;
+        }
+        LocalDate today = LocalDate.now();
+        LocalDate to = last.plusDays(1).isBefore(today) ? last.plusDays(1) : today;
+        if (!from.isBefore(to)) {
+            return; // today's rows are picked up by the next refresh()
+        }
+        if (!awaitLease()) {
+            log.warn("Daily rollup lease not acquired within {} ms - days {} to {} keep their pre-import counts",
+                    importLeaseWaitMs, from, to.minusDays(1));
+            return;
+        }
+        int rows;
+        synchronized (this) { // same owner as this node's refresh() - don't rebuild the same days concurrently
+            rows = rebuildByMonth(from, to);
+        }
+        if (rows >= 0) {
+            log.info("Daily rollup rebuilt {} to {} after import ({} rows)", from, to.minusDays(1), rows);
+        }
+    }
+
+    private boolean awaitLease() {
+        long deadline = System.currentTimeMillis() + importLeaseWaitMs;
+        while (!leaseService.tryAcquire(LEASE, leaseTtl)) {
+            if (System.currentTimeMillis() >= deadline) {
+                return false;
+            }
+            try {
+                Thread.sleep(LEASE_RETRY_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finalized rebuild of past days [from, to), one transaction per calendar month.
+     * The lease is renewed before each month; returns -1 if it was lost (another node took over).
+     */
+    private int rebuildByMonth(LocalDate from, LocalDate to) {
+        int rows = 0;
+        LocalDate monthStart = from;
+        while (monthStart.isBefore(to)) {
+            LocalDate nextMonth = monthStart.withDayOfMonth(1).plusMonths(1);
+            LocalDate monthEnd = nextMonth.isBefore(to) ? nextMonth : to;
+            if (!monthStart.equals(from) && !leaseService.tryAcquire(LEASE, leaseTtl)) {
+                log.warn("Daily rollup lease lost - days {} to {} left to its new holder", monthStart, to.minusDays(1));
+                return -1;
+            }
+            LocalDate chunkFrom = monthStart;
+            Integer chunk = transaction.execute(tx -> rebuild(chunkFrom, monthEnd, true));
+            rows += chunk != null ? chunk : 0;
+            monthStart = monthEnd;
+        }
+        return rows;
+    }
+
+    private LocalDate resolveLastFinalizedDate(LocalDate today) {
+        if (lastFinalizedDate != null) {
+            return lastFinalizedDate;
+        }
+        LocalDate stored = statsRepository.findLastFinalizedDate();
+        if (stored != null) {
+            return stored;
+        }
+        // First run - backfill from the earliest complaint
+        LocalDateTime earliest = complaintRepository.findEarliestSubmittedAt();
+        return earliest != null ? earliest.toLocalDate().minusDays(1) : today.minusDays(1);
+    }
+
+    /**
+     * Replace rollup rows for [from, to) with freshly aggregated ones
+     */
+    private int rebuild(LocalDate from, LocalDate to, boolean finalized) {
+        LocalDateTime start = from.atStartOfDay();
+        LocalDateTime end = to.atStartOfDay();
+
+        Map<String, ComplaintDailyStats> rows = new HashMap<>();
+
+        for (Object[] row : complaintRepository.findDailySubmissionCounts(start, end)) {
+            ComplaintDailyStats stats = rowFor(rows, (LocalDate) row[0], (String) row[1],
+                    (ComplaintPriority) row[2], finalized);
+            stats.setSubmitted(toLong(row[3]));
+        }
+
+        for (Object[] row : complaintRepository.findDailyClosureCounts(start, end)) {
+            ComplaintDailyStats stats = rowFor(rows, (LocalDate) row[0], (String) row[1],
+                    (ComplaintPriority) row[2], finalized);
+            stats.setResolved(toLong(row[3]));
+            stats.setBreached(toLong(row[4]));
+            stats.setResolutionHoursSum(toLong(row[5]));
+        }
+
+        statsRepository.deleteByStatDateRange(from, to);
+        statsRepository.saveAll(rows.values());
+        return rows.size();
+    }
+
+    private static ComplaintDailyStats rowFor(Map<String, ComplaintDailyStats> rows, LocalDate date,
+                                              String category, ComplaintPriority priority, boolean finalized) {
+        return rows.computeIfAbsent(date + "|" + category + "|" + priority,
+                key -> ComplaintDailyStats.builder()
+                        .statDate(date)
+                        .category(category)
+                        .priority(priority)
+                        .finalized(finalized)
+                        .build());
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    // -------------------- Read side --------------------
+
+    public List<Object[]> getDailyTrend(LocalDate from) {
+        return statsRepository.findDailyTrend(from);
+    }
+
+    public List<Object[]> getCategoryTotals(LocalDate from) {
+        return statsRepository.findCategoryTotals(from);
+    }
+
+    public List<Object[]> getPriorityTotals(LocalDate from) {
+        return statsRepository.findPriorityTotals(from);
+    }
+}
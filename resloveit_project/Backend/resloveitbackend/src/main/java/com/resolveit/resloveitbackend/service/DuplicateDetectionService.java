@@ -0,0 +1,382 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.dto.DuplicateCandidateDTO;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory near-duplicate index over open complaints.
+ * Each complaint's title + description is cut into character 5-shingles and summarized
+ * as a 64-value MinHash signature; the signature is split into 16 bands of 4 (LSH), so
+ * complaints sharing any band bucket within the same category + pincode are candidates.
+ * Candidates are ranked by the share of equal signature values (estimated Jaccard similarity).
+ * Rebuilt from the database at startup and periodically; resolved complaints drop out.
+ */
+@Service
+@Slf4j
+public class DuplicateDetectionService {
+
+    private static final int SHINGLE = 5;
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+    private static final int HASHES = BANDS * ROWS;
+    private static final int MAX_TEXT = 2000;
+    private static final int MAX_CANDIDATES = 10;
+
+    private final ComplaintRepository complaintRepository;
+    private final double minSimilarity;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+
+    public DuplicateDetectionService(ComplaintRepository complaintRepository,
+                                     @Value("${duplicates.min-similarity:0.5}") double minSimilarity) {
+        this.complaintRepository = complaintRepository;
+        this.minSimilarity = minSimilarity;
+    }
+
+    /**
+     * Rebuild from open complaints at startup and then periodically (default every 30 minutes)
+     */
+    @EventListener({ApplicationReadyEvent.class, ComplaintsImportedEvent.class})
+    @Scheduled(fixedDelayString = "${duplicates.reconcile-ms:1800000}",
+               initialDelayString = "${duplicates.reconcile-ms:1800000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        Index rebuilt = new Index();
+        try (Stream<Object[]> rows = complaintRepository.streamDuplicateIndexRows()) {
+            rows.forEach(row -> rebuilt.put((Long) row[0], scopeOf((String) row[1], (String) row[2]),
+                    (String) row[3], signature((String) row[3], (String) row[4])));
+        }
+
+        lock.writeLock().lock();
+        try {
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Duplicate index rebuilt with {} open complaints", rebuilt.entries.size());
+    }
+
+    /**
+     * Index a just-saved complaint and return its probable duplicates.
+     * Inside a transaction the complaint is only added once it commits.
+     */
+    public List<DuplicateCandidateDTO> indexSubmitted(Complaint complaint) {
+        String scope = scopeOf(complaint.getCategory(), complaint.getPincode());
+        int[] signature = signature(complaint.getTitle(), complaint.getDescription());
+        Long id = complaint.getId();
+        String title = complaint.getTitle();
+
+        List<DuplicateCandidateDTO> candidates;
+        lock.readLock().lock();
+        try {
+            candidates = index.candidates(id, scope, signature, minSimilarity, MAX_CANDIDATES);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Runnable add = () -> {
+            lock.writeLock().lock();
+            try {
+                index.put(id, scope, title, signature);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add.run();
+                }
+            });
+        } else {
+            add.run();
+        }
+
+        if (!candidates.isEmpty()) {
+            log.info("Complaint {} has {} probable duplicates (best {} at {})", id, candidates.size(),
+                    candidates.get(0).getComplaintId(), candidates.get(0).getSimilarity());
+        }
+        return candidates;
+    }
+
+    /**
+     * Resolved (or merged) complaints are no longer duplicate targets
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        if (event.getAfter().getStatus() != ComplaintStatus.RESOLVED) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            index.remove(event.getComplaintId());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Probable duplicates of one open complaint
+     */
+    public List<DuplicateCandidateDTO> findDuplicates(Long complaintId) {
+        lock.readLock().lock();
+        try {
+            Entry entry = index.entries.get(complaintId);
+            if (entry == null) {
+                return List.of();
+            }
+            return index.candidates(complaintId, entry.scope, entry.signature, minSimilarity, MAX_CANDIDATES);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Groups of open complaints that are probably the same issue, largest first.
+     * The oldest complaint of each group is suggested as the primary to merge into.
+     */
+    public List<Map<String, Object>> findDuplicateGroups(double similarity, int limit) {
+        double threshold = Math.max(similarity, minSimilarity);
+        Map<Long, List<Long>> groups;
+        Map<Long, Entry> entries;
+        lock.readLock().lock();
+        try {
+            groups = index.groups(threshold);
+            entries = index.entries;
+            List<Map<String, Object>> result = new ArrayList<>();
+            groups.values().stream()
+                    .sorted(Comparator.<List<Long>>comparingInt(List::size).reversed())
+                    .limit(limit)
+                    .forEach(ids -> {
+                        ids.sort(null);
+                        Entry primary = entries.get(ids.get(0));
+                        Map<String, Object> group = new LinkedHashMap<>();
+                        group.put("primaryId", primary.id);
+                        group.put("primaryTitle", primary.title);
+                        group.put("scope", primary.scope);
+                        group.put("size", ids.size());
+                        group.put("complaintIds", ids);
+                        result.add(group);
+                    });
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -------------------- MinHash --------------------
+
+    private static String scopeOf(String category, String pincode) {
+        return (category != null ? category.trim().toLowerCase() : "") + "|" + (pincode != null ? pincode.trim() : "");
+    }
+
+    /**
+     * MinHash signature of the normalized text's character shingles.
+     * The HASHES hash functions are derived from two base hashes per shingle (h1 + i * h2).
+     */
+    static int[] signature(String title, String description) {
+        String text = normalize(title, description);
+        int[] signature = new int[HASHES];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        int shingles = Math.max(1, text.length() - SHINGLE + 1);
+        for (int start = 0; start < shingles; start++) {
+            long h = 0;
+            int end = Math.min(text.length(), start + SHINGLE);
+            for (int i = start; i < end; i++) {
+                h = h * 31 + text.charAt(i);
+            }
+            long h1 = mix(h);
+            long h2 = mix(h ^ 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < HASHES; i++) {
+                int value = (int) ((h1 + i * h2) >>> 33);
+                if (value < signature[i]) {
+                    signature[i] = value;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Lowercase letters and digits, single spaces, capped at MAX_TEXT characters
+     */
+    private static String normalize(String title, String description) {
+        String raw = (title != null ? title : "") + " " + (description != null ? description : "");
+        StringBuilder text = new StringBuilder(Math.min(raw.length(), MAX_TEXT));
+        boolean space = true;
+        for (int i = 0; i < raw.length() && text.length() < MAX_TEXT; i++) {
+            char c = raw.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                text.append(Character.toLowerCase(c));
+                space = false;
+            } else if (!space) {
+                text.append(' ');
+                space = true;
+            }
+        }
+        return text.toString().trim();
+    }
+
+    private static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < HASHES; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / HASHES;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+
+    private record Entry(long id, String scope, String title, int[] signature, long[] bandKeys) {
+    }
+
+    /**
+     * Signatures plus LSH buckets (band key -> complaint ids). Guarded by the service lock.
+     */
+    private static class Index {
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<Long, long[]> buckets = new HashMap<>();
+
+        void put(long id, String scope, String title, int[] signature) {
+            remove(id);
+            long[] bandKeys = bandKeys(scope, signature);
+            entries.put(id, new Entry(id, scope, title, signature, bandKeys));
+            for (long key : bandKeys) {
+                long[] ids = buckets.get(key);
+                if (ids == null) {
+                    buckets.put(key, new long[]{id});
+                } else {
+                    long[] grown = Arrays.copyOf(ids, ids.length + 1);
+                    grown[ids.length] = id;
+                    buckets.put(key, grown);
+                }
+            }
+        }
+
+        void remove(long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (long key : entry.bandKeys) {
+                long[] ids = buckets.get(key);
+                if (ids == null) {
+                    continue;
+                }
+                if (ids.length == 1) {
+                    buckets.remove(key);
+                } else {
+                    long[] shrunk = new long[ids.length - 1];
+                    int n = 0;
+                    for (long other : ids) {
+                        if (other != id && n < shrunk.length) {
+                            shrunk[n++] = other;
+                        }
+                    }
+                    buckets.put(key, shrunk);
+                }
+            }
+        }
+
+        List<DuplicateCandidateDTO> candidates(Long selfId, String scope, int[] signature,
+                                               double threshold, int limit) {
+            Set<Long> seen = new HashSet<>();
+            List<DuplicateCandidateDTO> result = new ArrayList<>();
+            for (long key : bandKeys(scope, signature)) {
+                long[] ids = buckets.get(key);
+                if (ids == null) {
+                    continue;
+                }
+                for (long id : ids) {
+                    if ((selfId != null && id == selfId) || !seen.add(id)) {
+                        continue;
+                    }
+                    Entry other = entries.get(id);
+                    double similarity = similarity(signature, other.signature);
+                    if (similarity >= threshold) {
+                        result.add(new DuplicateCandidateDTO(id, other.title, Math.round(similarity * 100) / 100.0));
+                    }
+                }
+            }
+            result.sort(Comparator.comparing(DuplicateCandidateDTO::getSimilarity).reversed()
+                    .thenComparing(DuplicateCandidateDTO::getComplaintId));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
+        /**
+         * Connected groups (union-find over bucket-mates above the threshold), keyed by root id
+         */
+        Map<Long, List<Long>> groups(double threshold) {
+            Map<Long, Long> parent = new HashMap<>();
+            for (long[] ids : buckets.values()) {
+                for (int i = 0; i < ids.length; i++) {
+                    for (int j = i + 1; j < ids.length; j++) {
+                        if (find(parent, ids[i]) != find(parent, ids[j])
+                                && similarity(entries.get(ids[i]).signature, entries.get(ids[j]).signature) >= threshold) {
+                            parent.put(find(parent, ids[i]), find(parent, ids[j]));
+                        }
+                    }
+                }
+            }
+            Map<Long, List<Long>> groups = new HashMap<>();
+            for (Long id : parent.keySet()) {
+                groups.computeIfAbsent(find(parent, id), root -> new ArrayList<>()).add(id);
+            }
+            groups.values().removeIf(ids -> ids.size() < 2);
+            return groups;
+        }
+
+        private static long find(Map<Long, Long> parent, long id) {
+            long root = id;
+            Long next;
+            while ((next = parent.putIfAbsent(root, root)) != null && next != root) {
+                root = next;
+            }
+            // Path compression
+            long current = id;
+            while (current != root) {
+                current = parent.put(current, root);
+            }
+            return root;
+        }
+
+        private static long[] bandKeys(String scope, int[] signature) {
+            long scopeHash = mix(scope.hashCode());
+            long[] keys = new long[BANDS];
+            for (int band = 0; band < BANDS; band++) {
+                long key = mix(scopeHash ^ band);
+                for (int row = 0; row < ROWS; row++) {
+                    key = mix(key ^ (signature[band * ROWS + row] & 0xffffffffL));
+                }
+                keys[band] = key;
+            }
+            return keys;
+        }
+    }
+}
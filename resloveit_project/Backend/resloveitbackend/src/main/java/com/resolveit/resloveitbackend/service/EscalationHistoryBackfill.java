@@ -0,0 +1,58 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.repository.ComplaintEscalationRepository;
+import com.resolveit.resloveitbackend.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * One-off migration of the legacy complaints.escalation_history JSON column
+ * into complaint_escalations. Runs once all singletons exist - before the context
+ * refresh starts the schedulers and before SlaTimerService's startup reconcile - and
+ * records completion as a never-expiring row in scheduler_leases, so it runs once per
+ * database. Concurrent nodes serialize on that row; the copy and the marker share one
+ * transaction, so a failed run is retried on the next boot.
+ */
+@Component
+@Slf4j
+public class EscalationHistoryBackfill implements SmartInitializingSingleton {
+
+    static final String COMPLETED_MARKER = "migration:escalation-history";
+    private static final long MARKER_TTL_MICROS = Duration.ofDays(365L * 100).toNanos() / 1000;
+
+    private final ComplaintEscalationRepository escalationRepository;
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate transaction;
+
+    public EscalationHistoryBackfill(ComplaintEscalationRepository escalationRepository,
+                                     SchedulerLeaseRepository leaseRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.escalationRepository = escalationRepository;
+        this.leaseRepository = leaseRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (leaseRepository.existsById(COMPLETED_MARKER)) {
+            return;
+        }
+        Integer copied = transaction.execute(tx -> {
+            if (leaseRepository.insertIfAbsent(COMPLETED_MARKER, "completed", MARKER_TTL_MICROS) == 0) {
+                return 0; // another node finished it while we were starting
+            }
+            if (escalationRepository.countLegacyHistoryColumn() == 0) {
+                return 0;
+            }
+            return escalationRepository.backfillFromLegacyHistory();
+        });
+        if (copied != null && copied > 0) {
+            log.info("Backfilled {} escalation entries from complaints.escalation_history", copied);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.resolveit.resloveitbackend.Model.IdempotencyRecord;
+import com.resolveit.resloveitbackend.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key support for submission endpoints.
+ * The first request with a key claims it in idempotency_keys (unique per scope/principal/key,
+ * so only one node runs it) and stores its successful response; retries get that response
+ * back without running the submission again. Completed responses are also kept in a bounded,
+ * TTL-evicting in-memory map so most retries never reach the database.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 128;
+
+    private final IdempotencyRecordRepository recordRepository;
+    private final TransactionTemplate keyTransaction;
+    private final ObjectMapper objectMapper;
+    private final long ttlMs;
+    private final long staleMs;
+    private final Map<String, StoredResponse> cache;
+
+    public IdempotencyService(IdempotencyRecordRepository recordRepository,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${idempotency.ttl-ms:86400000}") long ttlMs,
+                              @Value("${idempotency.in-progress-timeout-ms:300000}") long staleMs,
+                              @Value("${idempotency.cache.max-entries:10000}") int maxEntries) {
+        this.recordRepository = recordRepository;
+        this.keyTransaction = new TransactionTemplate(transactionManager);
+        this.keyTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.ttlMs = ttlMs;
+        this.staleMs = staleMs;
+        // Access-ordered, so the least recently used entry is evicted first
+        this.cache = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    private record StoredResponse(int status, String body, long expiresAt) {
+    }
+
+    /**
+     * Run the submission once per key. Without a key the action simply runs.
+     * Only 2xx responses are stored - a failed attempt releases the key so the client can retry;
+     * once the action has succeeded the key is kept even if its response cannot be stored in full.
+     */
+    public ResponseEntity<?> execute(String key, String scope, String principal,
+                                     Supplier<ResponseEntity<?>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            return ResponseEntity.badRequest().body(HEADER + " must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        String owner = principal != null ? principal : "";
+        String cacheKey = scope + '\n' + owner + '\n' + key;
+
+        StoredResponse cached = getCached(cacheKey);
+        if (cached != null) {
+            return replay(cached);
+        }
+
+        long ttlMicros = ttlMs * 1000;
+        Boolean claimed = keyTransaction.execute(tx ->
+                recordRepository.claim(scope, owner, key, ttlMicros) > 0
+                        || recordRepository.reclaim(scope, owner, key, ttlMicros, staleMs * 1000) > 0);
+
+        if (!Boolean.TRUE.equals(claimed)) {
+            Optional<IdempotencyRecord> existing =
+                    recordRepository.findByScopeAndPrincipalAndIdempotencyKey(scope, owner, key);
+            if (existing.isPresent() && IdempotencyRecord.COMPLETED.equals(existing.get().getStatus())) {
+                IdempotencyRecord record = existing.get();
+                StoredResponse stored = new StoredResponse(record.getResponseStatus(), record.getResponseBody(),
+                        record.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+                putCached(cacheKey, stored);
+                return replay(stored);
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body("A request with this " + HEADER + " is already being processed");
+        }
+
+        ResponseEntity<?> response;
+        try {
+            response = action.get();
+        } catch (RuntimeException e) {
+            release(scope, owner, key);
+            throw e;
+        }
+
+        if (!response.getStatusCode().is2xxSuccessful()) {
+            release(scope, owner, key);
+            return response;
+        }
+        // The submission succeeded - from here on the key is never released, or a retry would submit twice
+        int status = response.getStatusCode().value();
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response.getBody());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not serialize response for {} key {}: {}", scope, key, e.getMessage());
+            body = minimalBody(response.getBody());
+        }
+        putCached(cacheKey, new StoredResponse(status, body, System.currentTimeMillis() + ttlMs));
+        if (!store(scope, owner, key, status, body)) {
+            String minimal = minimalBody(response.getBody());
+            if (!store(scope, owner, key, status, minimal)) {
+                // The claim stays IN_PROGRESS: retries get 409 until it turns stale
+                log.error("Could not mark {} key {} completed - the submission did succeed", scope, key);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * Remove expired keys (default hourly)
+     */
+    @Scheduled(fixedDelayString = "${idempotency.purge-ms:3600000}",
+               initialDelayString = "${idempotency.purge-ms:3600000}")
+    public void purgeExpired() {
+        Integer deleted = keyTransaction.execute(tx -> recordRepository.deleteExpired());
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            cache.values().removeIf(stored -> stored.expiresAt() <= now);
+        }
+        if (deleted != null && deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    private ResponseEntity<String> replay(StoredResponse stored) {
+        return ResponseEntity.status(stored.status())
+                .header(REPLAYED_HEADER, "true")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(stored.body());
+    }
+
+    private boolean store(String scope, String principal, String key, int status, String body) {
+        try {
+            keyTransaction.executeWithoutResult(tx -> recordRepository.complete(scope, principal, key, status, body));
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Could not store response for {} key {}: {}", scope, key, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * {"id":...} of the created resource, or null - enough for the client to find what the first attempt created
+     */
+    private String minimalBody(Object body) {
+        try {
+            Object id = body != null ? new BeanWrapperImpl(body).getPropertyValue("id") : null;
+            return id != null ? objectMapper.writeValueAsString(Map.of("id", id)) : null;
+        } catch (JsonProcessingException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void release(String scope, String principal, String key) {
+        try {
+            keyTransaction.executeWithoutResult(tx -> recordRepository.release(scope, principal, key));
+        } catch (RuntimeException e) {
+            log.warn("Could not release {} key {}: {}", scope, key, e.getMessage());
+        }
+    }
+
+    private StoredResponse getCached(String cacheKey) {
+        synchronized (cache) {
+            StoredResponse stored = cache.get(cacheKey);
+            if (stored != null && stored.expiresAt() <= System.currentTimeMillis()) {
+                cache.remove(cacheKey);
+                return null;
+            }
+            return stored;
+        }
+    }
+
+    private void putCached(String cacheKey, StoredResponse stored) {
+        synchronized (cache) {
+            cache.put(cacheKey, stored);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Writes notifications to the application log (default channel, and handy in development)
+ */
+@Component
+@Slf4j
+public class LogNotificationChannel implements NotificationChannel {
+
+    @Override
+    public String getName() {
+        return "log";
+    }
+
+    @Override
+    public void send(String recipient, List<OutboxMessage> messages) {
+        for (OutboxMessage message : messages) {
+            log.info("📣 Notification to {} [{}]: {} - {}",
+                    recipient, message.getEventType(), message.getSubject(), message.getBody());
+        }
+    }
+}
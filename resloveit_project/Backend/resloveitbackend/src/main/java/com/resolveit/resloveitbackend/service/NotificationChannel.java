@@ -0,0 +1,22 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+
+import java.util.List;
+
+/**
+ * Delivery channel for outbox messages. OutboxDispatcher hands each channel
+ * all due messages for one recipient at a time so it can send them as one batch.
+ */
+public interface NotificationChannel {
+
+    /**
+     * Name stored in OutboxMessage.channel
+     */
+    String getName();
+
+    /**
+     * Deliver the batch - throwing marks every message in it for retry
+     */
+    void send(String recipient, List<OutboxMessage> messages) throws Exception;
+}
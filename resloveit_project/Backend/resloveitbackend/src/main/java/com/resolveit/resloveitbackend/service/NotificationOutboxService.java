@@ -0,0 +1,102 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import com.resolveit.resloveitbackend.Model.Role;
+import com.resolveit.resloveitbackend.Model.User;
+import com.resolveit.resloveitbackend.repository.OutboxMessageRepository;
+import com.resolveit.resloveitbackend.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Queues notifications in the outbox as part of the caller's transaction -
+ * nothing is sent inline, so a slow mail server can't hold up an escalation.
+ */
+@Service
+public class NotificationOutboxService {
+
+    public static final String ESCALATION = "ESCALATION";
+    public static final String TRIAGE_BREACH = "TRIAGE_BREACH";
+    public static final String DAILY_SLA_REPORT = "DAILY_SLA_REPORT";
+
+    private final OutboxMessageRepository outboxRepository;
+    private final UserRepository userRepository;
+    private final String channel;
+    private final List<String> escalationRecipients;
+    private final List<String> reportRecipients;
+
+    public NotificationOutboxService(OutboxMessageRepository outboxRepository,
+                                     UserRepository userRepository,
+                                     @Value("${notifications.outbox.channel:log}") String channel,
+                                     @Value("${notifications.escalation.recipients:}") String escalationRecipients,
+                                     @Value("${notifications.report.recipients:}") String reportRecipients) {
+        this.outboxRepository = outboxRepository;
+        this.userRepository = userRepository;
+        this.channel = channel;
+        this.escalationRecipients = parseRecipients(escalationRecipients);
+        this.reportRecipients = parseRecipients(reportRecipients);
+    }
+
+    /**
+     * Notify the escalation recipients (admins when none are configured)
+     */
+    @Transactional
+    public void notifyEscalation(String eventType, String subject, String body) {
+        for (String recipient : recipientsOrAdmins(escalationRecipients)) {
+            enqueue(recipient, eventType, subject, body);
+        }
+    }
+
+    /**
+     * Notify escalation recipients about a chunk of bulk-escalated complaints - one INSERT per recipient
+     */
+    @Transactional
+    public void notifyBulkEscalation(List<Long> complaintIds, String reason) {
+        LocalDateTime now = LocalDateTime.now();
+        for (String recipient : recipientsOrAdmins(escalationRecipients)) {
+            outboxRepository.enqueueForComplaints(complaintIds, channel, recipient, ESCALATION, reason, now);
+        }
+    }
+
+    /**
+     * Send the daily SLA report to the report recipients (admins when none are configured)
+     */
+    @Transactional
+    public void notifyDailyReport(String subject, String body) {
+        for (String recipient : recipientsOrAdmins(reportRecipients)) {
+            enqueue(recipient, DAILY_SLA_REPORT, subject, body);
+        }
+    }
+
+    private void enqueue(String recipient, String eventType, String subject, String body) {
+        outboxRepository.save(OutboxMessage.builder()
+                .channel(channel)
+                .recipient(recipient)
+                .eventType(eventType)
+                .subject(subject)
+                .body(body)
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    private List<String> recipientsOrAdmins(List<String> configured) {
+        if (!configured.isEmpty()) {
+            return configured;
+        }
+        return userRepository.findByRole(Role.ROLE_ADMIN).stream()
+                .map(User::getEmail)
+                .toList();
+    }
+
+    private static List<String> parseRecipients(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .toList();
+    }
+}
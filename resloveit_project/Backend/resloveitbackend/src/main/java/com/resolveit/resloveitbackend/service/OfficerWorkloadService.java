@@ -0,0 +1,206 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-officer workload table.
+ * Status counts and the open load weighted by priority (HIGH 3, MEDIUM 2, LOW 1 - used by
+ * AutoAssignmentService) are kept per officer and updated from ComplaintChangedEvent;
+ * open SLA deadlines are kept sorted so "overdue" stays correct as time passes.
+ * Rebuilt from three projections at startup and periodically to correct drift.
+ */
+@Service
+@Slf4j
+public class OfficerWorkloadService {
+
+    private final ComplaintRepository complaintRepository;
+
+    private volatile Map<String, Workload> workloads = new ConcurrentHashMap<>();
+
+    public OfficerWorkloadService(ComplaintRepository complaintRepository) {
+        this.complaintRepository = complaintRepository;
+    }
+
+    @Order(ResultCache.VIEW_ORDER)
+    @EventListener({ApplicationReadyEvent.class, SlaDeadlinesRecalculatedEvent.class, ComplaintsImportedEvent.class})
+    public void seed() {
+        reconcile();
+    }
+
+    /**
+     * Rebuild the table from the database (default every 5 minutes)
+     */
+    @Scheduled(fixedDelayString = "${analytics.workload.reconcile-ms:300000}",
+               initialDelayString = "${analytics.workload.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        Map<String, Workload> rebuilt = new ConcurrentHashMap<>();
+
+        for (Object[] row : complaintRepository.findOfficerStatusCounts()) {
+            Workload workload = rebuilt.computeIfAbsent((String) row[0], Workload::new);
+            workload.statusCounts[((ComplaintStatus) row[1]).ordinal()] = ((Number) row[2]).longValue();
+        }
+        for (Object[] row : complaintRepository.findOpenOfficerPriorityCounts()) {
+            rebuilt.computeIfAbsent((String) row[0], Workload::new).openLoad +=
+                    weight((ComplaintPriority) row[1]) * ((Number) row[2]).longValue();
+        }
+        for (Object[] row : complaintRepository.findOpenOfficerDeadlines()) {
+            rebuilt.computeIfAbsent((String) row[0], Workload::new).addDeadline((LocalDateTime) row[1]);
+        }
+
+        workloads = rebuilt;
+        log.debug("Officer workload table rebuilt for {} officers", rebuilt.size());
+    }
+
+    /**
+     * Move the complaint's contribution from its previous officer/status to the new one
+     */
+    @Order(ResultCache.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintChangedEvent.State before = event.getBefore();
+        if (before != null && before.getAssignedTo() != null) {
+            Workload workload = workloads.get(before.getAssignedTo());
+            if (workload != null) {
+                workload.remove(before);
+            }
+        }
+        ComplaintChangedEvent.State after = event.getAfter();
+        if (after.getAssignedTo() != null) {
+            workloads.computeIfAbsent(after.getAssignedTo(), Workload::new).add(after);
+        }
+    }
+
+    /**
+     * Open load weighted by priority per officer with any open assignment
+     */
+    public synchronized Map<String, Long> getOpenLoads() {
+        Map<String, Long> loads = new HashMap<>();
+        workloads.forEach((officer, workload) -> {
+            if (workload.openLoad > 0) {
+                loads.put(officer, workload.openLoad);
+            }
+        });
+        return loads;
+    }
+
+    /**
+     * Load a complaint of the given priority adds to its officer
+     */
+    static int weight(ComplaintPriority priority) {
+        if (priority == null) {
+            return 2;
+        }
+        return switch (priority) {
+            case HIGH -> 3;
+            case MEDIUM -> 2;
+            case LOW -> 1;
+        };
+    }
+
+    /**
+     * Workload rows for the analytics chart - one per officer with any assignment
+     */
+    public List<Map<String, Object>> getWorkloadSnapshot() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Workload workload : workloads.values()) {
+            Map<String, Object> row = workload.toMap(now);
+            if (((Long) row.get("total")) > 0) {
+                result.add(row);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Per-officer counters. Guarded by the service monitor for writes;
+     * reads tolerate a slightly stale view.
+     */
+    private static class Workload {
+        private final String officer;
+        private final long[] statusCounts = new long[ComplaintStatus.values().length];
+        private final TreeMap<LocalDateTime, Integer> openDeadlines = new TreeMap<>();
+        private long openLoad;
+
+        Workload(String officer) {
+            this.officer = officer;
+        }
+
+        void add(ComplaintChangedEvent.State state) {
+            if (state.getStatus() != null) {
+                statusCounts[state.getStatus().ordinal()]++;
+            }
+            if (state.getStatus() != ComplaintStatus.RESOLVED) {
+                openLoad += weight(state.getPriority());
+            }
+            if (isOpen(state)) {
+                addDeadline(state.getSlaDue());
+            }
+        }
+
+        void remove(ComplaintChangedEvent.State state) {
+            if (state.getStatus() != null && statusCounts[state.getStatus().ordinal()] > 0) {
+                statusCounts[state.getStatus().ordinal()]--;
+            }
+            if (state.getStatus() != ComplaintStatus.RESOLVED) {
+                openLoad = Math.max(0, openLoad - weight(state.getPriority()));
+            }
+            if (isOpen(state)) {
+                synchronized (openDeadlines) {
+                    openDeadlines.computeIfPresent(state.getSlaDue(), (due, count) -> count > 1 ? count - 1 : null);
+                }
+            }
+        }
+
+        void addDeadline(LocalDateTime due) {
+            synchronized (openDeadlines) {
+                openDeadlines.merge(due, 1, Integer::sum);
+            }
+        }
+
+        long overdueCount(LocalDateTime now) {
+            long overdue = 0;
+            synchronized (openDeadlines) {
+                for (int count : openDeadlines.headMap(now).values()) {
+                    overdue += count;
+                }
+            }
+            return overdue;
+        }
+
+        Map<String, Object> toMap(LocalDateTime now) {
+            long total = 0;
+            for (long count : statusCounts) {
+                total += count;
+            }
+            Map<String, Object> row = new HashMap<>();
+            row.put("officer", officer);
+            row.put("total", total);
+            row.put("assigned", statusCounts[ComplaintStatus.ASSIGNED.ordinal()]);
+            row.put("inProgress", statusCounts[ComplaintStatus.IN_PROGRESS.ordinal()]);
+            row.put("resolved", statusCounts[ComplaintStatus.RESOLVED.ordinal()]);
+            row.put("overdue", overdueCount(now));
+            return row;
+        }
+
+        private static boolean isOpen(ComplaintChangedEvent.State state) {
+            return state.getSlaDue() != null && state.getStatus() != ComplaintStatus.RESOLVED;
+        }
+    }
+}
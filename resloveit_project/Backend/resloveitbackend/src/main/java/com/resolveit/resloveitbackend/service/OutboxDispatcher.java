@@ -0,0 +1,197 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import com.resolveit.resloveitbackend.repository.OutboxMessageRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Drains notification_outbox on a background thread.
+ * Due messages are grouped per channel and recipient so each recipient gets one
+ * delivery per poll; failed batches are retried with exponential backoff (plus jitter)
+ * and marked DEAD after max attempts. Runs on the node holding the "outbox-dispatcher" lease.
+ */
+@Service
+@Slf4j
+public class OutboxDispatcher {
+
+    private static final Duration LEASE_TTL = Duration.ofSeconds(30);
+
+    private final OutboxMessageRepository outboxRepository;
+    private final SchedulerLeaseService leaseService;
+    private final Map<String, NotificationChannel> channels = new HashMap<>();
+    private final TransactionTemplate transaction;
+    private final ScheduledExecutorService worker;
+
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffInitialMs;
+    private final long backoffMaxMs;
+
+    // Metrics
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dead = new LongAdder();
+    private final LongAdder deliveries = new LongAdder();
+    private final LongAdder sendNanos = new LongAdder();
+    private final AtomicLong lastPollMs = new AtomicLong();
+    private final long startedAt = System.nanoTime();
+
+    public OutboxDispatcher(OutboxMessageRepository outboxRepository,
+                            SchedulerLeaseService leaseService,
+                            List<NotificationChannel> channels,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${notifications.outbox.poll-ms:2000}") long pollMs,
+                            @Value("${notifications.outbox.batch-size:200}") int batchSize,
+                            @Value("${notifications.outbox.max-attempts:8}") int maxAttempts,
+                            @Value("${notifications.outbox.backoff-initial-ms:5000}") long backoffInitialMs,
+                            @Value("${notifications.outbox.backoff-max-ms:3600000}") long backoffMaxMs) {
+        this.outboxRepository = outboxRepository;
+        this.leaseService = leaseService;
+        channels.forEach(channel -> this.channels.put(channel.getName(), channel));
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.backoffInitialMs = backoffInitialMs;
+        this.backoffMaxMs = backoffMaxMs;
+        this.worker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.worker.scheduleWithFixedDelay(this::poll, pollMs, pollMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Deliver everything that is due, a page at a time
+     */
+    void poll() {
+        long start = System.nanoTime();
+        try {
+            List<OutboxMessage> due;
+            do {
+                // Re-checked per page - a long drain must stop once the lease has moved to another node
+                if (!leaseService.holdLease("outbox-dispatcher", LEASE_TTL)) {
+                    return;
+                }
+                due = outboxRepository.findDue(LocalDateTime.now(), PageRequest.of(0, batchSize));
+                dispatch(due);
+            } while (due.size() == batchSize);
+        } catch (Exception e) {
+            log.error("Error draining notification outbox", e);
+        } finally {
+            lastPollMs.set((System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private void dispatch(List<OutboxMessage> due) {
+        if (due.isEmpty()) {
+            return;
+        }
+        // channel -> recipient -> messages, in due order
+        Map<String, Map<String, List<OutboxMessage>>> grouped = new LinkedHashMap<>();
+        for (OutboxMessage message : due) {
+            grouped.computeIfAbsent(message.getChannel(), c -> new LinkedHashMap<>())
+                    .computeIfAbsent(message.getRecipient(), r -> new ArrayList<>())
+                    .add(message);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        grouped.forEach((channelName, byRecipient) -> {
+            NotificationChannel channel = channels.get(channelName);
+            byRecipient.forEach((recipient, messages) -> {
+                if (channel == null) {
+                    messages.forEach(m -> markFailed(m, "Unknown channel: " + channelName, now, true));
+                    return;
+                }
+                long sendStart = System.nanoTime();
+                try {
+                    channel.send(recipient, messages);
+                    messages.forEach(m -> markSent(m, now));
+                    deliveries.increment();
+                } catch (Exception e) {
+                    log.warn("Delivery via {} to {} failed ({} messages): {}",
+                            channelName, recipient, messages.size(), e.getMessage());
+                    messages.forEach(m -> markFailed(m, e.getMessage(), now, false));
+                } finally {
+                    sendNanos.add(System.nanoTime() - sendStart);
+                }
+            });
+        });
+
+        transaction.executeWithoutResult(tx -> outboxRepository.saveAll(due));
+    }
+
+    private void markSent(OutboxMessage message, LocalDateTime now) {
+        message.setStatus(OutboxMessage.SENT);
+        message.setSentAt(now);
+        message.setAttempts(message.getAttempts() + 1);
+        message.setLastError(null);
+        sent.increment();
+    }
+
+    private void markFailed(OutboxMessage message, String error, LocalDateTime now, boolean permanent) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(error != null && error.length() > 1000 ? error.substring(0, 1000) : error);
+        if (permanent || attempts >= maxAttempts) {
+            message.setStatus(OutboxMessage.DEAD);
+            dead.increment();
+            log.error("Giving up on notification {} to {} after {} attempts", message.getId(), message.getRecipient(), attempts);
+        } else {
+            message.setNextAttemptAt(now.plusNanos(backoffMs(attempts) * 1_000_000));
+            failed.increment();
+        }
+    }
+
+    /**
+     * initial * 2^(attempts-1), capped, with up to 20% jitter so retries don't line up
+     */
+    private long backoffMs(int attempts) {
+        long delay = backoffInitialMs << Math.min(attempts - 1, 30);
+        delay = delay <= 0 ? backoffMaxMs : Math.min(delay, backoffMaxMs);
+        return delay + ThreadLocalRandom.current().nextLong(delay / 5 + 1);
+    }
+
+    /**
+     * Throughput and queue metrics for monitoring
+     */
+    public Map<String, Object> getStats() {
+        double uptimeSeconds = Math.max(1, (System.nanoTime() - startedAt) / 1_000_000_000.0);
+        long deliveryCount = deliveries.sum();
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sent", sent.sum());
+        stats.put("retried", failed.sum());
+        stats.put("dead", dead.sum());
+        stats.put("deliveries", deliveryCount);
+        stats.put("sentPerMinute", Math.round(sent.sum() * 600.0 / uptimeSeconds) / 10.0);
+        stats.put("avgDeliveryMs", deliveryCount == 0 ? 0.0
+                : Math.round(sendNanos.sum() / 100_000.0 / deliveryCount) / 10.0);
+        stats.put("lastPollMs", lastPollMs.get());
+        stats.put("pending", outboxRepository.countByStatus(OutboxMessage.PENDING));
+        stats.put("deadTotal", outboxRepository.countByStatus(OutboxMessage.DEAD));
+        stats.put("channels", channels.keySet());
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+}
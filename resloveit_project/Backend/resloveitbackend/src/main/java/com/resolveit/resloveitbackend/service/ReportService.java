@@ -1,32 +1,47 @@
 package com.resolveit.resloveitbackend.service;
+import com.resolveit.resloveitbackend.Model.Attachment;
 import com.resolveit.resloveitbackend.Model.Complaint;
 import com.resolveit.resloveitbackend.Model.Report;
+import com.resolveit.resloveitbackend.event.ReportChangedEvent;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
 import com.resolveit.resloveitbackend.repository.ReportRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
 import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
-import java.util.UUID;
+import java.util.Set;
 @Service
 @Slf4j
 public class ReportService {
     private final ReportRepository reportRepository;
     private final ComplaintRepository complaintRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AttachmentIngestionService attachmentIngestion;
+    private final TransactionTemplate submitTransaction;
     private static final String REPORT_UPLOAD_DIR =
             System.getProperty("user.dir") + "/uploads/reports/";
     public ReportService(ReportRepository reportRepository,
-                         ComplaintRepository complaintRepository) {
+                         ComplaintRepository complaintRepository,
+                         ApplicationEventPublisher eventPublisher,
+                         AttachmentIngestionService attachmentIngestion,
+                         PlatformTransactionManager transactionManager) {
         this.reportRepository = reportRepository;
         this.complaintRepository = complaintRepository;
+        this.eventPublisher = eventPublisher;
+        this.attachmentIngestion = attachmentIngestion;
+        this.submitTransaction = new TransactionTemplate(transactionManager);
         // Ensure directory exists
         try {
             Files.createDirectories(Paths.get(REPORT_UPLOAD_DIR));
@@ -34,7 +49,9 @@ public class ReportService {
             log.error("Failed to create report upload directory", e);
         }
     }
-    @Transactional
+    /**
+     * Files are streamed to staging before the (short) report transaction starts
+     */
     public Report submitReport(
             Long complaintId,
             String officerEmail,
@@ -44,7 +61,24 @@ public class ReportService {
             String recommendations,
             MultipartFile[] files
     ) throws IOException {
-       
+        List<AttachmentIngestionService.StagedUpload> staged = attachmentIngestion.stage(files);
+        try {
+            return submitTransaction.execute(tx -> saveSubmittedReport(complaintId, officerEmail, officerName,
+                    actionTaken, description, recommendations, staged));
+        } catch (RuntimeException e) {
+            attachmentIngestion.discard(staged, Paths.get(REPORT_UPLOAD_DIR));
+            throw e;
+        }
+    }
+    private Report saveSubmittedReport(
+            Long complaintId,
+            String officerEmail,
+            String officerName,
+            String actionTaken,
+            String description,
+            String recommendations,
+            List<AttachmentIngestionService.StagedUpload> staged
+    ) {
         Complaint complaint = complaintRepository.findById(complaintId)
                 .orElseThrow(() -> new RuntimeException("Complaint not found: " + complaintId));
         if (!officerEmail.equals(complaint.getAssignedTo())) {
@@ -54,16 +88,8 @@ public class ReportService {
             throw new RuntimeException("Report already exists for this complaint");
         }
         List<String> filePaths = new ArrayList<>();
-        if (files != null && files.length > 0) {
-            for (MultipartFile file : files) {
-                if (file != null && !file.isEmpty()) {
-                    String filename = UUID.randomUUID().toString() +
-                            getFileExtension(file.getOriginalFilename());
-                    Path path = Paths.get(REPORT_UPLOAD_DIR + filename);
-                    Files.write(path, file.getBytes());
-                    filePaths.add(filename);
-                }
-            }
+        for (AttachmentIngestionService.StagedUpload upload : staged) {
+            filePaths.add(upload.fileName());
         }
         Long completionHours = null;
         if (complaint.getSubmittedAt() != null) {
@@ -84,7 +110,9 @@ public class ReportService {
                 .completionTimeHours(completionHours)
                 .citizenNotified(false)
                 .build();
-        Report saved = reportRepository.save(report);
+        Report saved = saveAndPublish(report);
+        attachmentIngestion.record(staged, Attachment.REPORT, saved.getId());
+        attachmentIngestion.promote(staged, Paths.get(REPORT_UPLOAD_DIR));
         log.info("Report {} submitted by {} for complaint {}",
                 saved.getId(), officerEmail, complaintId);
         return saved;
@@ -104,7 +132,7 @@ public class ReportService {
         report.setActionTaken(actionTaken);
         report.setDescription(description);
         report.setRecommendations(recommendations);
-        return reportRepository.save(report);
+        return saveAndPublish(report);
     }
     public Report getReportByComplaintId(Long complaintId) {
         return reportRepository.findByComplaintId(complaintId)
@@ -113,6 +141,13 @@ public class ReportService {
     public boolean hasReport(Long complaintId) {
         return reportRepository.existsByComplaintId(complaintId);
     }
+
+    /**
+     * Which of the given complaints already have a report (one query for bulk transitions)
+     */
+    public Set<Long> getComplaintIdsWithReport(Collection<Long> complaintIds) {
+        return new HashSet<>(reportRepository.findComplaintIdsWithReport(complaintIds));
+    }
     @Transactional
     public Report approveReport(Long reportId, String reviewedBy, String notes) {
         Report report = reportRepository.findById(reportId)
@@ -122,7 +157,7 @@ public class ReportService {
         report.setReviewedAt(LocalDateTime.now());
         report.setReviewNotes(notes);
         log.info("Report {} approved by {}", reportId, reviewedBy);
-        return reportRepository.save(report);
+        return saveAndPublish(report);
     }
     @Transactional
     public Report rejectReport(Long reportId, String reviewedBy, String notes) {
@@ -133,7 +168,7 @@ public class ReportService {
         report.setReviewedAt(LocalDateTime.now());
         report.setReviewNotes(notes);
         log.info("Report {} rejected by {}", reportId, reviewedBy);
-        return reportRepository.save(report);
+        return saveAndPublish(report);
     }
     public List<Report> getOfficerReports(String officerEmail) {
         return reportRepository.findByOfficerEmail(officerEmail);
@@ -153,16 +188,22 @@ public class ReportService {
     public long getTotalReportCount() {
         return reportRepository.count();
     }
+    /**
+     * Count reports submitted since the given time
+     */
+    public long getReportCountSince(LocalDateTime since) {
+        return reportRepository.countBySubmittedAtAfter(since);
+    }
     /**
      * Get pending report count
      */
     public long getPendingReportCount() {
         return reportRepository.countByStatus(Report.ReportStatus.SUBMITTED);
     }
-    private String getFileExtension(String filename) {
-        if (filename == null || !filename.contains(".")) {
-            return "";
-        }
-        return filename.substring(filename.lastIndexOf("."));
+    private Report saveAndPublish(Report report) {
+        Report saved = reportRepository.save(report);
+        eventPublisher.publishEvent(new ReportChangedEvent(
+                saved.getId(), saved.getComplaintId(), saved.getStatus()));
+        return saved;
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.resolveit.resloveitbackend.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size log-linear histogram of durations in minutes (HDR-style).
+ * Each power-of-two range is split into 32 linear sub-buckets, so any recorded
+ * value is reproduced within ~3%. Recording and percentile lookups never allocate.
+ */
+public class ResolutionHistogram {
+
+    private static final int SUB_BITS = 5;
+    private static final int SUB_COUNT = 1 << SUB_BITS;
+    // Values are clamped to 2^26 - 1 minutes (~127 years)
+    private static final int MAX_SHIFT = 20;
+    static final int BUCKET_COUNT = SUB_COUNT + (MAX_SHIFT + 1) * SUB_COUNT;
+    private static final long MAX_VALUE = bucketUpperBound(BUCKET_COUNT - 1);
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    public void record(long minutes) {
+        counts.incrementAndGet(indexOf(Math.max(0, Math.min(minutes, MAX_VALUE))));
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Value (minutes) at the given percentile (0-100), or null when empty
+     */
+    public Long getValueAtPercentile(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return null;
+        }
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return bucketMidpoint(i);
+            }
+        }
+        return bucketMidpoint(BUCKET_COUNT - 1);
+    }
+
+    public Long getMaxValue() {
+        for (int i = BUCKET_COUNT - 1; i >= 0; i--) {
+            if (counts.get(i) > 0) {
+                return bucketUpperBound(i);
+            }
+        }
+        return null;
+    }
+
+    // -------------------- Serialization (sparse "index:count" pairs) --------------------
+
+    public String encode() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(i).append(':').append(count);
+            }
+        }
+        return sb.toString();
+    }
+
+    public static ResolutionHistogram decode(String encoded) {
+        ResolutionHistogram histogram = new ResolutionHistogram();
+        if (encoded == null || encoded.isEmpty()) {
+            return histogram;
+        }
+        for (String pair : encoded.split(",")) {
+            int sep = pair.indexOf(':');
+            int index = Integer.parseInt(pair.substring(0, sep));
+            if (index >= 0 && index < BUCKET_COUNT) {
+                histogram.counts.addAndGet(index, Long.parseLong(pair.substring(sep + 1)));
+            }
+        }
+        return histogram;
+    }
+
+    // -------------------- Bucket math --------------------
+
+    static int indexOf(long value) {
+        if (value < SUB_COUNT) {
+            return (int) value;
+        }
+        // Bucket width is 2^shift; (value >>> shift) lands in [SUB_COUNT, 2 * SUB_COUNT)
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BITS;
+        int sub = (int) (value >>> shift) - SUB_COUNT;
+        return SUB_COUNT + shift * SUB_COUNT + sub;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_COUNT) {
+            return index;
+        }
+        int shift = (index - SUB_COUNT) / SUB_COUNT;
+        int sub = (index - SUB_COUNT) % SUB_COUNT;
+        return (long) (SUB_COUNT + sub) << shift;
+    }
+
+    static long bucketUpperBound(int index) {
+        return bucketLowerBound(index + 1) - 1;
+    }
+
+    private static long bucketMidpoint(int index) {
+        return (bucketLowerBound(index) + bucketUpperBound(index)) / 2;
+    }
+}
@@ -0,0 +1,236 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.Model.ResolutionHistogramSnapshot;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import com.resolveit.resloveitbackend.repository.ResolutionHistogramRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Resolution-time (closedAt - submittedAt) percentiles per category and priority
+ * (duplicates closed by a merge are not resolutions and are left out).
+ * resolution_histograms holds histograms of every closure up to its snapshotAt; it is only ever
+ * advanced from the database (closures in (snapshotAt, cutoff]), never from a node's memory.
+ * Each node rebuilds its in-memory view from that snapshot plus the closures after it, and
+ * counts new closures from ComplaintChangedEvent in between. An import of already-resolved
+ * complaints adds closures older than the snapshot, so it drops the snapshot for a full rebuild.
+ */
+@Service
+@Slf4j
+public class ResolutionPercentileService {
+
+    private static final String ALL = "ALL";
+    private static final String CATEGORY_PREFIX = "category:";
+    private static final String PRIORITY_PREFIX = "priority:";
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    /** Closures newer than this may still be in uncommitted transactions - left for the next advance */
+    private static final Duration COMMIT_LAG = Duration.ofMinutes(1);
+
+    private final ComplaintRepository complaintRepository;
+    private final ResolutionHistogramRepository histogramRepository;
+    private final SchedulerLeaseService leaseService;
+    private final Duration leaseTtl;
+    private final TransactionTemplate transaction;
+    private final TransactionTemplate readTransaction;
+
+    private volatile Map<String, ResolutionHistogram> histograms = new ConcurrentHashMap<>();
+
+    public ResolutionPercentileService(ComplaintRepository complaintRepository,
+                                       ResolutionHistogramRepository histogramRepository,
+                                       SchedulerLeaseService leaseService,
+                                       PlatformTransactionManager transactionManager,
+                                       @Value("${analytics.percentiles.persist-ms:300000}") long persistMs) {
+        this.complaintRepository = complaintRepository;
+        this.histogramRepository = histogramRepository;
+        this.leaseService = leaseService;
+        this.leaseTtl = Duration.ofMillis(persistMs * 9 / 10);
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Rebuild the in-memory histograms from the snapshot plus the closures after it,
+     * at startup and periodically (default every 5 minutes) to pick up other nodes' closures
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${analytics.percentiles.persist-ms:300000}",
+               initialDelayString = "${analytics.percentiles.persist-ms:300000}")
+    @Transactional(readOnly = true)
+    public void load() {
+        Map<String, ResolutionHistogram> rebuilt = new ConcurrentHashMap<>();
+        LocalDateTime since = decodeSnapshots(histogramRepository.findAll(), rebuilt);
+        long replayed = replay(rebuilt, since, LocalDateTime.now().plusDays(1));
+        histograms = rebuilt;
+        log.debug("Resolution histograms rebuilt - {} dimensions, {} closures replayed since {}",
+                rebuilt.size(), replayed, since);
+    }
+
+    /**
+     * Advance the shared snapshot (default every 5 minutes, one node per interval):
+     * add the closures committed since its snapshotAt, up to a cutoff taken before reading
+     */
+    @Scheduled(fixedDelayString = "${analytics.percentiles.persist-ms:300000}",
+               initialDelayString = "${analytics.percentiles.persist-ms:300000}")
+    @Transactional
+    public void persist() {
+        if (!leaseService.tryAcquire("resolution-histograms", leaseTtl)) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(COMMIT_LAG);
+        List<ResolutionHistogramSnapshot> snapshots = histogramRepository.findAllForUpdate();
+        Map<String, ResolutionHistogram> advanced = new HashMap<>();
+        LocalDateTime since = decodeSnapshots(snapshots, advanced);
+        if (!cutoff.isAfter(since)) {
+            return;
+        }
+        long added = replay(advanced, since, cutoff);
+
+        Map<String, ResolutionHistogramSnapshot> existing = snapshots.stream()
+                .collect(Collectors.toMap(ResolutionHistogramSnapshot::getDimension, Function.identity()));
+        List<ResolutionHistogramSnapshot> toSave = new ArrayList<>();
+        advanced.forEach((dimension, histogram) -> {
+            ResolutionHistogramSnapshot snapshot = existing.getOrDefault(dimension,
+                    ResolutionHistogramSnapshot.builder().dimension(dimension).build());
+            snapshot.setCounts(histogram.encode());
+            snapshot.setSnapshotAt(cutoff);
+            toSave.add(snapshot);
+        });
+        if (toSave.stream().noneMatch(snapshot -> ALL.equals(snapshot.getDimension()))) {
+            toSave.add(ResolutionHistogramSnapshot.builder()
+                    .dimension(ALL).counts(new ResolutionHistogram().encode()).snapshotAt(cutoff).build());
+        }
+        histogramRepository.saveAll(toSave);
+        log.debug("Resolution histogram snapshot advanced to {} with {} closures", cutoff, added);
+    }
+
+    /**
+     * Imported RESOLVED complaints closed before the snapshot would never be replayed -
+     * drop the snapshot (the next advance rebuilds it from every closure) and rebuild this node's view.
+     * The delete waits for an advance in progress, which holds the snapshot rows locked.
+     */
+    @EventListener
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        if (event.getFirstClosedDate() == null) {
+            return;
+        }
+        transaction.executeWithoutResult(tx -> histogramRepository.deleteAllSnapshots());
+        readTransaction.executeWithoutResult(tx -> load());
+        log.info("Resolution histograms rebuilt after importing closures from {} to {}",
+                event.getFirstClosedDate(), event.getLastClosedDate());
+    }
+
+    /**
+     * Decode snapshots into the given map - returns the snapshotAt they are complete up to
+     */
+    private static LocalDateTime decodeSnapshots(List<ResolutionHistogramSnapshot> snapshots,
+                                                 Map<String, ResolutionHistogram> target) {
+        LocalDateTime since = EPOCH;
+        for (ResolutionHistogramSnapshot snapshot : snapshots) {
+            target.put(snapshot.getDimension(), ResolutionHistogram.decode(snapshot.getCounts()));
+            if (ALL.equals(snapshot.getDimension())) {
+                since = snapshot.getSnapshotAt();
+            }
+        }
+        return since;
+    }
+
+    private long replay(Map<String, ResolutionHistogram> target, LocalDateTime since, LocalDateTime until) {
+        long replayed = 0;
+        try (Stream<Object[]> rows = complaintRepository.streamResolutionTimesBetween(since, until)) {
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                Object[] row = it.next();
+                record(target, (String) row[0], (ComplaintPriority) row[1],
+                        (LocalDateTime) row[2], (LocalDateTime) row[3]);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintChangedEvent.State after = event.getAfter();
+        boolean becameResolved = after.getStatus() == ComplaintStatus.RESOLVED && !after.isMerged()
+                && (event.getBefore() == null || event.getBefore().getStatus() != ComplaintStatus.RESOLVED);
+        if (becameResolved) {
+            record(histograms, after.getCategory(), after.getPriority(), after.getSubmittedAt(), after.getClosedAt());
+        }
+    }
+
+    private static void record(Map<String, ResolutionHistogram> target, String category, ComplaintPriority priority,
+                               LocalDateTime submittedAt, LocalDateTime closedAt) {
+        if (submittedAt == null || closedAt == null) {
+            return;
+        }
+        long minutes = Duration.between(submittedAt, closedAt).toMinutes();
+        histogram(target, ALL).record(minutes);
+        if (category != null) {
+            histogram(target, CATEGORY_PREFIX + category).record(minutes);
+        }
+        if (priority != null) {
+            histogram(target, PRIORITY_PREFIX + priority.name()).record(minutes);
+        }
+    }
+
+    private static ResolutionHistogram histogram(Map<String, ResolutionHistogram> target, String dimension) {
+        return target.computeIfAbsent(dimension, key -> new ResolutionHistogram());
+    }
+
+    /**
+     * p50/p90/p99/max resolution hours overall, per category and per priority
+     */
+    public Map<String, Object> getPercentiles() {
+        Map<String, ResolutionHistogram> current = histograms;
+        Map<String, Object> byCategory = new TreeMap<>();
+        Map<String, Object> byPriority = new TreeMap<>();
+        current.forEach((dimension, histogram) -> {
+            if (dimension.startsWith(CATEGORY_PREFIX)) {
+                byCategory.put(dimension.substring(CATEGORY_PREFIX.length()), summarize(histogram));
+            } else if (dimension.startsWith(PRIORITY_PREFIX)) {
+                byPriority.put(dimension.substring(PRIORITY_PREFIX.length()), summarize(histogram));
+            }
+        });
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("overall", summarize(histogram(current, ALL)));
+        result.put("byCategory", byCategory);
+        result.put("byPriority", byPriority);
+        return result;
+    }
+
+    private static Map<String, Object> summarize(ResolutionHistogram histogram) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50Hours", toHours(histogram.getValueAtPercentile(50)));
+        summary.put("p90Hours", toHours(histogram.getValueAtPercentile(90)));
+        summary.put("p99Hours", toHours(histogram.getValueAtPercentile(99)));
+        summary.put("maxHours", toHours(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static Double toHours(Long minutes) {
+        return minutes != null ? Math.round(minutes / 6.0) / 10.0 : null;
+    }
+}
@@ -0,0 +1,172 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintEscalatedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.event.ReportChangedEvent;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded, TTL-evicting cache for read-heavy analytics results.
+ * Concurrent callers for the same key share one computation, and every
+ * committed complaint/report change or escalation clears the cache so the next poll recomputes once.
+ * The cache is cleared after the in-memory views it reads (counters, workloads, SLA metrics) have
+ * applied the same event - otherwise a poll in between would cache the old view for a whole TTL.
+ */
+@Component
+@Slf4j
+public class ResultCache {
+
+    @Value("${analytics.cache.ttl-ms:30000}")
+    private long ttlMs;
+
+    @Value("${analytics.cache.max-entries:256}")
+    private int maxEntries;
+
+    /**
+     * Listener order for in-memory views read by cached computations - ahead of the invalidation
+     */
+    public static final int VIEW_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Return the cached value for key, or compute it with loader (once across concurrent callers)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        Entry[] created = new Entry[1];
+        Entry entry = entries.compute(key, (k, existing) -> {
+            if (existing != null && now - existing.createdAt < ttlMs) {
+                return existing;
+            }
+            created[0] = new Entry(now);
+            return created[0];
+        });
+
+        if (entry != created[0]) {
+            hits.increment();
+            return (T) await(entry);
+        }
+
+        misses.increment();
+        evictIfFull();
+        try {
+            T value = loader.get();
+            entry.value.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            entry.value.completeExceptionally(e);
+            entries.remove(key, entry);
+            throw e;
+        }
+    }
+
+    public void invalidateAll() {
+        if (!entries.isEmpty()) {
+            entries.clear();
+            invalidations.increment();
+        }
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReportChanged(ReportChangedEvent event) {
+        invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintEscalated(ComplaintEscalatedEvent event) {
+        invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onDeadlinesRecalculated(SlaDeadlinesRecalculatedEvent event) {
+        invalidateAll();
+    }
+
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        invalidateAll();
+    }
+
+    public Map<String, Object> getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("size", entries.size());
+        stats.put("hits", hitCount);
+        stats.put("misses", missCount);
+        stats.put("hitRate", hitCount + missCount > 0
+                ? Math.round(hitCount * 1000.0 / (hitCount + missCount)) / 10.0 : 0.0);
+        stats.put("evictions", evictions.sum());
+        stats.put("invalidations", invalidations.sum());
+        return stats;
+    }
+
+    /**
+     * Drop the oldest entries once the cache grows past maxEntries
+     */
+    private void evictIfFull() {
+        while (entries.size() > maxEntries) {
+            entries.entrySet().stream()
+                    .min(Comparator.comparingLong(e -> e.getValue().createdAt))
+                    .ifPresent(oldest -> {
+                        if (entries.remove(oldest.getKey(), oldest.getValue())) {
+                            evictions.increment();
+                        }
+                    });
+        }
+    }
+
+    private static Object await(Entry entry) {
+        try {
+            return entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static class Entry {
+        private final long createdAt;
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+
+        Entry(long createdAt) {
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -1,26 +1,54 @@
 package com.resolveit.resloveitbackend.service;
 
 import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintEscalation;
 import com.resolveit.resloveitbackend.Model.ComplaintPriority;
 import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.dto.ComplaintStateDTO;
+import com.resolveit.resloveitbackend.dto.SLAMetricsDTO;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintEscalatedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintEscalationRepository;
 import com.resolveit.resloveitbackend.repository.ComplaintRepository;
-import lombok.Data;
-import lombok.Builder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Service
 @Slf4j
 public class SLAService {
 
     private final ComplaintRepository complaintRepository;
+    private final ComplaintEscalationRepository escalationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate chunkTransaction;
+    private final SlaCalendar calendar;
+    private final NotificationOutboxService notifications;
+    private final ResultCache resultCache;
+
+    private volatile SLAMetricsDTO metricsSnapshot;
+    private volatile long metricsSnapshotAt;
+    private final AtomicBoolean metricsStale = new AtomicBoolean(true);
+    private final AtomicBoolean metricsRefreshing = new AtomicBoolean();
+
+    @Value("${sla.metrics.max-age-ms:60000}")
+    private long metricsMaxAgeMs;
 
     @Value("${sla.triage.hours:24}")
     private int triageHours;
@@ -46,8 +74,27 @@ public class SLAService {
     @Value("${sla.response.low:24}")
     private int responseLowPriority;
 
-    public SLAService(ComplaintRepository complaintRepository) {
+    @Value("${escalation.max.level:3}")
+    private int maxEscalationLevel;
+
+    @Value("${escalation.batch.chunk-size:500}")
+    private int escalationChunkSize;
+
+    public SLAService(ComplaintRepository complaintRepository,
+                      ComplaintEscalationRepository escalationRepository,
+                      ApplicationEventPublisher eventPublisher,
+                      PlatformTransactionManager transactionManager,
+                      SlaCalendar calendar,
+                      NotificationOutboxService notifications,
+                      ResultCache resultCache) {
         this.complaintRepository = complaintRepository;
+        this.escalationRepository = escalationRepository;
+        this.eventPublisher = eventPublisher;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.calendar = calendar;
+        this.notifications = notifications;
+        this.resultCache = resultCache;
     }
 
     // -------------------- Getter methods for controller/monitoring --------------------
@@ -75,6 +122,17 @@ public class SLAService {
         return responseLowPriority;
     }
 
+    public int getTriageHours() {
+        return triageHours;
+    }
+
+    /**
+     * Calculate triage due time (working hours when the SLA calendar is enabled)
+     */
+    public LocalDateTime calculateTriageSlaDue(LocalDateTime startTime) {
+        return calendar.addBusinessHours(startTime, triageHours);
+    }
+
     /**
      * Calculate SLA due time based on priority
      */
@@ -85,7 +143,7 @@ public class SLAService {
             case LOW -> resolutionLowPriority;
         };
         
-        return startTime.plusHours(hours);
+        return calendar.addBusinessHours(startTime, hours);
     }
 
     /**
@@ -98,7 +156,7 @@ public class SLAService {
             case LOW -> responseLowPriority;
         };
         
-        return startTime.plusHours(hours);
+        return calendar.addBusinessHours(startTime, hours);
     }
 
     /**
@@ -109,7 +167,7 @@ public class SLAService {
         LocalDateTime now = LocalDateTime.now();
        
         complaint.setSlaStart(now);
-        complaint.setTriageSlaDue(now.plusHours(triageHours)); // 24hrs fixed
+        complaint.setTriageSlaDue(calculateTriageSlaDue(now)); // 24hrs fixed
         complaint.setSlaPhase("TRIAGE");
         complaint.setTriageBreached(false);
         complaint.setSlaDue(complaint.getTriageSlaDue()); // Set main SLA for compatibility
@@ -130,7 +188,7 @@ public class SLAService {
      * Update SLA when priority changes
      */
     @Transactional
-    public void recalculateSLA(Complaint complaint, ComplaintPriority newPriority) {
+    public void recalculateSLA(ComplaintStateDTO complaint, ComplaintPriority newPriority) {
         if ("RESOLUTION".equals(complaint.getSlaPhase())) {
             LocalDateTime now = LocalDateTime.now();
             complaint.setPrioritySetAt(now);
@@ -149,7 +207,7 @@ public class SLAService {
      * ✅ CORRECT: Transition to RESOLUTION SLA when admin assigns officer
      */
     @Transactional
-    public void transitionToResolutionSLA(Complaint complaint, ComplaintPriority priority) {
+    public void transitionToResolutionSLA(ComplaintStateDTO complaint, ComplaintPriority priority) {
         LocalDateTime now = LocalDateTime.now();
        
         // Check if triage was breached
@@ -158,15 +216,8 @@ public class SLAService {
             log.warn("⚠️ Complaint {} assigned AFTER triage breach", complaint.getId());
         }
        
-        // Calculate resolution SLA based on priority
-        int resolutionHours = switch (priority) {
-            case HIGH -> resolutionHighPriority;
-            case MEDIUM -> resolutionMediumPriority;
-            case LOW -> resolutionLowPriority;
-        };
-       
         complaint.setSlaPhase("RESOLUTION");
-        complaint.setResolutionSlaDue(now.plusHours(resolutionHours));
+        complaint.setResolutionSlaDue(calculateSlaDue(priority, now)); // Based on priority
         complaint.setPrioritySetAt(now);
         complaint.setSlaDue(complaint.getResolutionSlaDue()); // Update main SLA field
         complaint.setResponseSladue(calculateResponseSlaDue(priority, now));
@@ -182,28 +233,67 @@ public class SLAService {
         return complaint.getSlaDue() != null &&
                LocalDateTime.now().isAfter(complaint.getSlaDue()) &&
                complaint.getStatus() != ComplaintStatus.RESOLVED &&
-               complaint.getEscalationLevel() < 3;
+               complaint.getEscalationLevel() < maxEscalationLevel;
     }
 
     /**
-     * Escalate overdue complaints
+     * Escalate overdue complaints.
+     * Walks overdue ids in keyset-ordered chunks; each chunk is one bulk UPDATE
+     * in its own short transaction, so a large backlog runs with flat memory use
+     * and no long-held locks.
      */
-    @Transactional
     public int escalateOverdueComplaints() {
-        List<Complaint> overdueComplaints = complaintRepository.findOverdueComplaints();
+        LocalDateTime now = LocalDateTime.now();
         int escalated = 0;
+        long afterId = 0;
 
-        for (Complaint complaint : overdueComplaints) {
-            if (needsEscalation(complaint)) {
-                escalateComplaint(complaint);
-                escalated++;
+        while (true) {
+            List<Object[]> candidates = complaintRepository.findEscalationCandidates(
+                    afterId, now, maxEscalationLevel, PageRequest.of(0, escalationChunkSize));
+            if (candidates.isEmpty()) {
+                break;
             }
+            afterId = (Long) candidates.get(candidates.size() - 1)[0];
+            Integer count = chunkTransaction.execute(tx -> escalateChunk(candidates, now));
+            escalated += count != null ? count : 0;
         }
 
         log.info("Escalated {} overdue complaints", escalated);
         return escalated;
     }
 
+    /**
+     * Escalate one chunk of candidates - runs inside the chunk transaction.
+     * The candidate page was read outside it, so the rows are re-checked and locked first:
+     * a complaint escalated in between (timer, another node) is skipped instead of moving two levels.
+     */
+    private int escalateChunk(List<Object[]> candidates, LocalDateTime now) {
+        List<Long> ids = new ArrayList<>(candidates.size());
+        for (Object[] row : candidates) {
+            ids.add((Long) row[0]);
+        }
+
+        List<Long> escalatedIds = new ArrayList<>(ids.size());
+        Map<Long, Integer> newLevels = new HashMap<>();
+        for (Object[] row : complaintRepository.lockEscalationCandidates(ids, now, maxEscalationLevel)) {
+            Long id = ((Number) row[0]).longValue();
+            escalatedIds.add(id);
+            newLevels.put(id, ((Number) row[1]).intValue() + 1);
+        }
+        if (escalatedIds.isEmpty()) {
+            return 0;
+        }
+
+        LocalDateTime escalatedAt = LocalDateTime.now();
+        int updated = complaintRepository.bulkEscalate(escalatedIds, now, maxEscalationLevel);
+        escalationRepository.insertForComplaints(escalatedIds, "SLA breach", escalatedAt);
+        notifications.notifyBulkEscalation(escalatedIds, "SLA breach");
+        newLevels.forEach((id, level) ->
+                eventPublisher.publishEvent(new ComplaintEscalatedEvent(id, level, "SLA breach", escalatedAt)));
+        log.debug("Escalation chunk of {} candidates - {} escalated", ids.size(), updated);
+        return updated;
+    }
+
     /**
      * Escalate a single complaint
      */
@@ -211,30 +301,20 @@ public class SLAService {
     public void escalateComplaint(Complaint complaint) {
         int currentLevel = complaint.getEscalationLevel();
         complaint.setEscalationLevel(currentLevel + 1);
-        
-        // Build escalation history JSON
-        String escalationEntry = String.format(
-            "{\"escalated_at\":\"%s\",\"level\":%d,\"reason\":\"SLA breach\"}",
-            LocalDateTime.now(),
-            currentLevel + 1
-        );
-        
-        String history = complaint.getEscalationHistory();
-        if (history == null || history.isEmpty() || history.equals("[]")) {
-            complaint.setEscalationHistory("[" + escalationEntry + "]");
-        } else {
-            // Append to existing array
-            complaint.setEscalationHistory(
-                history.substring(0, history.length() - 1) + "," + escalationEntry + "]"
-            );
-        }
+        LocalDateTime escalatedAt = LocalDateTime.now();
         
         complaintRepository.save(complaint);
+        recordEscalation(complaint.getId(), currentLevel + 1, "SLA breach", escalatedAt);
+        eventPublisher.publishEvent(new ComplaintEscalatedEvent(
+                complaint.getId(), complaint.getEscalationLevel(), "SLA breach", escalatedAt));
         
         log.warn("Complaint {} escalated to level {}", 
                 complaint.getId(), complaint.getEscalationLevel());
         
-        // TODO: Send notification to higher authorities
+        // Queued in this transaction - delivered by OutboxDispatcher after commit
+        notifications.notifyEscalation(NotificationOutboxService.ESCALATION,
+                "Complaint #" + complaint.getId() + " escalated to level " + complaint.getEscalationLevel(),
+                describe(complaint, "SLA breach"));
     }
 
     /**
@@ -242,16 +322,9 @@ public class SLAService {
      */
     public List<Complaint> getTriageCriticalComplaints() {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime alertThreshold = now.plusHours(9); // 9hrs remaining = alert
+        LocalDateTime alertThreshold = calendar.addBusinessHours(now, 9); // 9hrs remaining = alert
        
-        return complaintRepository.findAll().stream()
-                .filter(c -> "TRIAGE".equals(c.getSlaPhase()))
-                .filter(c -> c.getStatus() == ComplaintStatus.PENDING)
-                .filter(c -> c.getTriageSlaDue() != null)
-                .filter(c -> c.getTriageSlaDue().isBefore(alertThreshold))
-                .filter(c -> c.getTriageSlaDue().isAfter(now)) // Not yet breached
-                .sorted((a, b) -> a.getTriageSlaDue().compareTo(b.getTriageSlaDue()))
-                .collect(Collectors.toList());
+        return complaintRepository.findTriageDueBetween(now, alertThreshold); // Not yet breached, soonest first
     }
    
     /**
@@ -260,12 +333,22 @@ public class SLAService {
     public List<Complaint> getTriageOverdueComplaints() {
         LocalDateTime now = LocalDateTime.now();
        
-        return complaintRepository.findAll().stream()
-                .filter(c -> "TRIAGE".equals(c.getSlaPhase()))
-                .filter(c -> c.getStatus() == ComplaintStatus.PENDING)
-                .filter(c -> c.getTriageSlaDue() != null)
-                .filter(c -> now.isAfter(c.getTriageSlaDue()))
-                .collect(Collectors.toList());
+        return complaintRepository.findTriageOverdue(now);
+    }
+   
+    /**
+     * Count of complaints in the triage alert window (not yet breached)
+     */
+    public long countTriageCriticalComplaints() {
+        LocalDateTime now = LocalDateTime.now();
+        return complaintRepository.countTriageDueBetween(now, calendar.addBusinessHours(now, 9));
+    }
+
+    /**
+     * Count of complaints with breached triage SLA
+     */
+    public long countTriageOverdueComplaints() {
+        return complaintRepository.countTriageOverdue(LocalDateTime.now());
     }
    
     /**
@@ -277,67 +360,231 @@ public class SLAService {
         int escalated = 0;
        
         for (Complaint complaint : overdueComplaints) {
-            complaint.setTriageBreached(true);
-            complaint.setEscalationLevel(1);
-           
-            // Build escalation history
-            String escalationEntry = String.format(
-                "{\"escalated_at\":\"%s\",\"level\":1,\"reason\":\"Triage SLA breach - no officer assigned\"}",
-                LocalDateTime.now()
-            );
-            complaint.setEscalationHistory("[" + escalationEntry + "]");
-           
-            complaintRepository.save(complaint);
+            if (!needsTriageEscalation(complaint)) {
+                continue; // already escalated, or imported as breached
+            }
+            escalateTriageBreach(complaint);
             escalated++;
-           
-            log.error("🚨 TRIAGE BREACH: Complaint {} not assigned within 24hrs", complaint.getId());
-           
-            // TODO: Send urgent notifications
-            // emailService.notifyAdminTriageBreach(complaint);
-            // smsService.alertManagement(complaint);
         }
        
         log.warn("🚨 Escalated {} complaints for triage SLA breach", escalated);
         return escalated;
     }
+
+    /**
+     * Escalate a single triage breach (no officer assigned in time)
+     */
+    @Transactional
+    public void escalateTriageBreach(Complaint complaint) {
+        complaint.setTriageBreached(true);
+        complaint.setEscalationLevel(1);
+        LocalDateTime escalatedAt = LocalDateTime.now();
+       
+        complaintRepository.save(complaint);
+        recordEscalation(complaint.getId(), 1, "Triage SLA breach - no officer assigned", escalatedAt);
+        eventPublisher.publishEvent(new ComplaintEscalatedEvent(
+                complaint.getId(), 1, "Triage SLA breach - no officer assigned", escalatedAt));
+       
+        log.error("🚨 TRIAGE BREACH: Complaint {} not assigned within 24hrs", complaint.getId());
+       
+        notifications.notifyEscalation(NotificationOutboxService.TRIAGE_BREACH,
+                "URGENT: Complaint #" + complaint.getId() + " not assigned within triage SLA",
+                describe(complaint, "Triage SLA breach - no officer assigned"));
+    }
+
+    private String describe(Complaint complaint, String reason) {
+        return "Complaint #" + complaint.getId() + " \"" + complaint.getTitle() + "\" ("
+                + complaint.getPriority() + ", " + complaint.getStatus() + ") was escalated to level "
+                + complaint.getEscalationLevel() + " - reason: " + reason + ". Assigned to: "
+                + (complaint.getAssignedTo() != null ? complaint.getAssignedTo() : "unassigned")
+                + ". SLA due: " + (complaint.getSlaDue() != null ? complaint.getSlaDue() : "-") + ".";
+    }
+
+    /**
+     * Append an entry to the complaint's escalation history
+     */
+    private void recordEscalation(Long complaintId, int level, String reason, LocalDateTime escalatedAt) {
+        escalationRepository.save(ComplaintEscalation.builder()
+                .complaintId(complaintId)
+                .level(level)
+                .reason(reason)
+                .escalatedAt(escalatedAt)
+                .build());
+    }
+
+    /**
+     * Check if complaint has breached triage and has not been escalated for it yet
+     */
+    public boolean needsTriageEscalation(Complaint complaint) {
+        return "TRIAGE".equals(complaint.getSlaPhase()) &&
+               complaint.getStatus() == ComplaintStatus.PENDING &&
+               complaint.getTriageSlaDue() != null &&
+               LocalDateTime.now().isAfter(complaint.getTriageSlaDue()) &&
+               !Boolean.TRUE.equals(complaint.getTriageBreached());
+    }
+
+    /**
+     * Escalate one complaint whose SLA timer fired, if it is still in breach.
+     * Returns the complaint (null if it no longer exists) so the timer can decide whether to re-arm.
+     */
+    @Transactional
+    public Complaint escalateIfBreached(Long complaintId) {
+        Complaint complaint = complaintRepository.findById(complaintId).orElse(null);
+        if (complaint == null) {
+            return null;
+        }
+        if (needsTriageEscalation(complaint)) {
+            escalateTriageBreach(complaint);
+        } else if (needsEscalation(complaint)) {
+            escalateComplaint(complaint);
+        }
+        return complaint;
+    }
    
     /**
-     * ✅ Scheduled job - runs every hour
+     * Manual sweep for triage breaches - breaches are normally escalated
+     * as they happen by SlaTimerService
      */
-    @Scheduled(cron = "0 0 * * * *")
     public void checkTriageBreaches() {
         log.info("🔍 Checking for triage SLA breaches...");
         escalateTriageBreaches();
     }
 
+    // -------------------- SLA metrics --------------------
+
     /**
-     * Get SLA metrics
+     * Get SLA metrics - served from the in-memory snapshot.
+     * A complaint change marks the snapshot stale; the next caller re-runs the
+     * aggregate query while concurrent callers keep getting the previous snapshot.
+     * The snapshot also expires after sla.metrics.max-age-ms because "overdue" moves with the clock.
      */
-    public SLAMetrics getSLAMetrics() {
-        long total = complaintRepository.count();
-        long overdue = complaintRepository.countOverdueComplaints();
-        long resolvedOnTime = complaintRepository.countResolvedOnTime();
-        long resolvedLate = complaintRepository.countResolvedLate();
-        
-        double complianceRate = total > 0 ? 
-            ((double) resolvedOnTime / (resolvedOnTime + resolvedLate)) * 100 : 0;
-        
-        return SLAMetrics.builder()
-            .totalComplaints(total)
-            .overdueComplaints(overdue)
-            .resolvedOnTime(resolvedOnTime)
-            .resolvedLate(resolvedLate)
-            .slaComplianceRate(complianceRate)
-            .build();
-    }
-
-    @Data
-    @Builder
-    public static class SLAMetrics {
-        private Long totalComplaints;
-        private Long overdueComplaints;
-        private Long resolvedOnTime;
-        private Long resolvedLate;
-        private Double slaComplianceRate;
+    public SLAMetricsDTO getSLAMetrics() {
+        SLAMetricsDTO snapshot = metricsSnapshot;
+        if (snapshot == null) {
+            return refreshSLAMetrics();
+        }
+        boolean expired = System.currentTimeMillis() - metricsSnapshotAt > metricsMaxAgeMs;
+        if ((metricsStale.get() || expired) && metricsRefreshing.compareAndSet(false, true)) {
+            try {
+                return refreshSLAMetrics();
+            } finally {
+                metricsRefreshing.set(false);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * Recompute the SLA metrics snapshot (one aggregate query)
+     */
+    public synchronized SLAMetricsDTO refreshSLAMetrics() {
+        // Cleared before the query so a change committed meanwhile marks it stale again
+        metricsStale.set(false);
+        SLAMetricsDTO metrics = complaintRepository.getSlaMetrics(LocalDateTime.now());
+        metricsSnapshot = metrics;
+        metricsSnapshotAt = System.currentTimeMillis();
+        return metrics;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedSLAMetrics() {
+        refreshSLAMetrics();
+    }
+
+    @Order(ResultCache.VIEW_ORDER)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onComplaintChanged(ComplaintChangedEvent event) {
+        metricsStale.set(true);
+    }
+
+    @Order(ResultCache.VIEW_ORDER)
+    @EventListener
+    public void onDeadlinesRecalculated(SlaDeadlinesRecalculatedEvent event) {
+        metricsStale.set(true);
+    }
+
+    @Order(ResultCache.VIEW_ORDER)
+    @EventListener
+    public void onComplaintsImported(ComplaintsImportedEvent event) {
+        metricsStale.set(true);
+    }
+
+    /**
+     * SLA metrics per submission day and priority for the last N days, plus a per-day rollup
+     */
+    public Map<String, Object> getSLAMetricsByDay(int days) {
+        return resultCache.get("sla-metrics-by-day:" + days, () -> computeSLAMetricsByDay(days));
+    }
+
+    private Map<String, Object> computeSLAMetricsByDay(int days) {
+        LocalDateTime since = LocalDate.now().minusDays(days - 1L).atStartOfDay();
+        List<Map<String, Object>> byPriority = new ArrayList<>();
+        Map<LocalDate, MetricsBucket> byDay = new TreeMap<>();
+
+        for (Object[] row : complaintRepository.getSlaMetricBuckets(since, LocalDateTime.now())) {
+            LocalDate day = (LocalDate) row[0];
+            MetricsBucket bucket = new MetricsBucket();
+            bucket.add(row);
+            byDay.computeIfAbsent(day, d -> new MetricsBucket()).add(row);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("day", day);
+            entry.put("priority", row[1]);
+            entry.putAll(bucket.toMap());
+            byPriority.add(entry);
+        }
+
+        List<Map<String, Object>> daily = new ArrayList<>();
+        byDay.forEach((day, bucket) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("day", day);
+            entry.putAll(bucket.toMap());
+            daily.add(entry);
+        });
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("since", since.toLocalDate());
+        result.put("byDay", daily);
+        result.put("byDayAndPriority", byPriority);
+        return result;
+    }
+
+    /**
+     * Summed counters of one or more getSlaMetricBuckets rows
+     */
+    private static class MetricsBucket {
+        private long total;
+        private long overdue;
+        private long resolvedOnTime;
+        private long resolvedLate;
+        private long resolved;
+        private long resolutionHours;
+
+        void add(Object[] row) {
+            total += toLong(row[2]);
+            overdue += toLong(row[3]);
+            resolvedOnTime += toLong(row[4]);
+            resolvedLate += toLong(row[5]);
+            resolved += toLong(row[6]);
+            resolutionHours += toLong(row[7]);
+        }
+
+        Map<String, Object> toMap() {
+            long withDeadline = resolvedOnTime + resolvedLate;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("totalComplaints", total);
+            map.put("overdueComplaints", overdue);
+            map.put("resolvedOnTime", resolvedOnTime);
+            map.put("resolvedLate", resolvedLate);
+            map.put("slaComplianceRate", withDeadline == 0 ? 100.0
+                    : Math.round(resolvedOnTime * 1000.0 / withDeadline) / 10.0);
+            map.put("avgResolutionHours", resolved == 0 ? 0.0
+                    : Math.round(resolutionHours * 10.0 / resolved) / 10.0);
+            return map;
+        }
+
+        private static long toLong(Object value) {
+            return value != null ? ((Number) value).longValue() : 0;
+        }
     }
 }
\ No newline at end of file
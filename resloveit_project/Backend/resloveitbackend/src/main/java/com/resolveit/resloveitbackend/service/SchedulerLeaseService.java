@@ -0,0 +1,99 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DB-backed leases so scheduled jobs run on one node at a time when several
+ * backend replicas share the database. No external coordinator is needed -
+ * a lease is a row in scheduler_leases that expires unless its owner renews it.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+
+    private final SchedulerLeaseRepository leaseRepository;
+    private final TransactionTemplate leaseTransaction;
+    private final String nodeId;
+
+    /** Last outcome per lease for holdLease - avoids hitting the database on every tick */
+    private final Map<String, Held> held = new ConcurrentHashMap<>();
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${scheduler.node-id:}") String nodeId) {
+        this.leaseRepository = leaseRepository;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.nodeId = nodeId != null && !nodeId.isBlank() ? nodeId : defaultNodeId();
+        log.info("Scheduler node id: {}", this.nodeId);
+    }
+
+    /**
+     * Try to take (or extend) the lease for ttl. Commits on its own so other
+     * nodes see the lease immediately, even if the caller is inside a transaction.
+     * Interval jobs pass a ttl a little below their interval so each run is
+     * executed once cluster-wide and a dead node's lease simply lapses.
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        long ttlMicros = ttl.toNanos() / 1000;
+        try {
+            Boolean acquired = leaseTransaction.execute(tx ->
+                    leaseRepository.insertIfAbsent(name, nodeId, ttlMicros) > 0
+                            || leaseRepository.acquireOrRenew(name, nodeId, ttlMicros) > 0);
+            return Boolean.TRUE.equals(acquired);
+        } catch (Exception e) {
+            log.warn("Could not acquire scheduler lease '{}': {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Leader-style lease for jobs that tick often (e.g. every second).
+     * The database is only consulted every ttl/2: the holder renews, the others
+     * retry, so a dead leader is replaced within about 1.5 x ttl.
+     */
+    public boolean holdLease(String name, Duration ttl) {
+        long now = System.nanoTime();
+        Held last = held.get(name);
+        if (last != null && now - last.checkAfter < 0) {
+            return last.owned;
+        }
+        boolean owned = tryAcquire(name, ttl);
+        if (last == null || last.owned != owned) {
+            log.info("Scheduler lease '{}' {} by {}", name, owned ? "held" : "not held", nodeId);
+        }
+        held.put(name, new Held(owned, now + ttl.toNanos() / 2));
+        return owned;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        // RuntimeMXBean name is "pid@host"; the random suffix keeps restarts distinct
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getName().split("@")[0]
+                + ":" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    private record Held(boolean owned, long checkAfter) {
+    }
+}
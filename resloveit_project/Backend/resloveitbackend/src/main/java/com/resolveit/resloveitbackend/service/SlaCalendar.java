@@ -0,0 +1,204 @@
+package com.resolveit.resloveitbackend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Working-hours calendar for SLA deadlines.
+ * The weekly hours and holiday list are compiled at startup into minute-offset tables
+ * covering sla.calendar.horizon-years either side of today:
+ * - dayOffset[d]: working minutes before day d
+ * - profilePrefix[p][m]: working minutes before minute m of a day with profile p
+ * - workingMinute[k]: minute (since the table start) of the k-th working minute
+ * so "add N business minutes" is two array lookups. Deadlines are minute-precise.
+ * When disabled (the default) SLAs stay in wall-clock hours.
+ */
+@Component
+@Slf4j
+public class SlaCalendar {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int CLOSED = 0;
+
+    private final boolean enabled;
+    private final LocalDate tableStart;
+    private final int[] dayOffset;
+    private final byte[] dayProfile;
+    private final int[][] profilePrefix;
+    private final int[] workingMinute;
+
+    public SlaCalendar(@Value("${sla.calendar.enabled:false}") boolean enabled,
+                       @Value("${sla.calendar.working-hours:MON-FRI 09:00-17:00}") String workingHours,
+                       @Value("${sla.calendar.holidays:}") String holidays,
+                       @Value("${sla.calendar.horizon-years:5}") int horizonYears) {
+        this.enabled = enabled;
+        if (!enabled) {
+            tableStart = null;
+            dayOffset = null;
+            dayProfile = null;
+            profilePrefix = null;
+            workingMinute = null;
+            return;
+        }
+
+        // Profile 0 = closed (holidays), 1..7 = DayOfWeek.getValue()
+        boolean[][] open = new boolean[8][MINUTES_PER_DAY];
+        parseWorkingHours(workingHours, open);
+        profilePrefix = new int[8][MINUTES_PER_DAY + 1];
+        for (int p = 0; p < 8; p++) {
+            for (int m = 0; m < MINUTES_PER_DAY; m++) {
+                profilePrefix[p][m + 1] = profilePrefix[p][m] + (open[p][m] ? 1 : 0);
+            }
+        }
+
+        Set<LocalDate> holidayDates = parseHolidays(holidays);
+        LocalDate today = LocalDate.now();
+        tableStart = today.minusYears(horizonYears);
+        int days = (int) ChronoUnit.DAYS.between(tableStart, today.plusYears(horizonYears));
+
+        dayProfile = new byte[days];
+        dayOffset = new int[days + 1];
+        for (int d = 0; d < days; d++) {
+            LocalDate date = tableStart.plusDays(d);
+            dayProfile[d] = (byte) (holidayDates.contains(date) ? CLOSED : date.getDayOfWeek().getValue());
+            dayOffset[d + 1] = dayOffset[d] + profilePrefix[dayProfile[d]][MINUTES_PER_DAY];
+        }
+
+        workingMinute = new int[dayOffset[days]];
+        int k = 0;
+        for (int d = 0; d < days; d++) {
+            boolean[] profile = open[dayProfile[d]];
+            for (int m = 0; m < MINUTES_PER_DAY; m++) {
+                if (profile[m]) {
+                    workingMinute[k++] = d * MINUTES_PER_DAY + m;
+                }
+            }
+        }
+        log.info("SLA calendar compiled: {} to {}, {} working minutes, {} holidays",
+                tableStart, tableStart.plusDays(days), workingMinute.length, holidayDates.size());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Deadline that is the given number of working hours after start
+     */
+    public LocalDateTime addBusinessHours(LocalDateTime start, long hours) {
+        return addBusinessMinutes(start, hours * 60);
+    }
+
+    /**
+     * Deadline that is the given number of working minutes after start.
+     * Falls back to wall-clock minutes outside the compiled horizon.
+     */
+    public LocalDateTime addBusinessMinutes(LocalDateTime start, long minutes) {
+        LocalDateTime due = addBusinessMinutesWithinHorizon(start, minutes);
+        if (due == null) {
+            log.warn("SLA calendar horizon exceeded for {} + {} min - using wall-clock time", start, minutes);
+            return start.plusMinutes(minutes);
+        }
+        return due;
+    }
+
+    /**
+     * Same as addBusinessMinutes, but null (and no log) outside the compiled horizon -
+     * for bulk callers that count fallbacks themselves
+     */
+    public LocalDateTime addBusinessMinutesWithinHorizon(LocalDateTime start, long minutes) {
+        if (!enabled || minutes <= 0) {
+            return start.plusMinutes(minutes);
+        }
+        int offset = offsetOf(start);
+        long target = offset + minutes - 1;
+        if (offset < 0 || target >= workingMinute.length) {
+            return null;
+        }
+        // End of the last working minute needed
+        return tableStart.atStartOfDay().plusMinutes(workingMinute[(int) target] + 1L);
+    }
+
+    /**
+     * Working minutes before the minute containing time (-1 outside the horizon)
+     */
+    private int offsetOf(LocalDateTime time) {
+        long day = ChronoUnit.DAYS.between(tableStart, time.toLocalDate());
+        if (day < 0 || day >= dayProfile.length) {
+            return -1;
+        }
+        int d = (int) day;
+        return dayOffset[d] + profilePrefix[dayProfile[d]][time.getHour() * 60 + time.getMinute()];
+    }
+
+    /**
+     * "MON-FRI 09:00-17:00, SAT 09:00-13:00" - repeat a day for split shifts
+     */
+    private static void parseWorkingHours(String spec, boolean[][] open) {
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("\\s+");
+            String[] times = parts.length == 2 ? parts[1].split("-") : new String[0];
+            if (times.length != 2) {
+                throw new IllegalArgumentException("Invalid sla.calendar.working-hours entry: " + trimmed);
+            }
+            int from = minuteOfDay(times[0]);
+            int to = minuteOfDay(times[1]);
+            for (DayOfWeek day : parseDays(parts[0])) {
+                Arrays.fill(open[day.getValue()], from, to, true);
+            }
+        }
+    }
+
+    private static List<DayOfWeek> parseDays(String spec) {
+        String[] range = spec.split("-");
+        DayOfWeek first = parseDay(range[0]);
+        DayOfWeek last = range.length > 1 ? parseDay(range[1]) : first;
+        List<DayOfWeek> days = new ArrayList<>();
+        for (DayOfWeek day = first; ; day = day.plus(1)) {
+            days.add(day);
+            if (day == last) {
+                return days;
+            }
+        }
+    }
+
+    private static DayOfWeek parseDay(String name) {
+        String prefix = name.trim().toUpperCase(Locale.ROOT);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            if (prefix.length() >= 3 && day.name().startsWith(prefix)) {
+                return day;
+            }
+        }
+        throw new IllegalArgumentException("Invalid day in sla.calendar.working-hours: " + name);
+    }
+
+    private static int minuteOfDay(String time) {
+        if ("24:00".equals(time)) {
+            return MINUTES_PER_DAY;
+        }
+        LocalTime parsed = LocalTime.parse(time);
+        return parsed.getHour() * 60 + parsed.getMinute();
+    }
+
+    private static Set<LocalDate> parseHolidays(String spec) {
+        Set<LocalDate> dates = new HashSet<>();
+        for (String value : spec.split(",")) {
+            if (!value.isBlank()) {
+                dates.add(LocalDate.parse(value.trim()));
+            }
+        }
+        return dates;
+    }
+}
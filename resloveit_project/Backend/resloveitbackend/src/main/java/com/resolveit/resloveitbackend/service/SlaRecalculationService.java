@@ -0,0 +1,156 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rewrites the SLA deadlines of every open complaint from its original start times -
+ * run after changing the SLA calendar or SLA hours.
+ * Open complaints are read as a keyset-paged projection and written back with one
+ * JDBC batch per chunk, each chunk in its own transaction. The UPDATE is versioned like
+ * every other complaint write; rows changed in between are re-read and recalculated again.
+ * It also bumps updated_at: SlaDeadlinesRecalculatedEvent only reaches this node, and the SLA
+ * timer leader on another node picks the new deadlines up from its updated_at poll.
+ */
+@Service
+@Slf4j
+public class SlaRecalculationService {
+
+    private static final String UPDATE_DEADLINES =
+            "UPDATE complaints SET triage_sla_due = ?, resolution_sla_due = ?, response_sla_due = ?, " +
+            "sla_due = ?, updated_at = ?, version = COALESCE(version, 0) + 1 WHERE id = ? AND COALESCE(version, 0) = ?";
+
+    /** Attempts per chunk before rows that keep changing underneath are left as they are */
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final ComplaintRepository complaintRepository;
+    private final SLAService slaService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate chunkTransaction;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public SlaRecalculationService(ComplaintRepository complaintRepository,
+                                   SLAService slaService,
+                                   JdbcTemplate jdbcTemplate,
+                                   PlatformTransactionManager transactionManager,
+                                   ApplicationEventPublisher eventPublisher,
+                                   @Value("${sla.recalculation.chunk-size:5000}") int chunkSize) {
+        this.complaintRepository = complaintRepository;
+        this.slaService = slaService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Recalculate deadlines of all open complaints - returns the number updated
+     */
+    public int recalculateOpenDeadlines() {
+        long startNanos = System.nanoTime();
+        int updated = 0;
+        int skipped = 0;
+        long afterId = 0;
+
+        while (true) {
+            List<Object[]> rows = complaintRepository.findOpenSlaStarts(afterId, PageRequest.of(0, chunkSize));
+            if (rows.isEmpty()) {
+                break;
+            }
+            afterId = (Long) rows.get(rows.size() - 1)[0];
+
+            for (int attempt = 1; !rows.isEmpty(); attempt++) {
+                List<Object[]> batch = new ArrayList<>(rows.size());
+                Timestamp updatedAt = toTimestamp(LocalDateTime.now());
+                for (Object[] row : rows) {
+                    Object[] args = deadlinesFor(row, updatedAt);
+                    if (args != null) {
+                        batch.add(args);
+                    }
+                }
+                if (batch.isEmpty()) {
+                    break;
+                }
+                int[] counts = chunkTransaction.execute(tx -> jdbcTemplate.batchUpdate(UPDATE_DEADLINES, batch));
+
+                // SUCCESS_NO_INFO (-2) when the driver cannot report per-statement counts
+                List<Long> conflicted = new ArrayList<>();
+                for (int i = 0; i < batch.size(); i++) {
+                    if (counts[i] == 0) {
+                        conflicted.add((Long) batch.get(i)[5]);
+                    } else {
+                        updated++;
+                    }
+                }
+                if (conflicted.isEmpty()) {
+                    break;
+                }
+                if (attempt == MAX_ATTEMPTS) {
+                    skipped += conflicted.size();
+                    log.warn("SLA deadlines not recalculated for {} complaints that kept changing: {}",
+                            conflicted.size(), conflicted);
+                    break;
+                }
+                rows = complaintRepository.findOpenSlaStartsByIds(conflicted);
+            }
+        }
+
+        log.info("Recalculated SLA deadlines for {} open complaints in {} ms ({} skipped)",
+                updated, (System.nanoTime() - startNanos) / 1_000_000, skipped);
+        eventPublisher.publishEvent(new SlaDeadlinesRecalculatedEvent(updated));
+        return updated;
+    }
+
+    /**
+     * Row: [0] = id, [1] = slaPhase, [2] = priority, [3] = slaStart, [4] = prioritySetAt,
+     * [5] = triageSlaDue, [6] = resolutionSlaDue, [7] = responseSladue, [8] = version.
+     * Returns the UPDATE arguments, or null when there is nothing to recalculate from.
+     */
+    private Object[] deadlinesFor(Object[] row, Timestamp updatedAt) {
+        String phase = (String) row[1];
+        ComplaintPriority priority = (ComplaintPriority) row[2];
+        LocalDateTime slaStart = (LocalDateTime) row[3];
+        LocalDateTime prioritySetAt = (LocalDateTime) row[4];
+
+        LocalDateTime triageDue = slaStart != null ? slaService.calculateTriageSlaDue(slaStart) : (LocalDateTime) row[5];
+        LocalDateTime resolutionDue = (LocalDateTime) row[6];
+        LocalDateTime responseDue = (LocalDateTime) row[7];
+        LocalDateTime slaDue;
+
+        if ("RESOLUTION".equals(phase)) {
+            if (prioritySetAt == null || priority == null) {
+                return null;
+            }
+            resolutionDue = slaService.calculateSlaDue(priority, prioritySetAt);
+            responseDue = slaService.calculateResponseSlaDue(priority, prioritySetAt);
+            slaDue = resolutionDue;
+        } else {
+            if (slaStart == null) {
+                return null;
+            }
+            slaDue = triageDue;
+        }
+        return new Object[]{toTimestamp(triageDue), toTimestamp(resolutionDue), toTimestamp(responseDue),
+                toTimestamp(slaDue), updatedAt, row[0], ((Number) row[8]).intValue()};
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime time) {
+        return time != null ? Timestamp.valueOf(time) : null;
+    }
+}
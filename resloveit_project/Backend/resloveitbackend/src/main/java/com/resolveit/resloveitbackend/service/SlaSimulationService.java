@@ -0,0 +1,299 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.ComplaintPriority;
+import com.resolveit.resloveitbackend.dto.SlaPolicy;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * What-if replay of historical complaints against candidate SLA policies.
+ * submittedAt/assignedAt/closedAt/priority are streamed into primitive columns
+ * (no entities), then every policy is evaluated in one fork-join parallel scan.
+ * Triage runs from submission to assignment; resolution from assignment to closure -
+ * open complaints are measured against now.
+ */
+@Service
+@Slf4j
+public class SlaSimulationService {
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int LEAF_SIZE = 16_384;
+
+    // Counter slots per policy
+    private static final int TRIAGE_EVALUATED = 0;
+    private static final int TRIAGE_BREACHED = 1;
+    private static final int RESOLUTION_EVALUATED = 2;
+    private static final int RESOLUTION_BREACHED = 3;
+    private static final int ESCALATIONS = 4;
+    private static final int BREACHED_BY_PRIORITY = 5; // + priority ordinal
+    private static final int SLOTS = BREACHED_BY_PRIORITY + ComplaintPriority.values().length;
+
+    private final ComplaintRepository complaintRepository;
+    private final SLAService slaService;
+    private final SlaCalendar calendar;
+    private final TransactionTemplate readTransaction;
+    private final int maxLevel;
+    private final long repeatSeconds;
+
+    public SlaSimulationService(ComplaintRepository complaintRepository,
+                                SLAService slaService,
+                                SlaCalendar calendar,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${escalation.max.level:3}") int maxLevel,
+                                @Value("${escalation.timer.repeat-minutes:60}") long repeatMinutes) {
+        this.complaintRepository = complaintRepository;
+        this.slaService = slaService;
+        this.calendar = calendar;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxLevel = maxLevel;
+        this.repeatSeconds = repeatMinutes * 60;
+    }
+
+    /**
+     * Replay complaints submitted since the given time against the current policy plus the candidates
+     */
+    public Map<String, Object> simulate(LocalDateTime since, List<SlaPolicy> candidates) {
+        long startNanos = System.nanoTime();
+
+        List<SlaPolicy> policies = new ArrayList<>();
+        policies.add(resolve(SlaPolicy.builder().name("current").build()));
+        candidates = candidates != null ? candidates : List.of();
+        for (int i = 0; i < candidates.size(); i++) {
+            SlaPolicy policy = resolve(candidates.get(i));
+            if (policy.getName() == null || policy.getName().isBlank()) {
+                policy.setName("policy-" + (i + 1));
+            }
+            policies.add(policy);
+        }
+
+        Columns columns = readTransaction.execute(tx -> load(since != null ? since : LocalDateTime.of(1970, 1, 1, 0, 0)));
+        long loadedNanos = System.nanoTime();
+
+        long now = toEpoch(LocalDateTime.now());
+        LongAdder outsideHorizon = new LongAdder();
+        long[][] counters = ForkJoinPool.commonPool()
+                .invoke(new ScanTask(columns, policies, now, outsideHorizon, 0, columns.size));
+        if (outsideHorizon.sum() > 0) {
+            log.warn("SLA simulation: {} deadlines fell outside the SLA calendar horizon - used wall-clock time",
+                    outsideHorizon.sum());
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (int p = 0; p < policies.size(); p++) {
+            results.add(toResult(policies.get(p), counters[p]));
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("complaints", columns.size);
+        response.put("policies", results);
+        response.put("deadlinesOutsideCalendarHorizon", outsideHorizon.sum());
+        response.put("loadMs", (loadedNanos - startNanos) / 1_000_000);
+        response.put("scanMs", (System.nanoTime() - loadedNanos) / 1_000_000);
+        return response;
+    }
+
+    private SlaPolicy resolve(SlaPolicy policy) {
+        return SlaPolicy.builder()
+                .name(policy.getName())
+                .triageHours(policy.getTriageHours() != null ? policy.getTriageHours() : slaService.getTriageHours())
+                .resolutionHigh(policy.getResolutionHigh() != null ? policy.getResolutionHigh() : slaService.getSlaHighPriority())
+                .resolutionMedium(policy.getResolutionMedium() != null ? policy.getResolutionMedium() : slaService.getSlaMediumPriority())
+                .resolutionLow(policy.getResolutionLow() != null ? policy.getResolutionLow() : slaService.getSlaLowPriority())
+                .build();
+    }
+
+    private Columns load(LocalDateTime since) {
+        long expected = complaintRepository.countSimulationRows(since);
+        Columns columns = new Columns((int) Math.min(Integer.MAX_VALUE - 8, Math.max(1024, expected)));
+        try (Stream<Object[]> rows = complaintRepository.streamSimulationRows(since)) {
+            Iterator<Object[]> it = rows.iterator();
+            while (it.hasNext()) {
+                Object[] row = it.next();
+                columns.add(toEpoch((LocalDateTime) row[0]), toEpoch((LocalDateTime) row[1]),
+                        toEpoch((LocalDateTime) row[2]), (ComplaintPriority) row[3]);
+            }
+        }
+        return columns;
+    }
+
+    private Map<String, Object> toResult(SlaPolicy policy, long[] c) {
+        Map<String, Long> breachedByPriority = new LinkedHashMap<>();
+        for (ComplaintPriority priority : ComplaintPriority.values()) {
+            breachedByPriority.put(priority.name(), c[BREACHED_BY_PRIORITY + priority.ordinal()]);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("policy", policy);
+        result.put("triageEvaluated", c[TRIAGE_EVALUATED]);
+        result.put("triageBreaches", c[TRIAGE_BREACHED]);
+        result.put("triageComplianceRate", complianceRate(c[TRIAGE_EVALUATED], c[TRIAGE_BREACHED]));
+        result.put("resolutionEvaluated", c[RESOLUTION_EVALUATED]);
+        result.put("resolutionBreaches", c[RESOLUTION_BREACHED]);
+        result.put("resolutionComplianceRate", complianceRate(c[RESOLUTION_EVALUATED], c[RESOLUTION_BREACHED]));
+        result.put("resolutionBreachesByPriority", breachedByPriority);
+        result.put("estimatedEscalations", c[ESCALATIONS]);
+        return result;
+    }
+
+    private static double complianceRate(long evaluated, long breached) {
+        return evaluated == 0 ? 100.0 : Math.round((evaluated - breached) * 1000.0 / evaluated) / 10.0;
+    }
+
+    private static long toEpoch(LocalDateTime time) {
+        return time == null ? NO_TIME : time.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    /**
+     * Deadline hours after start - through the working calendar when it is enabled.
+     * Outside the calendar horizon it is wall-clock hours, counted instead of logged per row.
+     */
+    private long due(long start, int hours, LongAdder outsideHorizon) {
+        if (!calendar.isEnabled()) {
+            return start + hours * 3600L;
+        }
+        LocalDateTime due = calendar.addBusinessMinutesWithinHorizon(
+                LocalDateTime.ofEpochSecond(start, 0, ZoneOffset.UTC), hours * 60L);
+        if (due == null) {
+            outsideHorizon.increment();
+            return start + hours * 3600L;
+        }
+        return toEpoch(due);
+    }
+
+    private static int resolutionHours(SlaPolicy policy, int priorityOrdinal) {
+        return switch (ComplaintPriority.values()[priorityOrdinal]) {
+            case HIGH -> policy.getResolutionHigh();
+            case MEDIUM -> policy.getResolutionMedium();
+            case LOW -> policy.getResolutionLow();
+        };
+    }
+
+    /**
+     * Escalations the timer engine would have raised: one at the breach, then one
+     * per repeat interval while still open/overdue, up to the max level
+     */
+    private long escalationsFor(long due, long end) {
+        return Math.min(maxLevel, 1 + (end - due) / repeatSeconds);
+    }
+
+    /**
+     * Evaluate rows [from, to) against every policy - splits until LEAF_SIZE rows.
+     * Never serialized (ForkJoinTask is Serializable only for API compatibility).
+     */
+    @SuppressWarnings("serial")
+    private class ScanTask extends RecursiveTask<long[][]> {
+        private final Columns columns;
+        private final List<SlaPolicy> policies;
+        private final long now;
+        private final LongAdder outsideHorizon;
+        private final int from;
+        private final int to;
+
+        ScanTask(Columns columns, List<SlaPolicy> policies, long now, LongAdder outsideHorizon, int from, int to) {
+            this.columns = columns;
+            this.policies = policies;
+            this.now = now;
+            this.outsideHorizon = outsideHorizon;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                ScanTask left = new ScanTask(columns, policies, now, outsideHorizon, from, mid);
+                left.fork();
+                long[][] right = new ScanTask(columns, policies, now, outsideHorizon, mid, to).compute();
+                long[][] merged = left.join();
+                for (int p = 0; p < merged.length; p++) {
+                    for (int s = 0; s < SLOTS; s++) {
+                        merged[p][s] += right[p][s];
+                    }
+                }
+                return merged;
+            }
+
+            long[][] counters = new long[policies.size()][SLOTS];
+            for (int p = 0; p < policies.size(); p++) {
+                SlaPolicy policy = policies.get(p);
+                long[] c = counters[p];
+                for (int row = from; row < to; row++) {
+                    long submitted = columns.submittedAt[row];
+                    long assigned = columns.assignedAt[row];
+                    long closed = columns.closedAt[row];
+
+                    // Triage: submission -> assignment (or closure/now if never assigned)
+                    long triageEnd = assigned != NO_TIME ? assigned : closed != NO_TIME ? closed : now;
+                    long triageDue = due(submitted, policy.getTriageHours(), outsideHorizon);
+                    c[TRIAGE_EVALUATED]++;
+                    if (triageEnd > triageDue) {
+                        // The triage escalation fires at the deadline, even if an officer is assigned later
+                        c[TRIAGE_BREACHED]++;
+                        c[ESCALATIONS]++;
+                    }
+
+                    // Resolution: assignment -> closure (or now while open)
+                    if (assigned != NO_TIME) {
+                        int priority = columns.priority[row];
+                        long resolutionEnd = closed != NO_TIME ? closed : now;
+                        long resolutionDue = due(assigned, resolutionHours(policy, priority), outsideHorizon);
+                        c[RESOLUTION_EVALUATED]++;
+                        if (resolutionEnd > resolutionDue) {
+                            c[RESOLUTION_BREACHED]++;
+                            c[BREACHED_BY_PRIORITY + priority]++;
+                            c[ESCALATIONS] += escalationsFor(resolutionDue, resolutionEnd);
+                        }
+                    }
+                }
+            }
+            return counters;
+        }
+    }
+
+    /**
+     * Primitive columns of the replayed complaints
+     */
+    private static class Columns {
+        int size;
+        long[] submittedAt;
+        long[] assignedAt;
+        long[] closedAt;
+        byte[] priority;
+
+        Columns(int capacity) {
+            submittedAt = new long[capacity];
+            assignedAt = new long[capacity];
+            closedAt = new long[capacity];
+            priority = new byte[capacity];
+        }
+
+        void add(long submitted, long assigned, long closed, ComplaintPriority complaintPriority) {
+            if (size == submittedAt.length) {
+                int capacity = size * 2;
+                submittedAt = Arrays.copyOf(submittedAt, capacity);
+                assignedAt = Arrays.copyOf(assignedAt, capacity);
+                closedAt = Arrays.copyOf(closedAt, capacity);
+                priority = Arrays.copyOf(priority, capacity);
+            }
+            submittedAt[size] = submitted;
+            assignedAt[size] = assigned;
+            closedAt[size] = closed;
+            priority[size] = (byte) (complaintPriority != null ? complaintPriority : ComplaintPriority.MEDIUM).ordinal();
+            size++;
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.Model.ComplaintStatus;
+import com.resolveit.resloveitbackend.event.ComplaintChangedEvent;
+import com.resolveit.resloveitbackend.event.ComplaintsImportedEvent;
+import com.resolveit.resloveitbackend.event.SlaDeadlinesRecalculatedEvent;
+import com.resolveit.resloveitbackend.repository.ComplaintRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deadline-ordered SLA timers - replaces the hourly breach scans.
+ * Every open complaint's current SLA deadline (slaDue mirrors triageSlaDue or resolutionSlaDue,
+ * depending on the phase) sits in a min-heap; a dedicated thread pops due timers every tick
+ * and escalates within seconds of the breach. Arming/disarming is O(log n) - superseded heap
+ * entries are skipped lazily when popped.
+ * Escalated complaints are re-armed every escalation.timer.repeat-minutes until the max level,
+ * matching the old hourly re-escalation cadence. Timers loaded from the database are spaced from
+ * the last complaint_escalations entry, so a restart or a new leader does not re-escalate every
+ * overdue complaint at once. Change events only arm timers on the node that made the change, so
+ * the leader also polls for complaints updated on any node since its last poll.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(value = "escalation.enabled", havingValue = "true", matchIfMissing = true)
+public class SlaTimerService {
+
+    private final ComplaintRepository complaintRepository;
+    private final SLAService slaService;
+    private final SchedulerLeaseService leaseService;
+    private final ScheduledExecutorService ticker;
+    private final Duration leaderTtl;
+    private final long tickMs;
+    private final long pollNanos;
+
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final int maxLevel;
+    private final long repeatMinutes;
+
+    /** Current deadline per complaint - a heap entry is live only if it matches this map */
+    private final Map<Long, LocalDateTime> armed = new HashMap<>();
+    private final PriorityQueue<Timer> heap = new PriorityQueue<>();
+
+    /** Ticker thread only - whether the previous tick held the lease */
+    private boolean leading;
+    /** Ticker thread only - complaints updated after this have not been polled yet */
+    private LocalDateTime changesSince;
+    private long nextPoll;
+
+    public SlaTimerService(ComplaintRepository complaintRepository,
+                           SLAService slaService,
+                           SchedulerLeaseService leaseService,
+                           @Value("${escalation.max.level:3}") int maxLevel,
+                           @Value("${escalation.timer.repeat-minutes:60}") long repeatMinutes,
+                           @Value("${escalation.timer.tick-ms:1000}") long tickMs,
+                           @Value("${escalation.timer.poll-ms:5000}") long pollMs,
+                           @Value("${escalation.timer.leader-ttl-ms:30000}") long leaderTtlMs) {
+        this.complaintRepository = complaintRepository;
+        this.slaService = slaService;
+        this.leaseService = leaseService;
+        this.leaderTtl = Duration.ofMillis(leaderTtlMs);
+        this.tickMs = tickMs;
+        this.pollNanos = pollMs * 1_000_000;
+        this.maxLevel = maxLevel;
+        this.repeatMinutes = repeatMinutes;
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start ticking once the application is up - the first tick that holds the lease loads the timers
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        ticker.scheduleWithFixedDelay(this::fireDue, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Re-sync timers with the database periodically (default every 15 minutes)
+     */
+    @EventListener({SlaDeadlinesRecalculatedEvent.class, ComplaintsImportedEvent.class})
+    @Scheduled(fixedDelayString = "${escalation.timer.reconcile-ms:900000}",
+               initialDelayString = "${escalation.timer.reconcile-ms:900000}")
+    public void reconcile() {
+        List<Object[]> rows = complaintRepository.findEscalatableDeadlines(maxLevel);
+
+        synchronized (this) {
+            armed.clear();
+            heap.clear();
+            for (Object[] row : rows) {
+                arm((Long) row[0], nextFire((LocalDateTime) row[1], (LocalDateTime) row[2]));
+            }
+        }
+        log.debug("SLA timers reconciled - {} armed", rows.size());
+    }
+
+    /**
+     * Arm, move or drop the complaint's timer when its SLA deadline or status changes
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onComplaintChanged(ComplaintChangedEvent event) {
+        ComplaintChangedEvent.State after = event.getAfter();
+        if (after.getStatus() == ComplaintStatus.RESOLVED || after.getSlaDue() == null) {
+            armed.remove(event.getComplaintId());
+            return;
+        }
+        ComplaintChangedEvent.State before = event.getBefore();
+        boolean deadlineMoved = before == null || !after.getSlaDue().equals(before.getSlaDue());
+        if (deadlineMoved || !armed.containsKey(event.getComplaintId())) {
+            arm(event.getComplaintId(), after.getSlaDue());
+        }
+    }
+
+    /**
+     * Pop every due timer and escalate the complaint if it is still in breach.
+     * Every node keeps its timers armed, but only the holder of the "sla-timer"
+     * lease fires them - another node takes over if the holder goes away.
+     * Other nodes drop their due timers; a node that takes over reloads its timers
+     * from the database first, since the previous leader has fired them meanwhile.
+     */
+    void fireDue() {
+        try {
+            boolean leader = leaseService.holdLease("sla-timer", leaderTtl);
+            if (leader && !leading) {
+                changesSince = LocalDateTime.now();
+                nextPoll = System.nanoTime() + pollNanos;
+                reconcile();
+            } else if (leader && System.nanoTime() - nextPoll >= 0) {
+                pollChanges();
+            }
+            leading = leader;
+
+            LocalDateTime now = LocalDateTime.now();
+            List<Long> due = new ArrayList<>();
+            synchronized (this) {
+                while (!heap.isEmpty() && !heap.peek().due.isAfter(now)) {
+                    Timer timer = heap.poll();
+                    if (timer.due.equals(armed.get(timer.complaintId))) {
+                        armed.remove(timer.complaintId);
+                        due.add(timer.complaintId);
+                    }
+                }
+                compactIfNeeded();
+            }
+            if (!leader) {
+                return;
+            }
+
+            for (Long complaintId : due) {
+                try {
+                    Complaint complaint = slaService.escalateIfBreached(complaintId);
+                    rearm(complaint);
+                } catch (Exception e) {
+                    log.error("SLA timer failed for complaint {}", complaintId, e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error firing SLA timers", e);
+        }
+    }
+
+    /**
+     * Arm, move or drop timers of complaints changed on any node since the last poll.
+     * Runs on the ticker thread between escalations, so escalations fired by this node are
+     * committed before they are read back. The window overlaps the previous one to cover
+     * commit lag and clock skew between nodes - re-applying an unchanged row is a no-op.
+     */
+    private void pollChanges() {
+        LocalDateTime pollStart = LocalDateTime.now();
+        List<Object[]> rows = complaintRepository.findSlaTimerChangesSince(changesSince.minus(POLL_OVERLAP));
+        synchronized (this) {
+            for (Object[] row : rows) {
+                Long id = (Long) row[0];
+                LocalDateTime slaDue = (LocalDateTime) row[1];
+                ComplaintStatus status = (ComplaintStatus) row[3];
+                Integer level = (Integer) row[4];
+                boolean triagePending = "TRIAGE".equals(row[5]) && status == ComplaintStatus.PENDING
+                        && !Boolean.TRUE.equals(row[6]);
+                boolean escalatable = slaDue != null && status != ComplaintStatus.RESOLVED
+                        && ((level != null ? level : 0) < maxLevel || triagePending);
+                if (!escalatable) {
+                    armed.remove(id);
+                    continue;
+                }
+                LocalDateTime due = nextFire(slaDue, (LocalDateTime) row[2]);
+                if (!due.equals(armed.get(id))) {
+                    arm(id, due);
+                }
+            }
+        }
+        changesSince = pollStart;
+        nextPoll = System.nanoTime() + pollNanos;
+    }
+
+    /**
+     * After a timer fires, check again later while further escalation is possible
+     */
+    private synchronized void rearm(Complaint complaint) {
+        if (complaint == null
+                || complaint.getStatus() == ComplaintStatus.RESOLVED
+                || complaint.getSlaDue() == null
+                || complaint.getEscalationLevel() == null
+                || complaint.getEscalationLevel() >= maxLevel
+                || armed.containsKey(complaint.getId())) { // a change event re-armed it meanwhile
+            return;
+        }
+        LocalDateTime next = LocalDateTime.now().plusMinutes(repeatMinutes);
+        arm(complaint.getId(), complaint.getSlaDue().isAfter(next) ? complaint.getSlaDue() : next);
+    }
+
+    /**
+     * When a timer loaded from the database should fire: at the deadline, or - if that breach
+     * has already been escalated - repeat-minutes after the last escalation
+     */
+    private LocalDateTime nextFire(LocalDateTime slaDue, LocalDateTime lastEscalatedAt) {
+        if (lastEscalatedAt != null && !lastEscalatedAt.isBefore(slaDue)) {
+            return lastEscalatedAt.plusMinutes(repeatMinutes);
+        }
+        return slaDue;
+    }
+
+    private void arm(Long complaintId, LocalDateTime due) {
+        armed.put(complaintId, due);
+        heap.add(new Timer(complaintId, due));
+    }
+
+    /**
+     * Drop superseded entries once they outnumber the live timers
+     */
+    private void compactIfNeeded() {
+        if (heap.size() > 2 * armed.size() + 1024) {
+            heap.clear();
+            armed.forEach((id, due) -> heap.add(new Timer(id, due)));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private record Timer(Long complaintId, LocalDateTime due) implements Comparable<Timer> {
+        @Override
+        public int compareTo(Timer other) {
+            return due.compareTo(other.due);
+        }
+    }
+}
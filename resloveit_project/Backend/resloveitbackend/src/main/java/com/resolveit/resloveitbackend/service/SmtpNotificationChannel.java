@@ -0,0 +1,133 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Sends each recipient's batch as one plain-text email over SMTP.
+ * Minimal client (EHLO, optional AUTH PLAIN, MAIL/RCPT/DATA) - meant for a local
+ * relay or a fake SMTP server; there is no STARTTLS, so point it at a relay for TLS.
+ */
+@Component
+@Slf4j
+public class SmtpNotificationChannel implements NotificationChannel {
+
+    private static final int TIMEOUT_MS = 10_000;
+
+    private final String host;
+    private final int port;
+    private final String from;
+    private final String username;
+    private final String password;
+
+    public SmtpNotificationChannel(@Value("${notifications.smtp.host:localhost}") String host,
+                                   @Value("${notifications.smtp.port:25}") int port,
+                                   @Value("${notifications.smtp.from:noreply@resolveit.local}") String from,
+                                   @Value("${notifications.smtp.username:}") String username,
+                                   @Value("${notifications.smtp.password:}") String password) {
+        this.host = host;
+        this.port = port;
+        this.from = from;
+        this.username = username;
+        this.password = password;
+    }
+
+    @Override
+    public String getName() {
+        return "smtp";
+    }
+
+    @Override
+    public void send(String recipient, List<OutboxMessage> messages) throws IOException {
+        String subject = messages.size() == 1
+                ? messages.get(0).getSubject()
+                : "ResolveIt: " + messages.size() + " notifications";
+        StringBuilder body = new StringBuilder();
+        for (OutboxMessage message : messages) {
+            if (messages.size() > 1) {
+                body.append("== ").append(message.getSubject()).append(" ==\n");
+            }
+            body.append(message.getBody() != null ? message.getBody() : "").append("\n\n");
+        }
+
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress(host, port), TIMEOUT_MS);
+            socket.setSoTimeout(TIMEOUT_MS);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new BufferedWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8));
+
+            expect(in, 220);
+            command(out, in, "EHLO " + localHostName(), 250);
+            if (username != null && !username.isBlank()) {
+                String token = Base64.getEncoder().encodeToString(
+                        ("\0" + username + "\0" + password).getBytes(StandardCharsets.UTF_8));
+                command(out, in, "AUTH PLAIN " + token, 235);
+            }
+            command(out, in, "MAIL FROM:<" + from + ">", 250);
+            command(out, in, "RCPT TO:<" + recipient + ">", 250);
+            command(out, in, "DATA", 354);
+            writeMessage(out, recipient, subject, body.toString());
+            command(out, in, ".", 250);
+            command(out, in, "QUIT", 221);
+        }
+        log.debug("Sent {} notification(s) to {} via SMTP", messages.size(), recipient);
+    }
+
+    private void writeMessage(Writer out, String recipient, String subject, String body) throws IOException {
+        out.write("From: " + from + "\r\n");
+        out.write("To: " + recipient + "\r\n");
+        out.write("Subject: =?UTF-8?B?" + Base64.getEncoder().encodeToString(subject.getBytes(StandardCharsets.UTF_8)) + "?=\r\n");
+        out.write("Date: " + DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now()) + "\r\n");
+        out.write("MIME-Version: 1.0\r\n");
+        out.write("Content-Type: text/plain; charset=UTF-8\r\n");
+        out.write("Content-Transfer-Encoding: 8bit\r\n\r\n");
+        for (String line : body.split("\r?\n", -1)) {
+            // Dot-stuffing so a line starting with "." doesn't end the DATA section
+            out.write(line.startsWith(".") ? "." + line : line);
+            out.write("\r\n");
+        }
+    }
+
+    private static void command(Writer out, BufferedReader in, String line, int expected) throws IOException {
+        out.write(line + "\r\n");
+        out.flush();
+        expect(in, expected);
+    }
+
+    /**
+     * Read a (possibly multi-line) reply and check its code
+     */
+    private static void expect(BufferedReader in, int expected) throws IOException {
+        String line;
+        do {
+            line = in.readLine();
+            if (line == null) {
+                throw new IOException("SMTP connection closed, expected " + expected);
+            }
+        } while (line.length() > 3 && line.charAt(3) == '-');
+        int code = line.length() >= 3 ? Integer.parseInt(line.substring(0, 3)) : -1;
+        if (code != expected && !(expected == 250 && code == 251)) {
+            throw new IOException("SMTP error, expected " + expected + ": " + line);
+        }
+    }
+
+    private static String localHostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "localhost";
+        }
+    }
+}
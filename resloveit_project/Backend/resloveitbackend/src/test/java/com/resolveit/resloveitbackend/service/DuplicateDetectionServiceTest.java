@@ -0,0 +1,134 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.Complaint;
+import com.resolveit.resloveitbackend.dto.DuplicateCandidateDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MinHash signatures and LSH candidate / group lookups of the in-memory duplicate index
+ */
+class DuplicateDetectionServiceTest {
+
+    private static final String STREETLIGHT = "Streetlight not working on MG Road near the bus stop, " +
+            "the whole stretch is dark at night and unsafe for people walking home";
+    private static final String STREETLIGHT_AGAIN = "Streetlight not working on MG Road near the bus stop, " +
+            "the whole stretch is completely dark at night and unsafe for people walking home";
+    private static final String POTHOLE = "Large pothole in front of the school gate has filled with water " +
+            "and two scooters have already skidded there this week";
+
+    @ParameterizedTest(name = "\"{0}\" / \"{1}\" = \"{2}\" / \"{3}\"")
+    @CsvSource({
+            "Water leak, in the street, water leak, in the street",
+            "Water   LEAK!!, in the street., Water leak, in the street",
+            "'Garbage, not collected', since Monday, Garbage not collected, since Monday",
+            "Broken pipe, '', broken pipe, ''"
+    })
+    void signatureIgnoresCasePunctuationAndSpacing(String title1, String description1,
+                                                   String title2, String description2) {
+        assertArrayEquals(DuplicateDetectionService.signature(title1, description1),
+                DuplicateDetectionService.signature(title2, description2));
+    }
+
+    @ParameterizedTest(name = "\"{0}\"")
+    @CsvSource(value = {"NULL, NULL", "'', ''", "abc, NULL", "Pothole, NULL"}, nullValues = "NULL")
+    void signatureOfShortOrMissingText(String title, String description) {
+        int[] signature = DuplicateDetectionService.signature(title, description);
+
+        assertEquals(64, signature.length);
+        for (int value : signature) {
+            assertNotEquals(Integer.MAX_VALUE, value);
+        }
+    }
+
+    @Test
+    void signatureAgreementTracksTextSimilarity() {
+        int[] streetlight = DuplicateDetectionService.signature(STREETLIGHT, null);
+
+        assertTrue(agreement(streetlight, DuplicateDetectionService.signature(STREETLIGHT_AGAIN, null)) >= 0.6);
+        assertTrue(agreement(streetlight, DuplicateDetectionService.signature(POTHOLE, null)) <= 0.2);
+    }
+
+    @ParameterizedTest(name = "{0} / {1} / \"{2}\" -> {3} candidates")
+    @CsvSource({
+            // Same text, same category and pincode
+            "Electricity, 560001, STREETLIGHT, 1",
+            "electricity , 560001, STREETLIGHT_AGAIN, 1",
+            // Other pincode or category: a different scope
+            "Electricity, 560002, STREETLIGHT, 0",
+            "Roads, 560001, STREETLIGHT, 0",
+            // Same scope, unrelated text
+            "Electricity, 560001, POTHOLE, 0"
+    })
+    void candidatesAreNearDuplicatesInTheSameScope(String category, String pincode, String text, int expected) {
+        DuplicateDetectionService service = new DuplicateDetectionService(null, 0.5);
+        service.indexSubmitted(complaint(1L, "Electricity", "560001", STREETLIGHT));
+
+        List<DuplicateCandidateDTO> candidates = service.indexSubmitted(complaint(2L, category, pincode, text(text)));
+
+        assertEquals(expected, candidates.size());
+        if (expected > 0) {
+            assertEquals(1L, candidates.get(0).getComplaintId());
+            assertTrue(candidates.get(0).getSimilarity() >= 0.5);
+        }
+        assertEquals(expected, service.findDuplicates(1L).size());
+    }
+
+    @Test
+    void groupsConnectedDuplicatesWithTheOldestAsPrimary() {
+        DuplicateDetectionService service = new DuplicateDetectionService(null, 0.5);
+        service.indexSubmitted(complaint(7L, "Electricity", "560001", STREETLIGHT_AGAIN));
+        service.indexSubmitted(complaint(3L, "Electricity", "560001", STREETLIGHT));
+        service.indexSubmitted(complaint(9L, "Electricity", "560001", STREETLIGHT));
+        service.indexSubmitted(complaint(4L, "Electricity", "560001", POTHOLE));
+        service.indexSubmitted(complaint(5L, "Electricity", "560002", STREETLIGHT));
+
+        List<Map<String, Object>> groups = service.findDuplicateGroups(0.5, 10);
+
+        assertEquals(1, groups.size());
+        assertEquals(3L, groups.get(0).get("primaryId"));
+        assertEquals(List.of(3L, 7L, 9L), groups.get(0).get("complaintIds"));
+        assertEquals("electricity|560001", groups.get(0).get("scope"));
+    }
+
+    @Test
+    void reindexingAComplaintReplacesItsBuckets() {
+        DuplicateDetectionService service = new DuplicateDetectionService(null, 0.5);
+        service.indexSubmitted(complaint(1L, "Electricity", "560001", STREETLIGHT));
+        service.indexSubmitted(complaint(2L, "Electricity", "560001", STREETLIGHT));
+        service.indexSubmitted(complaint(2L, "Electricity", "560001", POTHOLE));
+
+        assertTrue(service.findDuplicates(1L).isEmpty());
+        assertTrue(service.findDuplicateGroups(0.5, 10).isEmpty());
+    }
+
+    private static double agreement(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / a.length;
+    }
+
+    private static String text(String name) {
+        return switch (name) {
+            case "STREETLIGHT" -> STREETLIGHT;
+            case "STREETLIGHT_AGAIN" -> STREETLIGHT_AGAIN;
+            case "POTHOLE" -> POTHOLE;
+            default -> throw new IllegalArgumentException(name);
+        };
+    }
+
+    private static Complaint complaint(Long id, String category, String pincode, String text) {
+        return Complaint.builder().id(id).category(category).pincode(pincode)
+                .title(text.substring(0, 30)).description(text.substring(30)).build();
+    }
+}
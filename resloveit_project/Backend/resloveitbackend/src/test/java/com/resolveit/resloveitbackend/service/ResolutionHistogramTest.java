@@ -0,0 +1,112 @@
+package com.resolveit.resloveitbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Bucket math, percentiles and the sparse snapshot encoding of ResolutionHistogram
+ */
+class ResolutionHistogramTest {
+
+    private static final long MAX_VALUE = (1L << 26) - 1;
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 1, 31, 32, 33, 63, 64, 65, 127, 128, 1000, 1440, 10080, 525600, MAX_VALUE})
+    void bucketHoldsTheValueWithinThreePercent(long value) {
+        int index = ResolutionHistogram.indexOf(value);
+
+        assertTrue(ResolutionHistogram.bucketLowerBound(index) <= value);
+        assertTrue(ResolutionHistogram.bucketUpperBound(index) >= value);
+        long width = ResolutionHistogram.bucketUpperBound(index) - ResolutionHistogram.bucketLowerBound(index) + 1;
+        assertTrue(width <= Math.max(1, value / 32), "bucket width " + width + " for " + value);
+    }
+
+    @ParameterizedTest(name = "index {0} = [{1}, {2}]")
+    @CsvSource({
+            "0, 0, 0",
+            "31, 31, 31",
+            "32, 32, 32",
+            "63, 63, 63",
+            "64, 64, 65",
+            "96, 128, 131",
+            "703, 66060288, 67108863"
+    })
+    void bucketBounds(int index, long lower, long upper) {
+        assertEquals(lower, ResolutionHistogram.bucketLowerBound(index));
+        assertEquals(upper, ResolutionHistogram.bucketUpperBound(index));
+        assertEquals(index, ResolutionHistogram.indexOf(lower));
+        assertEquals(index, ResolutionHistogram.indexOf(upper));
+    }
+
+    @Test
+    void bucketsAreContiguous() {
+        for (int i = 1; i < ResolutionHistogram.BUCKET_COUNT; i++) {
+            assertEquals(ResolutionHistogram.bucketUpperBound(i - 1) + 1, ResolutionHistogram.bucketLowerBound(i));
+        }
+    }
+
+    @ParameterizedTest(name = "p{0} of 1..1000 = {1}")
+    @CsvSource({
+            "0, 1",
+            "1, 10",
+            "50, 500",
+            "90, 900",
+            "99, 990",
+            "100, 1000"
+    })
+    void percentilesOfUniformValues(double percentile, long expected) {
+        ResolutionHistogram histogram = new ResolutionHistogram();
+        for (long minutes = 1; minutes <= 1000; minutes++) {
+            histogram.record(minutes);
+        }
+
+        long actual = histogram.getValueAtPercentile(percentile);
+        assertTrue(Math.abs(actual - expected) <= Math.max(1, expected * 0.03),
+                "p" + percentile + " = " + actual + ", expected about " + expected);
+        assertEquals(1000, histogram.getTotalCount());
+    }
+
+    @Test
+    void clampsOutOfRangeValues() {
+        ResolutionHistogram histogram = new ResolutionHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(0L, histogram.getValueAtPercentile(50));
+        assertEquals(MAX_VALUE, histogram.getMaxValue());
+    }
+
+    @Test
+    void emptyHistogramHasNoValues() {
+        ResolutionHistogram histogram = new ResolutionHistogram();
+
+        assertEquals(0, histogram.getTotalCount());
+        assertNull(histogram.getValueAtPercentile(50));
+        assertNull(histogram.getMaxValue());
+        assertEquals("", histogram.encode());
+    }
+
+    @Test
+    void encodingRoundTrips() {
+        ResolutionHistogram histogram = new ResolutionHistogram();
+        for (long minutes : new long[]{0, 5, 5, 90, 1440, 1441, 100000}) {
+            histogram.record(minutes);
+        }
+
+        ResolutionHistogram decoded = ResolutionHistogram.decode(histogram.encode());
+
+        assertEquals(histogram.encode(), decoded.encode());
+        assertEquals(7, decoded.getTotalCount());
+        assertEquals(histogram.getValueAtPercentile(90), decoded.getValueAtPercentile(90));
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {"''", "NULL", "99999:5", "-1:5"}, nullValues = "NULL")
+    void decodeIgnoresEmptyAndOutOfRangeInput(String encoded) {
+        assertEquals(0, ResolutionHistogram.decode(encoded).getTotalCount());
+    }
+}
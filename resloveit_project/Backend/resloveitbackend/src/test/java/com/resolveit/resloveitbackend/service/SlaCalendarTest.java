@@ -0,0 +1,133 @@
+package com.resolveit.resloveitbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Deadlines from the compiled working-minute tables. The tables are built around today,
+ * so cases are written as day offsets from next Monday.
+ */
+class SlaCalendarTest {
+
+    private static final LocalDate MONDAY = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+
+    @ParameterizedTest(name = "day {0} {1} + {2} min = day {3} {4}")
+    @CsvSource({
+            // Inside the day
+            "0, 09:00, 60, 0, 10:00",
+            "0, 12:34, 1, 0, 12:35",
+            // Before opening: the clock starts at 09:00
+            "0, 07:15, 60, 0, 10:00",
+            // A deadline on the last working minute ends the day, not the next morning
+            "0, 09:00, 480, 0, 17:00",
+            "0, 16:59, 1, 0, 17:00",
+            // Spills into the next working day
+            "0, 16:30, 60, 1, 09:30",
+            "0, 17:00, 1, 1, 09:01",
+            "0, 20:00, 30, 1, 09:30",
+            // Friday evening to Monday over the weekend
+            "4, 16:00, 120, 7, 10:00",
+            "5, 11:00, 60, 7, 10:00",
+            // A full working week
+            "0, 09:00, 2400, 4, 17:00",
+            // Zero minutes is the start itself
+            "2, 20:00, 0, 2, 20:00"
+    })
+    void addsWorkingMinutesOnWeekdayHours(int startDay, String startTime, long minutes, int dueDay, String dueTime) {
+        SlaCalendar calendar = new SlaCalendar(true, "MON-FRI 09:00-17:00", "", 1);
+
+        assertEquals(at(dueDay, dueTime), calendar.addBusinessMinutes(at(startDay, startTime), minutes));
+    }
+
+    @ParameterizedTest(name = "day {0} {1} + {2} min = day {3} {4}")
+    @CsvSource({
+            "0, 11:30, 60, 0, 13:30",
+            "0, 11:59, 1, 0, 12:00",
+            "0, 12:15, 1, 0, 13:01",
+            "0, 09:00, 420, 0, 17:00",
+            "0, 16:30, 60, 1, 09:30"
+    })
+    void skipsTheGapOfASplitShift(int startDay, String startTime, long minutes, int dueDay, String dueTime) {
+        SlaCalendar calendar = new SlaCalendar(true, "MON-FRI 09:00-12:00, MON-FRI 13:00-17:00", "", 1);
+
+        assertEquals(at(dueDay, dueTime), calendar.addBusinessMinutes(at(startDay, startTime), minutes));
+    }
+
+    @ParameterizedTest(name = "day {0} {1} + {2} min = day {3} {4}")
+    @CsvSource({
+            // Tuesday and Wednesday are holidays
+            "0, 16:30, 60, 3, 09:30",
+            "1, 10:00, 60, 3, 10:00",
+            "2, 23:00, 1, 3, 09:01",
+            "0, 09:00, 960, 3, 17:00"
+    })
+    void skipsHolidays(int startDay, String startTime, long minutes, int dueDay, String dueTime) {
+        String holidays = MONDAY.plusDays(1) + ", " + MONDAY.plusDays(2);
+        SlaCalendar calendar = new SlaCalendar(true, "MON-FRI 09:00-17:00", holidays, 1);
+
+        assertEquals(at(dueDay, dueTime), calendar.addBusinessMinutes(at(startDay, startTime), minutes));
+    }
+
+    @ParameterizedTest(name = "day {0} {1} + {2} min = day {3} {4}")
+    @CsvSource({
+            "0, 23:30, 60, 1, 00:30",
+            "0, 22:00, 240, 1, 02:00",
+            "1, 01:59, 1, 1, 02:00",
+            "1, 02:00, 1, 7, 22:01"
+    })
+    void runsAShiftAcrossMidnight(int startDay, String startTime, long minutes, int dueDay, String dueTime) {
+        SlaCalendar calendar = new SlaCalendar(true, "MON 22:00-24:00, TUE 00:00-02:00", "", 1);
+
+        assertEquals(at(dueDay, dueTime), calendar.addBusinessMinutes(at(startDay, startTime), minutes));
+    }
+
+    @Test
+    void dropsSecondsOfTheStartMinute() {
+        SlaCalendar calendar = new SlaCalendar(true, "MON-FRI 09:00-17:00", "", 1);
+
+        assertEquals(at(0, "09:31"), calendar.addBusinessMinutes(at(0, "09:30").plusSeconds(45), 1));
+    }
+
+    @ParameterizedTest(name = "{0} + {1} min")
+    @CsvSource({
+            // Start before / after the compiled horizon
+            "-800, 60",
+            "800, 60",
+            // Deadline past the end of the horizon
+            "0, 1000000"
+    })
+    void fallsBackToWallClockOutsideTheHorizon(int startDay, long minutes) {
+        SlaCalendar calendar = new SlaCalendar(true, "MON-FRI 09:00-17:00", "", 1);
+        LocalDateTime start = at(startDay, "10:00");
+
+        assertEquals(start.plusMinutes(minutes), calendar.addBusinessMinutes(start, minutes));
+    }
+
+    @Test
+    void usesWallClockWhenDisabled() {
+        SlaCalendar calendar = new SlaCalendar(false, "MON-FRI 09:00-17:00", "", 1);
+        LocalDateTime start = at(5, "22:00");
+
+        assertFalse(calendar.isEnabled());
+        assertEquals(start.plusHours(24), calendar.addBusinessHours(start, 24));
+    }
+
+    @Test
+    void rejectsMalformedWorkingHours() {
+        assertThrows(IllegalArgumentException.class, () -> new SlaCalendar(true, "MON-FRI 09:00", "", 1));
+        assertThrows(IllegalArgumentException.class, () -> new SlaCalendar(true, "XX 09:00-17:00", "", 1));
+    }
+
+    private static LocalDateTime at(int day, String time) {
+        return MONDAY.plusDays(day).atTime(LocalTime.parse(time));
+    }
+}
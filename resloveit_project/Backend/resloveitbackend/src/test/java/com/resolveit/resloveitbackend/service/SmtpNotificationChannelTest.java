@@ -0,0 +1,192 @@
+package com.resolveit.resloveitbackend.service;
+
+import com.resolveit.resloveitbackend.Model.OutboxMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives SmtpNotificationChannel against a scripted in-process SMTP server
+ */
+class SmtpNotificationChannelTest {
+
+    private FakeSmtpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FakeSmtpServer();
+    }
+
+    @AfterEach
+    void stopServer() throws IOException {
+        server.close();
+    }
+
+    @Test
+    void sendsFullDialogWithAuthAndDotStuffing() throws Exception {
+        SmtpNotificationChannel channel = channel("mailer", "secret");
+
+        channel.send("officer@resolveit.local", List.of(
+                message("Complaint #7 escalated", "Line one\n.hidden line\n..two dots")));
+
+        List<String> commands = server.commands();
+        assertTrue(commands.get(0).startsWith("EHLO "));
+        assertEquals("AUTH PLAIN " + Base64.getEncoder().encodeToString(
+                "\0mailer\0secret".getBytes(StandardCharsets.UTF_8)), commands.get(1));
+        assertEquals(List.of("MAIL FROM:<noreply@resolveit.local>", "RCPT TO:<officer@resolveit.local>",
+                "DATA", "QUIT"), commands.subList(2, 6));
+
+        List<String> data = server.data();
+        assertTrue(data.contains("To: officer@resolveit.local"));
+        assertTrue(data.contains("Line one"));
+        assertTrue(data.contains("..hidden line"));
+        assertTrue(data.contains("...two dots"));
+        assertFalse(data.contains("."), "terminator must not appear inside the message");
+    }
+
+    @Test
+    void skipsAuthWithoutUsernameAndBatchesMessages() throws Exception {
+        SmtpNotificationChannel channel = channel("", "");
+
+        channel.send("admin@resolveit.local", List.of(message("First", "a"), message("Second", "b")));
+
+        List<String> commands = server.commands();
+        assertEquals(List.of("MAIL FROM:<noreply@resolveit.local>", "RCPT TO:<admin@resolveit.local>",
+                "DATA", "QUIT"), commands.subList(1, 5));
+        assertTrue(server.data().contains("== First =="));
+        assertTrue(server.data().contains("== Second =="));
+    }
+
+    @Test
+    void failsOnRejectedRecipient() {
+        server.reply("RCPT", "550 5.1.1 No such user");
+        SmtpNotificationChannel channel = channel("", "");
+
+        IOException error = assertThrows(IOException.class,
+                () -> channel.send("nobody@resolveit.local", List.of(message("Hi", "body"))));
+        assertTrue(error.getMessage().contains("550"));
+    }
+
+    @Test
+    void failsOnRejectedCredentials() {
+        server.reply("AUTH", "535 5.7.8 Authentication credentials invalid");
+        SmtpNotificationChannel channel = channel("mailer", "wrong");
+
+        IOException error = assertThrows(IOException.class,
+                () -> channel.send("officer@resolveit.local", List.of(message("Hi", "body"))));
+        assertTrue(error.getMessage().contains("expected 235"));
+    }
+
+    @Test
+    void failsOnRejectedMessage() {
+        server.reply(".", "554 5.6.0 Message rejected");
+        SmtpNotificationChannel channel = channel("", "");
+
+        assertThrows(IOException.class,
+                () -> channel.send("officer@resolveit.local", List.of(message("Hi", "body"))));
+    }
+
+    private SmtpNotificationChannel channel(String username, String password) {
+        return new SmtpNotificationChannel("127.0.0.1", server.port(), "noreply@resolveit.local", username, password);
+    }
+
+    private static OutboxMessage message(String subject, String body) {
+        return OutboxMessage.builder().channel("smtp").subject(subject).body(body).build();
+    }
+
+    /**
+     * Accepts one connection, answers every command from a script (250 by default) and
+     * records the commands and the DATA lines as received
+     */
+    private static class FakeSmtpServer implements Closeable {
+
+        private final ServerSocket socket;
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        private final Map<String, String> replies = new ConcurrentHashMap<>();
+        private final List<String> commands = new CopyOnWriteArrayList<>();
+        private final List<String> data = new CopyOnWriteArrayList<>();
+        private final Future<?> session;
+
+        FakeSmtpServer() throws IOException {
+            socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+            session = executor.submit(() -> {
+                try (Socket client = socket.accept()) {
+                    serve(client);
+                }
+                return null;
+            });
+        }
+
+        void reply(String verb, String line) {
+            replies.put(verb, line);
+        }
+
+        int port() {
+            return socket.getLocalPort();
+        }
+
+        List<String> commands() throws Exception {
+            session.get(5, TimeUnit.SECONDS);
+            return commands;
+        }
+
+        List<String> data() throws Exception {
+            session.get(5, TimeUnit.SECONDS);
+            return data;
+        }
+
+        private void serve(Socket client) throws IOException {
+            BufferedReader in = new BufferedReader(new InputStreamReader(client.getInputStream(), StandardCharsets.UTF_8));
+            Writer out = new OutputStreamWriter(client.getOutputStream(), StandardCharsets.UTF_8);
+            send(out, "220 fake.smtp ESMTP ready");
+            String line;
+            while ((line = in.readLine()) != null) {
+                commands.add(line);
+                String verb = line.split("[ :]", 2)[0];
+                String scripted = replies.get(verb);
+                if (scripted != null) {
+                    send(out, scripted);
+                    continue;
+                }
+                switch (verb) {
+                    case "EHLO" -> send(out, "250-fake.smtp\r\n250-8BITMIME\r\n250 AUTH PLAIN");
+                    case "AUTH" -> send(out, "235 2.7.0 Authenticated");
+                    case "DATA" -> {
+                        send(out, "354 End data with <CR><LF>.<CR><LF>");
+                        while ((line = in.readLine()) != null && !line.equals(".")) {
+                            data.add(line);
+                        }
+                        String accepted = replies.getOrDefault(".", "250 2.0.0 Queued");
+                        send(out, accepted);
+                    }
+                    case "QUIT" -> {
+                        send(out, "221 Bye");
+                        return;
+                    }
+                    default -> send(out, "250 OK");
+                }
+            }
+        }
+
+        private static void send(Writer out, String reply) throws IOException {
+            out.write(reply + "\r\n");
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            socket.close();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -337,8 +337,8 @@ useEffect(() => {
       if (!res.ok) throw new Error();
      
       const updated = await res.json();
-      setComplaints(prev => prev.map(c => c.id === selectedComplaint.id ? updated : c));
-      setSelectedComplaint(updated);
+      setComplaints(prev => prev.map(c => c.id === selectedComplaint.id ? { ...c, ...updated } : c));
+      setSelectedComplaint(prev => (prev ? { ...prev, ...updated } : prev));
       setShowAssignModal(false);
       toast.success("✅ Officer assigned and SLA clock reset!");
     } catch {
@@ -153,8 +153,8 @@ export const ComplaintProvider: React.FC<{ children: ReactNode }> = ({ children
         return res.json();
       })
       .then((updatedComplaint) => {
-        const normalized = normalizeComplaint(updatedComplaint, id);
-        setComplaints(prev => prev.map(c => (c.id === normalized.id ? normalized : c)));
+        // The server returns only the workflow fields - merge them over the loaded complaint
+        setComplaints(prev => prev.map(c => (c.id === id ? normalizeComplaint({ ...c, ...updatedComplaint }, id) : c)));
         // ✅ SUCCESS TOAST
         toast.success(`Status updated to ${status.replace('-', ' ').toUpperCase()}`, {
           duration: 3000,
@@ -207,8 +207,8 @@ export const ComplaintProvider: React.FC<{ children: ReactNode }> = ({ children
         return res.json();
       })
       .then((updatedComplaint) => {
-        const normalized = normalizeComplaint(updatedComplaint, id);
-        setComplaints(prev => prev.map(c => (c.id === normalized.id ? normalized : c)));
+        // The server returns only the workflow fields - merge them over the loaded complaint
+        setComplaints(prev => prev.map(c => (c.id === id ? normalizeComplaint({ ...c, ...updatedComplaint }, id) : c)));
         // ✅ SUCCESS TOAST
         toast.success(`Priority updated to ${priority.toUpperCase()}`, {
           duration: 3000,
@@ -242,8 +242,7 @@ export const ComplaintProvider: React.FC<{ children: ReactNode }> = ({ children
       if (!res.ok) throw new Error('Failed to assign complaint');
       const updatedComplaint = await res.json();
 
-      const normalized = normalizeComplaint(updatedComplaint, id);
-      setComplaints(prev => prev.map(c => (c.id === normalized.id ? normalized : c)));
+      setComplaints(prev => prev.map(c => (c.id === id ? normalizeComplaint({ ...c, ...updatedComplaint }, id) : c)));
       
       // ✅ SUCCESS TOAST
       toast.success('Complaint assigned successfully', {